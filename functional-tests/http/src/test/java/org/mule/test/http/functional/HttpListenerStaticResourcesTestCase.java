@@ -9,14 +9,25 @@ package org.mule.test.http.functional;
 import static org.mule.runtime.core.api.util.ClassUtils.getClassPathRoot;
 import static org.mule.runtime.http.api.HttpConstants.HttpStatus.NOT_FOUND;
 import static org.mule.runtime.http.api.HttpConstants.HttpStatus.OK;
+import static org.mule.runtime.http.api.HttpHeaders.Names.ACCEPT_ENCODING;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_RANGE;
 import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_TYPE;
+import static org.mule.runtime.http.api.HttpHeaders.Names.ETAG;
+import static org.mule.runtime.http.api.HttpHeaders.Names.IF_NONE_MATCH;
+import static org.mule.runtime.http.api.HttpHeaders.Names.RANGE;
+import static org.mule.runtime.http.api.HttpHeaders.Names.VARY;
 import static org.mule.test.http.functional.AllureConstants.HttpFeature.HttpStory.STATIC_RESOURCE_LOADER;
 import static org.mule.test.http.functional.fips.DefaultTestConfiguration.getDefaultEnvironmentConfiguration;
 
 import static java.lang.String.format;
 
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
+import static org.apache.http.HttpStatus.SC_PARTIAL_CONTENT;
+import static org.apache.http.HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
 import static org.apache.http.impl.client.HttpClientBuilder.create;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -33,6 +44,7 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.message.BasicHeader;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -43,6 +55,8 @@ public class HttpListenerStaticResourcesTestCase extends AbstractHttpTestCase {
 
   public static final String INDEX_HTML_CONTENT = "Test index.html";
   public static final String MAIN_HTML_CONTENT = "Test main.html";
+  public static final String SCRIPT_JS_CONTENT = "Test script.js";
+  public static final String PRECOMPRESSED_SCRIPT_JS_CONTENT = "Test precompressed script.js";
   public static final String TESTING_ROOT_FOLDER_SYSTEM_PROPERTY = "test.root";
 
   @Rule
@@ -52,6 +66,8 @@ public class HttpListenerStaticResourcesTestCase extends AbstractHttpTestCase {
   @Rule
   public DynamicPort port3 = new DynamicPort("port3");
   @Rule
+  public DynamicPort port4 = new DynamicPort("port4");
+  @Rule
   public SystemProperty serverKeyStoreFile = new SystemProperty("serverKeyStoreFile",
                                                                 getDefaultEnvironmentConfiguration().getTestServerKeyStore());
 
@@ -67,6 +83,7 @@ public class HttpListenerStaticResourcesTestCase extends AbstractHttpTestCase {
   private int responseCode;
   private String payload;
   private String contentType;
+  private Header[] responseHeaders;
   private TlsContextFactory tlsContextFactory;
 
   @Override
@@ -206,12 +223,91 @@ public class HttpListenerStaticResourcesTestCase extends AbstractHttpTestCase {
     assertThat(payload, is("Resource '/../http-listener-static-resource-test.xml' was not found."));
   }
 
-  private void executeRequest(String url) throws Exception {
+  @Test
+  public void rangesAreIgnoredByDefault() throws Exception {
+    String url = format("http://localhost:%d/static/main.html", port1.getNumber());
+    executeRequest(url, new BasicHeader(RANGE, "bytes=0-3"));
+    assertThat(responseCode, is(OK.getStatusCode()));
+    assertThat(payload, is(MAIN_HTML_CONTENT));
+    assertThat(getResponseHeader(CONTENT_RANGE), is(nullValue()));
+  }
+
+  @Test
+  public void rangesAreServedWhenAccepted() throws Exception {
+    String url = format("http://localhost:%d/static/main.html", port4.getNumber());
+    executeRequest(url, new BasicHeader(RANGE, "bytes=0-3"));
+    assertThat(responseCode, is(SC_PARTIAL_CONTENT));
+    assertThat(payload, is("Test"));
+    assertThat(getResponseHeader(CONTENT_RANGE), is("bytes 0-3/" + MAIN_HTML_CONTENT.length()));
+  }
+
+  @Test
+  public void unsatisfiableRangesWhenAccepted() throws Exception {
+    String url = format("http://localhost:%d/static/main.html", port4.getNumber());
+    executeRequest(url, new BasicHeader(RANGE, "bytes=1000-"));
+    assertThat(responseCode, is(SC_REQUESTED_RANGE_NOT_SATISFIABLE));
+    assertThat(getResponseHeader(CONTENT_RANGE), is("bytes */" + MAIN_HTML_CONTENT.length()));
+  }
+
+  @Test
+  public void conditionalRequestsAreIgnoredByDefault() throws Exception {
+    // the default listener doesn't send the headers of the result, so the tag is taken from the one that does
+    executeRequest(format("http://localhost:%d/static/main.html", port4.getNumber()));
+    String etag = getResponseHeader(ETAG);
+    assertThat(etag, is(notNullValue()));
+
+    executeRequest(format("http://localhost:%d/static/main.html", port1.getNumber()), new BasicHeader(IF_NONE_MATCH, etag));
+    assertThat(responseCode, is(OK.getStatusCode()));
+    assertThat(payload, is(MAIN_HTML_CONTENT));
+  }
+
+  @Test
+  public void conditionalRequestsAreAnsweredWhenAccepted() throws Exception {
+    String url = format("http://localhost:%d/static/main.html", port4.getNumber());
+    executeRequest(url);
+    String etag = getResponseHeader(ETAG);
+    assertThat(etag, is(notNullValue()));
+
+    executeRequest(url, new BasicHeader(IF_NONE_MATCH, etag));
+    assertThat(responseCode, is(SC_NOT_MODIFIED));
+  }
+
+  @Test
+  public void precompressedFilesAreIgnoredByDefault() throws Exception {
+    String url = format("http://localhost:%d/static/script.js", port1.getNumber());
+    executeRequest(url, new BasicHeader(ACCEPT_ENCODING, "gzip"));
+    assertThat(responseCode, is(OK.getStatusCode()));
+    assertThat(payload, is(SCRIPT_JS_CONTENT));
+  }
+
+  @Test
+  public void precompressedFilesAreServedWhenEnabled() throws Exception {
+    // the client decodes the response, which it only does if the listener sent its Content-Encoding
+    String url = format("http://localhost:%d/precompressed/script.js", port4.getNumber());
+    executeRequest(url, new BasicHeader(ACCEPT_ENCODING, "gzip"));
+    assertThat(responseCode, is(OK.getStatusCode()));
+    assertThat(payload, is(PRECOMPRESSED_SCRIPT_JS_CONTENT));
+    assertThat(getResponseHeader(VARY), is(ACCEPT_ENCODING));
+  }
+
+  private String getResponseHeader(String name) {
+    for (Header header : responseHeaders) {
+      if (header.getName().equalsIgnoreCase(name)) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+
+  private void executeRequest(String url, Header... headers) throws Exception {
     try (CloseableHttpClient httpClient = buildClient(url.startsWith("https"))) {
       HttpGet httpGet = new HttpGet(url);
+      httpGet.setHeaders(headers);
       try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
         responseCode = response.getStatusLine().getStatusCode();
-        payload = IOUtils.toString(response.getEntity().getContent());
+        responseHeaders = response.getAllHeaders();
+        // responses such as 304 have no body
+        payload = response.getEntity() != null ? IOUtils.toString(response.getEntity().getContent()) : "";
         Header contentTypeHeader = response.getFirstHeader(CONTENT_TYPE);
         if (contentTypeHeader != null) {
           contentType = contentTypeHeader.getValue();
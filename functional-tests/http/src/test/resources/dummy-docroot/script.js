@@ -0,0 +1 @@
+Test script.js
\ No newline at end of file
@@ -186,6 +186,10 @@ public abstract class HttpHeaders {
      * {@value "Last-Modified"}
      */
     public static final String LAST_MODIFIED = "Last-Modified";
+    /**
+     * {@value "Link"}
+     */
+    public static final String LINK = "Link";
     /**
      * {@value "Location"}
      */
@@ -6,11 +6,12 @@
  */
 package org.mule.extension.http.api.error;
 
-import static java.util.Arrays.stream;
+import static java.util.Arrays.fill;
 import static java.util.Collections.unmodifiableSet;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 import static org.mule.extension.http.api.HttpHeaders.Names.CONTENT_TYPE;
-import static org.mule.runtime.http.api.HttpConstants.HttpStatus.getStatusByCode;
 
 import org.mule.runtime.extension.api.error.ErrorTypeDefinition;
 import org.mule.runtime.extension.api.error.MuleErrors;
@@ -78,7 +79,21 @@ public enum HttpError implements ErrorTypeDefinition<HttpError> {
 
   SEE_OTHER,
 
-  NOT_MODIFIED;
+  NOT_MODIFIED,
+
+  /**
+   * The request was not sent because the circuit breaker for its target is open.
+   *
+   * @since 1.11
+   */
+  CIRCUIT_OPEN(CONNECTIVITY),
+
+  /**
+   * The request was not sent because the client side concurrency or rate limits didn't let it through in time.
+   *
+   * @since 1.11
+   */
+  REQUEST_LIMIT_EXCEEDED;
 
   private static Set<ErrorTypeDefinition> httpRequestOperationErrors;
 
@@ -107,10 +122,41 @@ public enum HttpError implements ErrorTypeDefinition<HttpError> {
     errors.add(MOVED_TEMPORARILY);
     errors.add(SEE_OTHER);
     errors.add(NOT_MODIFIED);
+    errors.add(CIRCUIT_OPEN);
+    errors.add(REQUEST_LIMIT_EXCEEDED);
 
     httpRequestOperationErrors = unmodifiableSet(errors);
   }
 
+  private static final int MAX_STATUS_CODE = 999;
+
+  /**
+   * The result of {@link #getErrorByCode(int)} for every status code up to {@link #MAX_STATUS_CODE}, indexed by status code.
+   */
+  private static final Optional<HttpError>[] errorsByCode = createErrorsByCode();
+
+  @SuppressWarnings("unchecked")
+  private static Optional<HttpError>[] createErrorsByCode() {
+    Optional<HttpError>[] errors = new Optional[MAX_STATUS_CODE + 1];
+    fill(errors, empty());
+    HttpStatus[] statuses = HttpStatus.values();
+    // backwards, so that the first status with a given code wins, as in HttpStatus.getStatusByCode
+    for (int i = statuses.length - 1; i >= 0; --i) {
+      HttpStatus status = statuses[i];
+      int code = status.getStatusCode();
+      if (code >= 0 && code <= MAX_STATUS_CODE) {
+        errors[code] = empty();
+        for (HttpError error : values()) {
+          if (error.name().equals(status.name())) {
+            errors[code] = of(error);
+            break;
+          }
+        }
+      }
+    }
+    return errors;
+  }
+
   private ErrorTypeDefinition<?> parentErrorType;
 
   private Function<HttpRequest, String> errorMessageFunction;
@@ -148,15 +194,7 @@ public enum HttpError implements ErrorTypeDefinition<HttpError> {
    * @return an {@link Optional} with the
    */
   public static Optional<HttpError> getErrorByCode(int statusCode) {
-    HttpError error = null;
-    HttpStatus status = getStatusByCode(statusCode);
-    if (status != null) {
-      error = stream(HttpError.values())
-          .filter(httpError -> httpError.name().equals(status.name()))
-          .findFirst()
-          .orElse(null);
-    }
-    return ofNullable(error);
+    return statusCode >= 0 && statusCode <= MAX_STATUS_CODE ? errorsByCode[statusCode] : empty();
   }
 
   /**
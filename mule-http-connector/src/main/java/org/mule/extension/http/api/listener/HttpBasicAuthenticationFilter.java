@@ -10,15 +10,18 @@ import static org.mule.extension.http.api.HttpHeaders.Names.AUTHORIZATION;
 import static org.mule.extension.http.api.HttpHeaders.Names.WWW_AUTHENTICATE;
 import static org.mule.extension.http.internal.HttpConnectorConstants.BASIC_LAX_DECODING_PROPERTY;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.authFailedForUser;
 import static org.mule.runtime.http.api.HttpConstants.HttpStatus.UNAUTHORIZED;
 
 import static java.lang.Boolean.getBoolean;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 import org.mule.extension.http.api.HttpListenerResponseAttributes;
 import org.mule.extension.http.api.HttpRequestAttributes;
+import org.mule.extension.http.internal.filter.BasicAuthenticationCache;
 import org.mule.extension.http.internal.filter.BasicUnauthorisedException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.security.Authentication;
@@ -29,16 +32,20 @@ import org.mule.runtime.api.security.UnauthorisedException;
 import org.mule.runtime.api.security.UnknownAuthenticationTypeException;
 import org.mule.runtime.api.security.UnsupportedAuthenticationSchemeException;
 import org.mule.runtime.api.util.MultiMap;
+import org.mule.runtime.extension.api.annotation.Expression;
 import org.mule.runtime.extension.api.annotation.param.NullSafe;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.extension.api.security.AuthenticationHandler;
 
+import java.nio.ByteBuffer;
 import java.util.Base64;
 import java.util.Base64.Decoder;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,6 +86,41 @@ public class HttpBasicAuthenticationFilter {
   @Optional(defaultValue = "#[attributes]")
   HttpRequestAttributes attributes;
 
+  /**
+   * Time during which credentials rejected by the security providers are rejected again without calling them when the same
+   * client sends them, so that clients retrying with wrong credentials don't load the providers. Other passwords, and the same
+   * credentials sent from other addresses, are still verified, so that no client can lock a user out. {@code 0} disables it.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Credentials Cache", order = 1)
+  private long rejectedCredentialsCacheTtl = 0;
+
+  /**
+   * Time unit of the rejected credentials TTL.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "SECONDS")
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Credentials Cache", order = 2)
+  private TimeUnit credentialsCacheTtlUnit = SECONDS;
+
+  /**
+   * Maximum number of rejected credentials kept. The least recently used are evicted.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "1000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Credentials Cache", order = 3)
+  private int credentialsCacheMaxSize = 1000;
+
   /**
    * Authenticates an HTTP message based on the provided {@link HttpRequestAttributes}.
    *
@@ -86,12 +128,37 @@ public class HttpBasicAuthenticationFilter {
    */
   public void authenticate(AuthenticationHandler authenticationHandler)
       throws SecurityException, SecurityProviderNotFoundException, UnknownAuthenticationTypeException {
+    authenticate(authenticationHandler, null);
+  }
+
+  /**
+   * Authenticates an HTTP message based on the provided {@link HttpRequestAttributes}, keeping the credentials rejected in the
+   * given cache if the rejected credentials cache is enabled.
+   *
+   * @param cache the credentials rejected by previous requests, or {@code null} to always call the security providers
+   * @throws SecurityException if authentication fails
+   * @since 1.11
+   */
+  public void authenticate(AuthenticationHandler authenticationHandler, BasicAuthenticationCache cache)
+      throws SecurityException, SecurityProviderNotFoundException, UnknownAuthenticationTypeException {
     String header = attributes.getHeaders().get(HEADER_AUTHORIZATION);
 
     LOGGER.debug("Authorization header: {}", header);
 
     if ((header != null) && header.startsWith("Basic ")) {
-      final Credentials credentials = createCredentials(authenticationHandler, decodeToken(header));
+      String token = decodeToken(header);
+      final Credentials credentials = createCredentials(authenticationHandler, token);
+
+      ByteBuffer key = null;
+      if (cache != null && rejectedCredentialsCacheTtl > 0) {
+        // keyed by password and client too, so that the failures of a client can't reject the user everywhere
+        key = cache.hash(token, getClientAddress(), securityProviders);
+        if (cache.isRejected(key, credentialsCacheTtlUnit.toNanos(rejectedCredentialsCacheTtl))) {
+          LOGGER.debug("Authentication request for user: {} failed, the credentials were already rejected.",
+                       credentials.getUsername());
+          throw new BasicUnauthorisedException(authFailedForUser(credentials.getUsername()), createUnauthenticatedMessage());
+        }
+      }
       try {
         authenticationHandler
             .setAuthentication(securityProviders,
@@ -103,6 +170,9 @@ public class HttpBasicAuthenticationFilter {
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("Authentication request for user: {} failed: {}", credentials.getUsername(), e);
         }
+        if (key != null) {
+          cache.rejected(key, credentialsCacheMaxSize);
+        }
         throw new BasicUnauthorisedException(authFailedForUser(credentials.getUsername()), e, createUnauthenticatedMessage());
       }
     } else if (header == null) {
@@ -131,6 +201,16 @@ public class HttpBasicAuthenticationFilter {
     }
   }
 
+  private String getClientAddress() {
+    String remoteAddress = attributes.getRemoteAddress();
+    if (remoteAddress == null) {
+      return "";
+    }
+    // without the port, which changes with each connection of the client
+    int portSeparator = remoteAddress.lastIndexOf(':');
+    return portSeparator > 0 ? remoteAddress.substring(0, portSeparator) : remoteAddress;
+  }
+
   private Credentials createCredentials(AuthenticationHandler authenticationHandler, String token) {
     String username = "";
     String password = "";
@@ -171,7 +251,8 @@ public class HttpBasicAuthenticationFilter {
 
   @Override
   public int hashCode() {
-    return Objects.hash(attributes, realm, securityProviders);
+    return Objects.hash(attributes, realm, securityProviders, rejectedCredentialsCacheTtl, credentialsCacheTtlUnit,
+                        credentialsCacheMaxSize);
   }
 
   @Override
@@ -188,7 +269,10 @@ public class HttpBasicAuthenticationFilter {
     HttpBasicAuthenticationFilter other = (HttpBasicAuthenticationFilter) obj;
     return Objects.equals(attributes, other.attributes)
         && Objects.equals(realm, other.realm)
-        && Objects.equals(securityProviders, other.securityProviders);
+        && Objects.equals(securityProviders, other.securityProviders)
+        && rejectedCredentialsCacheTtl == other.rejectedCredentialsCacheTtl
+        && credentialsCacheTtlUnit == other.credentialsCacheTtlUnit
+        && credentialsCacheMaxSize == other.credentialsCacheMaxSize;
   }
 
 
@@ -13,6 +13,7 @@ import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
 import static org.mule.runtime.api.meta.ExpressionSupport.SUPPORTED;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 
+import static java.lang.Thread.currentThread;
 import static java.util.Collections.emptyList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -49,9 +50,14 @@ import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 
 import java.net.CookieManager;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 import javax.inject.Inject;
 
@@ -62,6 +68,9 @@ import javax.inject.Inject;
  */
 public class HttpConnectivityValidator implements Initialisable {
 
+  private static final HttpResponseToResult RESPONSE_TO_RESULT = new HttpResponseToResult();
+  private static final HttpRequesterCookieConfig VOID_COOKIE_CONFIG = new VoidHttpRequesterCookieConfig();
+
   /**
    * Path used in the connectivity test request URI.
    */
@@ -159,6 +168,30 @@ public class HttpConnectivityValidator implements Initialisable {
   @Expression(NOT_SUPPORTED)
   private ResponseValidator responseValidator;
 
+  /**
+   * Time during which the successful result of a connectivity test is reused for the same connection instead of sending the test
+   * request again. Failed tests are never reused. Tests of the same connection that run at the same time always share a single
+   * request. {@code 0} disables the reuse.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Placement(order = 11)
+  @Expression(NOT_SUPPORTED)
+  private long resultCacheTtl = 0;
+
+  /**
+   * Time unit of the result cache TTL.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "MILLISECONDS")
+  @Placement(order = 12)
+  @Expression(NOT_SUPPORTED)
+  private TimeUnit resultCacheTtlUnit = MILLISECONDS;
+
   /**
    * Request builder to be used to connectivity test.
    */
@@ -166,6 +199,12 @@ public class HttpConnectivityValidator implements Initialisable {
 
   private SuccessStatusCodeValidator defaultStatusCodeValidator = new SuccessStatusCodeValidator("0..399");
 
+  /**
+   * The last validation of each client, either in flight or completed.
+   */
+  private final Map<HttpExtensionClient, Validation> validations = new ConcurrentHashMap<>();
+  private LongSupplier nanoClock = System::nanoTime;
+
   @Inject
   private ExpressionManager expressionManager;
 
@@ -175,9 +214,88 @@ public class HttpConnectivityValidator implements Initialisable {
 
   public void validate(HttpExtensionClient client, RequestConnectionParams connectionParams)
       throws ExecutionException, InterruptedException, ResponseValidatorTypedException {
-    HttpRequest request = buildTestRequest(connectionParams);
-    Result<Object, HttpResponseAttributes> result = sendRequest(client, request);
-    validateResult(request, result);
+    try {
+      validate(client, connectionParams, true).get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ResponseValidatorTypedException) {
+        throw (ResponseValidatorTypedException) e.getCause();
+      }
+      if (e.getCause() instanceof InterruptedException) {
+        throw (InterruptedException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Validates the connection of the given client without blocking. The result is shared with the validations of the same client
+   * that run at the same time, and reused for the configured result cache TTL if successful.
+   *
+   * @param client           the client of the connection to validate
+   * @param connectionParams the parameters of the connection
+   * @return a future completed once the connection is validated, or exceptionally if it's not valid
+   * @since 1.11
+   */
+  public CompletableFuture<Void> validateAsync(HttpExtensionClient client, RequestConnectionParams connectionParams) {
+    return validate(client, connectionParams, false);
+  }
+
+  private CompletableFuture<Void> validate(HttpExtensionClient client, RequestConnectionParams connectionParams,
+                                           boolean blocking) {
+    long ttl = resultCacheTtlUnit.toNanos(resultCacheTtl);
+    while (true) {
+      Validation current = validations.get(client);
+      if (current != null && current.isReusable(nanoClock.getAsLong(), ttl)) {
+        return current.copy();
+      }
+
+      Validation validation = new Validation();
+      if (current == null ? validations.putIfAbsent(client, validation) == null
+          : validations.replace(client, current, validation)) {
+        start(client, connectionParams, validation, blocking);
+        return validation.copy();
+      }
+      // another validation of this client just started, the loop shares it
+    }
+  }
+
+  /**
+   * Forgets the validations of the given client, once it's disconnected.
+   *
+   * @param client a client previously passed to {@link #validateAsync(HttpExtensionClient, RequestConnectionParams)}
+   * @since 1.11
+   */
+  public void forget(HttpExtensionClient client) {
+    validations.remove(client);
+  }
+
+  private void start(HttpExtensionClient client, RequestConnectionParams connectionParams, Validation validation,
+                     boolean blocking) {
+    try {
+      HttpRequest request = buildTestRequest(connectionParams);
+      (blocking ? sendRequestBlocking(client, request) : sendRequestAsync(client, request))
+          .thenAccept(result -> validateResult(request, result))
+          .whenComplete((result, exception) -> validation.complete(nanoClock.getAsLong(), exception));
+    } catch (RuntimeException e) {
+      validation.complete(nanoClock.getAsLong(), e);
+    }
+  }
+
+  /**
+   * Sends the request through {@link #sendRequest(HttpExtensionClient, HttpRequest)} in the calling thread.
+   */
+  private CompletableFuture<Result<Object, HttpResponseAttributes>> sendRequestBlocking(HttpExtensionClient client,
+                                                                                       HttpRequest request) {
+    CompletableFuture<Result<Object, HttpResponseAttributes>> response = new CompletableFuture<>();
+    try {
+      response.complete(sendRequest(client, request));
+    } catch (ExecutionException e) {
+      response.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      response.completeExceptionally(e);
+    }
+    return response;
   }
 
   protected void validateResult(HttpRequest request, Result result) {
@@ -186,14 +304,21 @@ public class HttpConnectivityValidator implements Initialisable {
 
   protected Result<Object, HttpResponseAttributes> sendRequest(HttpExtensionClient client, HttpRequest request)
       throws InterruptedException, ExecutionException {
-    int responseTimeoutInt = (int) responseTimeoutUnit.toMillis(responseTimeout.longValue());
-    HttpResponse response =
-        client.send(request, responseTimeoutInt, followRedirects, resolveAuthentication(client), AUTO).get();
+    return sendRequestAsync(client, request).get();
+  }
 
-    return new HttpResponseToResult()
-        .convert(new VoidHttpRequesterCookieConfig(), muleContext, response, response.getEntity(),
-                 response.getEntity()::getContent,
-                 request.getUri());
+  /**
+   * Sends the test request straight to the server, since the response cache, request limits, load balancing and circuit breaker
+   * of the client could answer for it.
+   *
+   * @since 1.11
+   */
+  protected CompletableFuture<Result<Object, HttpResponseAttributes>> sendRequestAsync(HttpExtensionClient client,
+                                                                                      HttpRequest request) {
+    int responseTimeoutInt = (int) responseTimeoutUnit.toMillis(responseTimeout.longValue());
+    return client.sendDirectly(request, responseTimeoutInt, followRedirects, resolveAuthentication(client), AUTO)
+        .thenApply(response -> RESPONSE_TO_RESULT.convert(VOID_COOKIE_CONFIG, muleContext, response, response.getEntity(),
+                                                          response.getEntity()::getContent, request.getUri()));
   }
 
   private HttpRequest buildTestRequest(RequestConnectionParams connectionParams) {
@@ -251,6 +376,46 @@ public class HttpConnectivityValidator implements Initialisable {
     }
   }
 
+  /**
+   * A validation of a client, either in flight or completed at {@code completedAt}.
+   */
+  private static final class Validation {
+
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    private volatile long completedAt;
+
+    private void complete(long now, Throwable exception) {
+      completedAt = now;
+      if (exception == null) {
+        result.complete(null);
+      } else {
+        result.completeExceptionally(exception instanceof CompletionException && exception.getCause() != null
+            ? exception.getCause()
+            : exception);
+      }
+    }
+
+    private boolean isReusable(long now, long ttl) {
+      // failures are always tested again, the connection may have recovered already
+      return !result.isDone() || (!result.isCompletedExceptionally() && now - completedAt < ttl);
+    }
+
+    /**
+     * @return a future of its own for each caller, so that none of them can complete the shared one
+     */
+    private CompletableFuture<Void> copy() {
+      CompletableFuture<Void> copy = new CompletableFuture<>();
+      result.whenComplete((value, exception) -> {
+        if (exception != null) {
+          copy.completeExceptionally(exception);
+        } else {
+          copy.complete(null);
+        }
+      });
+      return copy;
+    }
+  }
+
   private static HttpAuthentication resolveAuthentication(HttpExtensionClient client) {
     HttpRequestAuthentication authentication = client.getDefaultAuthentication();
     if (authentication instanceof HttpAuthentication) {
@@ -263,7 +428,8 @@ public class HttpConnectivityValidator implements Initialisable {
   @Override
   public int hashCode() {
     return Objects.hash(followRedirects, requestBody, requestHeaders, requestMethod, requestPath,
-                        requestQueryParams, requestUriParams, responseTimeout, responseTimeoutUnit, responseValidator);
+                        requestQueryParams, requestUriParams, responseTimeout, responseTimeoutUnit, responseValidator,
+                        resultCacheTtl, resultCacheTtlUnit);
   }
 
   @Override
@@ -287,7 +453,9 @@ public class HttpConnectivityValidator implements Initialisable {
         && Objects.equals(requestUriParams, other.requestUriParams)
         && Objects.equals(responseTimeout, other.responseTimeout)
         && responseTimeoutUnit == other.responseTimeoutUnit
-        && Objects.equals(responseValidator, other.responseValidator);
+        && Objects.equals(responseValidator, other.responseValidator)
+        && resultCacheTtl == other.resultCacheTtl
+        && resultCacheTtlUnit == other.resultCacheTtlUnit;
   }
 
 }
@@ -6,8 +6,26 @@
  */
 package org.mule.extension.http.api.request.authentication;
 
+import static org.mule.extension.http.api.HttpHeaders.Names.AUTHORIZATION;
+import static org.mule.extension.http.api.HttpHeaders.Names.WWW_AUTHENTICATE;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.UNAUTHORIZED;
 import static org.mule.runtime.http.api.client.auth.HttpAuthenticationType.DIGEST;
+import static org.mule.runtime.http.api.utils.HttpEncoderDecoderUtils.encodeQueryString;
+
+import org.mule.extension.http.api.HttpResponseAttributes;
+import org.mule.extension.http.internal.request.DigestChallenge;
+import org.mule.runtime.api.util.MultiMap;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.http.api.client.auth.HttpAuthenticationType;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.request.HttpRequestBuilder;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Configures digest authentication for the requests.
@@ -16,9 +34,101 @@ import org.mule.runtime.http.api.client.auth.HttpAuthenticationType;
  */
 public class DigestAuthentication extends UsernamePasswordAuthentication {
 
+  /**
+   * Whether the last challenge of each host is kept, so that the following requests to it are authenticated with it instead of
+   * being challenged again, halving the requests sent. The challenge is replaced whenever a request is challenged again, such as
+   * when its nonce gets stale. Hosts whose challenges aren't supported, such as those that require {@code auth-int}, are
+   * answered as if this was disabled.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  private boolean cacheChallenges;
+
+  private final Map<String, DigestChallenge> challenges = new ConcurrentHashMap<>();
+  // answered by the HTTP client for every request, as when the challenges aren't cached
+  private final Set<String> unsupportedOrigins = ConcurrentHashMap.newKeySet();
+
   @Override
   public HttpAuthenticationType getType() {
     return DIGEST;
   }
 
+  /**
+   * @return whether the challenges are answered by this authentication, instead of by the HTTP client for every request
+   * @since 1.11
+   */
+  public boolean isCacheChallenges() {
+    return cacheChallenges;
+  }
+
+  /**
+   * @param uri the URI of a request
+   * @return whether the challenges of the request are answered by this authentication, instead of by the HTTP client
+   * @since 1.11
+   */
+  public boolean answersChallenges(URI uri) {
+    return cacheChallenges && !unsupportedOrigins.contains(getOrigin(uri));
+  }
+
+  @Override
+  public void authenticate(HttpRequestBuilder builder) {
+    URI uri = builder.getUri();
+    if (!answersChallenges(uri)) {
+      return;
+    }
+    DigestChallenge challenge = challenges.get(getOrigin(uri));
+    if (challenge != null) {
+      builder.addHeader(AUTHORIZATION, challenge.authorize(builder.getMethod(), getRequestTarget(uri, builder.getQueryParams())));
+    }
+  }
+
+  @Override
+  public void retryIfShould(HttpRequest request, Result<Object, HttpResponseAttributes> firstAttemptResult,
+                            Runnable retryCallback, Runnable notRetryCallback) {
+    HttpResponseAttributes attributes = firstAttemptResult.getAttributes().orElse(null);
+    if (!answersChallenges(request.getUri()) || attributes == null
+        || attributes.getStatusCode() != UNAUTHORIZED.getStatusCode()) {
+      notRetryCallback.run();
+      return;
+    }
+
+    String origin = getOrigin(request.getUri());
+    DigestChallenge challenge = DigestChallenge.parse(attributes.getHeaders().getAll(WWW_AUTHENTICATE), getUsername(),
+                                                      getPassword());
+    if (challenge == null) {
+      // sent again, for the HTTP client to answer the challenge as it does when they aren't cached
+      challenges.remove(origin);
+      unsupportedOrigins.add(origin);
+      retryCallback.run();
+    } else {
+      challenges.put(origin, challenge);
+      retryCallback.run();
+    }
+  }
+
+  private static String getOrigin(URI uri) {
+    return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+  }
+
+  private static String getRequestTarget(URI uri, MultiMap<String, String> queryParams) {
+    String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+    String query = uri.getRawQuery();
+    if (!queryParams.isEmpty()) {
+      String encoded = encodeQueryString(queryParams);
+      query = query == null ? encoded : query + "&" + encoded;
+    }
+    return query == null ? path : path + "?" + query;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o) && cacheChallenges == ((DigestAuthentication) o).cacheChallenges;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * super.hashCode() + Boolean.hashCode(cacheChallenges);
+  }
 }
@@ -12,6 +12,7 @@ import org.mule.extension.http.api.HttpResponseAttributes;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
 import org.mule.runtime.http.api.domain.message.request.HttpRequestBuilder;
 
 import org.slf4j.Logger;
@@ -76,6 +77,21 @@ public interface HttpRequestAuthentication {
     }
   }
 
+  /**
+   * Same as {@link #retryIfShould(Result, Runnable, Runnable)}, for implementations that depend on the request that got the
+   * response, such as its host.
+   *
+   * @param request            the request that was sent.
+   * @param firstAttemptResult The result with the response of the request.
+   * @param retryCallback      the callback that performs the retry of the request.
+   * @param notRetryCallback   the callback that performs any necessary steps for not retrying the request.
+   * @since 1.11
+   */
+  default void retryIfShould(HttpRequest request, Result<Object, HttpResponseAttributes> firstAttemptResult,
+                             Runnable retryCallback, Runnable notRetryCallback) {
+    retryIfShould(firstAttemptResult, retryCallback, notRetryCallback);
+  }
+
   /**
    * Indicates if the response body may be read in the process of determining the result of the authenticated request
    *
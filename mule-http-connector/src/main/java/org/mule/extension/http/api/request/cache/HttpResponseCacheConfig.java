@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.cache;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+
+import org.mule.extension.http.internal.request.client.HttpResponseCache;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.extension.api.annotation.Expression;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+
+import java.util.Objects;
+
+import javax.inject.Inject;
+
+/**
+ * In-memory cache for the responses to the {@code GET} and {@code HEAD} requests sent through a connection, following the
+ * {@code Cache-Control}, {@code Expires} and {@code Vary} headers of the responses. Stale responses with an {@code ETag} or
+ * {@code Last-Modified} header are revalidated with a conditional request, and served from the cache if the server answers
+ * {@code 304 Not Modified}. Requests with an {@code Authorization} header are never served from the cache.
+ *
+ * @since 1.11
+ */
+public class HttpResponseCacheConfig implements Initialisable, Disposable {
+
+  /**
+   * Maximum total size in bytes of the stored responses. When exceeded, the least recently used responses are evicted.
+   */
+  @Parameter
+  @Optional(defaultValue = "10485760")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 1)
+  private long maxCacheSize = 10485760;
+
+  /**
+   * Maximum size in bytes of a response body to be stored. Bigger responses are never cached.
+   */
+  @Parameter
+  @Optional(defaultValue = "1048576")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 2)
+  private long maxEntrySize = 1048576;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private Scheduler scheduler;
+  private HttpResponseCache cache;
+
+  public HttpResponseCacheConfig() {}
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (maxCacheSize <= 0 || maxEntrySize <= 0) {
+      throw new InitialisationException(createStaticMessage("maxCacheSize and maxEntrySize must be positive values"), this);
+    }
+
+    if (cache == null) {
+      scheduler = schedulerService.ioScheduler(config().withName("http.requester.cache"));
+      cache = new HttpResponseCache(maxCacheSize, maxEntrySize, scheduler, System::currentTimeMillis);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (scheduler != null) {
+      scheduler.stop();
+      scheduler = null;
+    }
+    cache = null;
+  }
+
+  /**
+   * @return the cache the responses are stored in
+   */
+  public HttpResponseCache getCache() {
+    return cache;
+  }
+
+  public long getMaxCacheSize() {
+    return maxCacheSize;
+  }
+
+  public long getMaxEntrySize() {
+    return maxEntrySize;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(maxCacheSize, maxEntrySize);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    HttpResponseCacheConfig other = (HttpResponseCacheConfig) obj;
+    return maxCacheSize == other.maxCacheSize && maxEntrySize == other.maxEntrySize;
+  }
+}
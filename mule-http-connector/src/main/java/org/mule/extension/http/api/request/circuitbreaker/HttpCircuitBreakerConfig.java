@@ -0,0 +1,252 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.circuitbreaker;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.extension.http.internal.request.StatusCodeRanges;
+import org.mule.extension.http.internal.request.client.CircuitBreaker;
+import org.mule.extension.http.internal.request.client.CircuitBreaker.State;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.extension.api.annotation.Expression;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+
+/**
+ * Circuit breaker applied to the requests sent by a connection, keeping an independent circuit per target host and port. When
+ * the rate of failed (connectivity errors, timeouts and the configured failure status codes) or slow calls towards a target
+ * reaches its threshold, the circuit opens and requests to that target fail immediately with {@code HTTP:CIRCUIT_OPEN} instead
+ * of waiting for the connection or response timeout. After a while, a few probe requests are let through to decide whether the
+ * circuit closes again.
+ *
+ * @since 1.11
+ */
+public class HttpCircuitBreakerConfig implements Initialisable {
+
+  private static final Logger LOGGER = getLogger(HttpCircuitBreakerConfig.class);
+
+  /**
+   * Percentage of failed calls in the sliding window from which the circuit opens.
+   */
+  @Parameter
+  @Optional(defaultValue = "50")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 1)
+  private int failureRateThreshold = 50;
+
+  /**
+   * Percentage of slow calls in the sliding window from which the circuit opens.
+   */
+  @Parameter
+  @Optional(defaultValue = "100")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 2)
+  private int slowCallRateThreshold = 100;
+
+  /**
+   * Duration from which a call is considered slow.
+   */
+  @Parameter
+  @Optional(defaultValue = "60000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 3)
+  private long slowCallDurationThreshold = 60000;
+
+  /**
+   * Number of calls whose outcome is considered to calculate the failure and slow call rates.
+   */
+  @Parameter
+  @Optional(defaultValue = "100")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 4)
+  private int slidingWindowSize = 100;
+
+  /**
+   * Minimum number of calls that have to be recorded before the failure and slow call rates are calculated.
+   */
+  @Parameter
+  @Optional(defaultValue = "20")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 5)
+  private int minimumNumberOfCalls = 20;
+
+  /**
+   * Time the circuit stays open before letting probe calls through.
+   */
+  @Parameter
+  @Optional(defaultValue = "60000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 6)
+  private long waitDurationInOpenState = 60000;
+
+  /**
+   * Number of probe calls permitted while the circuit is half open.
+   */
+  @Parameter
+  @Optional(defaultValue = "10")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 7)
+  private int permittedCallsInHalfOpenState = 10;
+
+  /**
+   * Time unit for the duration attributes.
+   */
+  @Parameter
+  @Optional(defaultValue = "MILLISECONDS")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 8)
+  private TimeUnit timeUnit = MILLISECONDS;
+
+  /**
+   * Response status codes that are recorded as failed calls, for example {@code 502..504}. By default only connectivity errors
+   * and timeouts are failures.
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 9)
+  @Summary("Response status codes that are recorded as failed calls")
+  private String failureStatusCodes;
+
+  private StatusCodeRanges compiledFailureStatusCodes = StatusCodeRanges.parse(null);
+
+  private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+  public HttpCircuitBreakerConfig() {}
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (failureRateThreshold <= 0 || failureRateThreshold > 100 || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+      throw new InitialisationException(createStaticMessage("Circuit breaker rate thresholds must be between 1 and 100"), this);
+    }
+    if (slidingWindowSize <= 0 || minimumNumberOfCalls <= 0 || permittedCallsInHalfOpenState <= 0) {
+      throw new InitialisationException(createStaticMessage("Circuit breaker call counts must be positive"), this);
+    }
+    if (permittedCallsInHalfOpenState > slidingWindowSize) {
+      throw new InitialisationException(createStaticMessage("permittedCallsInHalfOpenState can't be greater than slidingWindowSize"),
+                                        this);
+    }
+    try {
+      compiledFailureStatusCodes = StatusCodeRanges.parse(failureStatusCodes);
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      throw new InitialisationException(createStaticMessage(format("Invalid failureStatusCodes '%s'", failureStatusCodes)), e,
+                                        this);
+    }
+  }
+
+  /**
+   * Returns the {@link CircuitBreaker} of the given target, creating it if it's the first call towards it.
+   *
+   * @param target the host and port the requests are sent to
+   * @return the {@link CircuitBreaker} for the target
+   */
+  public CircuitBreaker getCircuitBreaker(String target) {
+    return circuitBreakers.computeIfAbsent(target, this::createCircuitBreaker);
+  }
+
+  /**
+   * @param statusCode the status code of a response
+   * @return whether a response with the given status code is recorded as a failure
+   */
+  public boolean isFailureStatusCode(int statusCode) {
+    return compiledFailureStatusCodes.contains(statusCode);
+  }
+
+  private CircuitBreaker createCircuitBreaker(String target) {
+    return new CircuitBreaker(target, failureRateThreshold, slowCallRateThreshold, timeUnit.toNanos(slowCallDurationThreshold),
+                              slidingWindowSize, minimumNumberOfCalls, timeUnit.toNanos(waitDurationInOpenState),
+                              permittedCallsInHalfOpenState, System::nanoTime, HttpCircuitBreakerConfig::logStateChange);
+  }
+
+  private static void logStateChange(String target, State from, State to) {
+    if (to == State.OPEN) {
+      LOGGER.warn("Circuit breaker for '{}' changed from {} to {}. Requests to it will fail until it's probed again.", target,
+                  from, to);
+    } else {
+      LOGGER.info("Circuit breaker for '{}' changed from {} to {}.", target, from, to);
+    }
+  }
+
+  public int getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  public int getSlowCallRateThreshold() {
+    return slowCallRateThreshold;
+  }
+
+  public long getSlowCallDurationThreshold() {
+    return slowCallDurationThreshold;
+  }
+
+  public int getSlidingWindowSize() {
+    return slidingWindowSize;
+  }
+
+  public int getMinimumNumberOfCalls() {
+    return minimumNumberOfCalls;
+  }
+
+  public long getWaitDurationInOpenState() {
+    return waitDurationInOpenState;
+  }
+
+  public int getPermittedCallsInHalfOpenState() {
+    return permittedCallsInHalfOpenState;
+  }
+
+  public TimeUnit getTimeUnit() {
+    return timeUnit;
+  }
+
+  public String getFailureStatusCodes() {
+    return failureStatusCodes;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(failureRateThreshold, failureStatusCodes, minimumNumberOfCalls, permittedCallsInHalfOpenState,
+                        slidingWindowSize, slowCallDurationThreshold, slowCallRateThreshold, timeUnit, waitDurationInOpenState);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    HttpCircuitBreakerConfig other = (HttpCircuitBreakerConfig) obj;
+    return failureRateThreshold == other.failureRateThreshold
+        && Objects.equals(failureStatusCodes, other.failureStatusCodes)
+        && minimumNumberOfCalls == other.minimumNumberOfCalls
+        && permittedCallsInHalfOpenState == other.permittedCallsInHalfOpenState
+        && slidingWindowSize == other.slidingWindowSize
+        && slowCallDurationThreshold == other.slowCallDurationThreshold
+        && slowCallRateThreshold == other.slowCallRateThreshold
+        && timeUnit == other.timeUnit
+        && waitDurationInOpenState == other.waitDurationInOpenState;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.coalescing;
+
+import static java.util.Locale.ROOT;
+import static org.mule.extension.http.api.HttpHeaders.Names.AUTHORIZATION;
+import static org.mule.extension.http.api.HttpHeaders.Names.COOKIE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+
+import org.mule.extension.http.internal.request.client.RequestCoalescer;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.extension.api.annotation.Expression;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Coalesces identical {@code GET} and {@code HEAD} requests that are in flight at the same time into a single request. Requests
+ * are identical when they have the same method, URI and values for the {@code keyHeaders}, plus {@code Authorization} and
+ * {@code Cookie}, which are always considered. Every coalesced request gets its own copy of the response, whose body is read
+ * into memory once and shared. Responses bigger than {@code maxBufferedSize} are not shared: the first request streams its
+ * response and the other ones are sent on their own.
+ *
+ * @since 1.11
+ */
+public class HttpRequestCoalescing implements Initialisable {
+
+  /**
+   * Comma separated names of the headers that must have the same values for requests to be coalesced.
+   */
+  @Parameter
+  @Optional(defaultValue = "Accept, Accept-Encoding, Accept-Language")
+  @Expression(NOT_SUPPORTED)
+  @Summary("Comma separated names of the headers that must have the same values for requests to be coalesced")
+  private String keyHeaders = "Accept, Accept-Encoding, Accept-Language";
+
+  /**
+   * Maximum size in bytes of a response body to be read into memory and shared by the coalesced requests.
+   */
+  @Parameter
+  @Optional(defaultValue = "1048576")
+  @Expression(NOT_SUPPORTED)
+  @Summary("Maximum size in bytes of a response body to be read into memory and shared by the coalesced requests")
+  private long maxBufferedSize = 1048576;
+
+  private RequestCoalescer coalescer;
+
+  public HttpRequestCoalescing() {}
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (maxBufferedSize <= 0) {
+      throw new InitialisationException(createStaticMessage("maxBufferedSize must be a positive value"), this);
+    }
+    if (coalescer != null) {
+      return;
+    }
+
+    List<String> headers = new ArrayList<>();
+    headers.add(AUTHORIZATION.toLowerCase(ROOT));
+    headers.add(COOKIE.toLowerCase(ROOT));
+    if (keyHeaders != null) {
+      for (String header : keyHeaders.split(",")) {
+        String name = header.trim().toLowerCase(ROOT);
+        if (!name.isEmpty() && !headers.contains(name)) {
+          headers.add(name);
+        }
+      }
+    }
+    coalescer = new RequestCoalescer(headers, maxBufferedSize);
+  }
+
+  /**
+   * @return the {@link RequestCoalescer} tracking the requests in flight
+   */
+  public RequestCoalescer getCoalescer() {
+    return coalescer;
+  }
+
+  public String getKeyHeaders() {
+    return keyHeaders;
+  }
+
+  public void setKeyHeaders(String keyHeaders) {
+    this.keyHeaders = keyHeaders;
+  }
+
+  public long getMaxBufferedSize() {
+    return maxBufferedSize;
+  }
+
+  public void setMaxBufferedSize(long maxBufferedSize) {
+    this.maxBufferedSize = maxBufferedSize;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(keyHeaders, maxBufferedSize);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    HttpRequestCoalescing other = (HttpRequestCoalescing) obj;
+    return Objects.equals(keyHeaders, other.keyHeaders) && maxBufferedSize == other.maxBufferedSize;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.limit;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+
+import org.mule.extension.http.internal.request.TokenBucket;
+import org.mule.extension.http.internal.request.client.Bulkhead;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.extension.api.annotation.Expression;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+/**
+ * Client side limits for the requests sent through a connection. Unlike {@code maxConnections}, which only caps the sockets
+ * opened, these limits cap how many requests are in flight and how many are started per second. Requests over the limits wait,
+ * without blocking the flow thread, in a bounded queue and fail with {@code HTTP:REQUEST_LIMIT_EXCEEDED} if the queue is full or
+ * they wait longer than {@code maxWaitTime}.
+ *
+ * @since 1.11
+ */
+public class HttpRequestLimitsConfig implements Initialisable, Disposable {
+
+  private static final int UNLIMITED = -1;
+
+  /**
+   * Maximum number of requests in flight at the same time. -1 means no limit.
+   */
+  @Parameter
+  @Optional(defaultValue = "-1")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 1)
+  private int maxConcurrentRequests = UNLIMITED;
+
+  /**
+   * Maximum number of requests per second sent through the connection. -1 means no limit.
+   */
+  @Parameter
+  @Optional(defaultValue = "-1")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 2)
+  @Summary("Maximum number of requests per second. -1 means no limit.")
+  private double maxRequestsPerSecond = UNLIMITED;
+
+  /**
+   * Maximum number of requests that may be sent in a burst over {@code maxRequestsPerSecond} after a period of inactivity.
+   * Defaults to the requests per second, rounded up.
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 3)
+  private Integer maxBurst;
+
+  /**
+   * Maximum number of requests waiting for the limits to let them through. Requests over this number fail right away.
+   */
+  @Parameter
+  @Optional(defaultValue = "1000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 4)
+  private int maxWaitingRequests = 1000;
+
+  /**
+   * Maximum time a request waits for the limits to let it through.
+   */
+  @Parameter
+  @Optional(defaultValue = "30000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 5)
+  private long maxWaitTime = 30000;
+
+  /**
+   * Time unit for the {@code maxWaitTime} attribute.
+   */
+  @Parameter
+  @Optional(defaultValue = "MILLISECONDS")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 6)
+  private TimeUnit maxWaitTimeUnit = MILLISECONDS;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private Scheduler scheduler;
+  private Bulkhead bulkhead;
+
+  public HttpRequestLimitsConfig() {}
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (maxConcurrentRequests == 0 || maxConcurrentRequests < UNLIMITED) {
+      throw new InitialisationException(createStaticMessage("maxConcurrentRequests only allows positive values or -1 for no limit"),
+                                        this);
+    }
+    if (maxRequestsPerSecond == 0 || (maxRequestsPerSecond < 0 && maxRequestsPerSecond != UNLIMITED)) {
+      throw new InitialisationException(createStaticMessage("maxRequestsPerSecond only allows positive values or -1 for no limit"),
+                                        this);
+    }
+    if (maxBurst != null && maxBurst <= 0) {
+      throw new InitialisationException(createStaticMessage("maxBurst must be a positive value"), this);
+    }
+    if (maxWaitingRequests < 0 || maxWaitTime < 0) {
+      throw new InitialisationException(createStaticMessage("maxWaitingRequests and maxWaitTime can't be negative"), this);
+    }
+
+    if (bulkhead == null && isLimited()) {
+      scheduler = schedulerService.ioScheduler(config().withName("http.requester.limits"));
+      TokenBucket rateLimit = maxRequestsPerSecond > 0
+          ? new TokenBucket(maxBurst != null ? maxBurst : max(1, ceil(maxRequestsPerSecond)), maxRequestsPerSecond)
+          : null;
+      bulkhead = new Bulkhead(maxConcurrentRequests, maxWaitingRequests, maxWaitTimeUnit.toNanos(maxWaitTime), rateLimit,
+                              scheduler);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (scheduler != null) {
+      scheduler.stop();
+      scheduler = null;
+    }
+    bulkhead = null;
+  }
+
+  /**
+   * @return the {@link Bulkhead} enforcing these limits, or {@code null} if no limit is configured
+   */
+  public Bulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  private boolean isLimited() {
+    return maxConcurrentRequests > 0 || maxRequestsPerSecond > 0;
+  }
+
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
+  public double getMaxRequestsPerSecond() {
+    return maxRequestsPerSecond;
+  }
+
+  public Integer getMaxBurst() {
+    return maxBurst;
+  }
+
+  public int getMaxWaitingRequests() {
+    return maxWaitingRequests;
+  }
+
+  public long getMaxWaitTime() {
+    return maxWaitTime;
+  }
+
+  public TimeUnit getMaxWaitTimeUnit() {
+    return maxWaitTimeUnit;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(maxBurst, maxConcurrentRequests, maxRequestsPerSecond, maxWaitTime, maxWaitTimeUnit, maxWaitingRequests);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    HttpRequestLimitsConfig other = (HttpRequestLimitsConfig) obj;
+    return Objects.equals(maxBurst, other.maxBurst)
+        && maxConcurrentRequests == other.maxConcurrentRequests
+        && Double.compare(maxRequestsPerSecond, other.maxRequestsPerSecond) == 0
+        && maxWaitTime == other.maxWaitTime
+        && maxWaitTimeUnit == other.maxWaitTimeUnit
+        && maxWaitingRequests == other.maxWaitingRequests;
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.loadbalancing;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.extension.http.api.request.loadbalancing.LoadBalancingStrategy.ROUND_ROBIN;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+
+import org.mule.extension.http.internal.request.client.LoadBalancer;
+import org.mule.extension.http.internal.request.client.LoadBalancer.Endpoint;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.extension.api.annotation.Expression;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Example;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+/**
+ * Client side load balancing of the requests sent to the host and port of a connection across several endpoints. The endpoints
+ * are either configured explicitly or, if none are, every address the host resolves to (all its {@code A} and {@code AAAA}
+ * records). In the latter case the requests keep the configured host in their {@code Host} header, and the addresses are resolved
+ * again when the DNS cache TTL elapses. Since the requests are sent to the addresses themselves, that can't be used with HTTPS,
+ * which verifies the certificates against the host the requests are sent to, and HTTPS connections have to configure their
+ * endpoints by host name.
+ * <p>
+ * Endpoints that fail (connectivity errors, timeouts and {@code 5xx} responses) several consecutive requests are ejected for a
+ * while.
+ *
+ * @since 1.11
+ */
+public class HttpLoadBalancingConfig implements Initialisable, Disposable {
+
+  /**
+   * How the endpoint each request is sent to is chosen.
+   */
+  @Parameter
+  @Optional(defaultValue = "ROUND_ROBIN")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 1)
+  private LoadBalancingStrategy strategy = ROUND_ROBIN;
+
+  /**
+   * Comma separated list of the {@code host:port} endpoints to balance the requests across. The port may be omitted to use the
+   * one of the connection. If not set, the requests are balanced across all the addresses the host of the connection resolves to,
+   * so it's required with HTTPS.
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  @Example("replica-1:8081, replica-2:8081")
+  @Summary("Comma separated list of the host:port endpoints to balance the requests across")
+  @Placement(order = 2)
+  private String endpoints;
+
+  /**
+   * Time the addresses of the host are cached for before resolving them again. Not used when the endpoints are configured.
+   */
+  @Parameter
+  @Optional(defaultValue = "30000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 3)
+  private long dnsCacheTtl = 30000;
+
+  /**
+   * Number of consecutive failed requests after which an endpoint is ejected. A non positive value disables ejection.
+   */
+  @Parameter
+  @Optional(defaultValue = "5")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 4)
+  private int maxConsecutiveFailures = 5;
+
+  /**
+   * Time an ejected endpoint is not sent requests for.
+   */
+  @Parameter
+  @Optional(defaultValue = "30000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 5)
+  private long ejectionTime = 30000;
+
+  /**
+   * Time unit for the duration attributes.
+   */
+  @Parameter
+  @Optional(defaultValue = "MILLISECONDS")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 6)
+  private TimeUnit timeUnit = MILLISECONDS;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private Scheduler scheduler;
+  private final ConcurrentMap<String, LoadBalancer> loadBalancers = new ConcurrentHashMap<>();
+
+  public HttpLoadBalancingConfig() {}
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (dnsCacheTtl < 0 || ejectionTime < 0) {
+      throw new InitialisationException(createStaticMessage("dnsCacheTtl and ejectionTime can't be negative"), this);
+    }
+    try {
+      parseEndpoints(0);
+    } catch (IllegalArgumentException e) {
+      throw new InitialisationException(createStaticMessage(format("Invalid endpoints '%s'", endpoints)), e, this);
+    }
+
+    if (scheduler == null) {
+      scheduler = schedulerService.ioScheduler(config().withName("http.requester.loadBalancing"));
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (scheduler != null) {
+      scheduler.stop();
+      scheduler = null;
+    }
+    loadBalancers.clear();
+  }
+
+  /**
+   * Returns the {@link LoadBalancer} for the given host and port, creating it if it's the first call for them. The addresses of
+   * the host are resolved in the background, so this can be called ahead of the first request to have them ready.
+   *
+   * @param host the host of the connection
+   * @param port the port of the connection
+   * @return the {@link LoadBalancer} spreading the requests to the host and port across its endpoints
+   */
+  public LoadBalancer getLoadBalancer(String host, int port) {
+    return loadBalancers.computeIfAbsent(host + ":" + port, name -> createLoadBalancer(name, host, port));
+  }
+
+  /**
+   * @return whether the requests are balanced across the addresses the host resolves to, since no endpoints are configured
+   */
+  public boolean isResolvingHost() {
+    return endpoints == null || endpoints.trim().isEmpty();
+  }
+
+  private LoadBalancer createLoadBalancer(String name, String host, int port) {
+    if (!isResolvingHost()) {
+      List<Endpoint> configured = parseEndpoints(port);
+      LoadBalancer loadBalancer = new LoadBalancer(name, strategy, () -> configured, MAX_VALUE, null, maxConsecutiveFailures,
+                                                   timeUnit.toNanos(ejectionTime), scheduler, System::nanoTime);
+      loadBalancer.resolve();
+      return loadBalancer;
+    }
+
+    LoadBalancer loadBalancer = new LoadBalancer(name, strategy, () -> {
+      List<Endpoint> resolved = new ArrayList<>();
+      for (InetAddress address : InetAddress.getAllByName(host)) {
+        resolved.add(new Endpoint(address.getHostAddress(), port));
+      }
+      return resolved;
+    }, timeUnit.toNanos(dnsCacheTtl), name, maxConsecutiveFailures, timeUnit.toNanos(ejectionTime), scheduler, System::nanoTime);
+    // requests are sent to the host itself until its addresses are resolved
+    loadBalancer.resolveInBackground();
+    return loadBalancer;
+  }
+
+  private List<Endpoint> parseEndpoints(int defaultPort) {
+    List<Endpoint> parsed = new ArrayList<>();
+    if (endpoints == null) {
+      return parsed;
+    }
+    for (String endpoint : endpoints.split(",")) {
+      endpoint = endpoint.trim();
+      if (endpoint.isEmpty()) {
+        continue;
+      }
+      // IPv6 addresses with a port are written in brackets, as in URIs
+      int portSeparator = endpoint.lastIndexOf(':');
+      if (portSeparator > 0 && (endpoint.indexOf(':') == portSeparator || endpoint.charAt(portSeparator - 1) == ']')) {
+        parsed.add(new Endpoint(unbracket(endpoint.substring(0, portSeparator)),
+                                Integer.parseInt(endpoint.substring(portSeparator + 1))));
+      } else {
+        parsed.add(new Endpoint(unbracket(endpoint), defaultPort));
+      }
+    }
+    return parsed;
+  }
+
+  private static String unbracket(String host) {
+    return host.startsWith("[") && host.endsWith("]") ? host.substring(1, host.length() - 1) : host;
+  }
+
+  public LoadBalancingStrategy getStrategy() {
+    return strategy;
+  }
+
+  public String getEndpoints() {
+    return endpoints;
+  }
+
+  public long getDnsCacheTtl() {
+    return dnsCacheTtl;
+  }
+
+  public int getMaxConsecutiveFailures() {
+    return maxConsecutiveFailures;
+  }
+
+  public long getEjectionTime() {
+    return ejectionTime;
+  }
+
+  public TimeUnit getTimeUnit() {
+    return timeUnit;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(dnsCacheTtl, ejectionTime, endpoints, maxConsecutiveFailures, strategy, timeUnit);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    HttpLoadBalancingConfig other = (HttpLoadBalancingConfig) obj;
+    return dnsCacheTtl == other.dnsCacheTtl
+        && ejectionTime == other.ejectionTime
+        && Objects.equals(endpoints, other.endpoints)
+        && maxConsecutiveFailures == other.maxConsecutiveFailures
+        && strategy == other.strategy
+        && timeUnit == other.timeUnit;
+  }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.loadbalancing;
+
+/**
+ * Defines how the endpoint each request is sent to is chosen.
+ *
+ * @since 1.11
+ */
+public enum LoadBalancingStrategy {
+  /**
+   * Endpoints are used in turns.
+   */
+  ROUND_ROBIN,
+  /**
+   * The endpoint with the fewest requests in flight is used.
+   */
+  LEAST_OUTSTANDING_REQUESTS,
+  /**
+   * Two endpoints are picked at random, and the one with the lowest average latency weighted by its requests in flight is used.
+   */
+  POWER_OF_TWO_CHOICES
+}
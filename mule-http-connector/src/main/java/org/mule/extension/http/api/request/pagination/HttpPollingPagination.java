@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.pagination;
+
+import static java.util.Optional.empty;
+import static org.mule.extension.http.api.request.pagination.PaginationMode.LINK_HEADER;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+import static org.mule.runtime.api.meta.ExpressionSupport.REQUIRED;
+
+import org.mule.runtime.extension.api.annotation.Expression;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Example;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.extension.api.runtime.parameter.Literal;
+
+import java.util.Objects;
+
+/**
+ * Makes the HTTP Polling Source fetch all the pages of a paginated response within the same poll, instead of one page per poll.
+ * The items of each page are dispatched before the next page is processed, so a poll that stops halfway keeps the watermark of
+ * the pages already dispatched. Optionally, the next page is fetched while the items of the current one are being dispatched.
+ *
+ * @since 1.11
+ */
+public class HttpPollingPagination {
+
+  /**
+   * How the next page is found.
+   */
+  @Parameter
+  @Optional(defaultValue = "LINK_HEADER")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 1)
+  private PaginationMode mode = LINK_HEADER;
+
+  /**
+   * Expression that returns the token of the next page from the response. It can reference the {@code payload},
+   * {@code attributes} and {@code watermark}. Required by the {@code NEXT_PAGE_TOKEN} mode.
+   */
+  @Parameter
+  @Optional
+  @Expression(REQUIRED)
+  @Example("#[payload.nextPageToken]")
+  @DisplayName("Next Page Token Expression")
+  @Placement(order = 2)
+  private Literal<String> nextPageTokenExpression;
+
+  /**
+   * Query parameter the token of the next page is sent in.
+   */
+  @Parameter
+  @Optional(defaultValue = "pageToken")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 3)
+  private String tokenQueryParameter = "pageToken";
+
+  /**
+   * Query parameter the offset of the page is sent in.
+   */
+  @Parameter
+  @Optional(defaultValue = "offset")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 4)
+  private String offsetQueryParameter = "offset";
+
+  /**
+   * Query parameter the page size is sent in.
+   */
+  @Parameter
+  @Optional(defaultValue = "limit")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 5)
+  private String limitQueryParameter = "limit";
+
+  /**
+   * Offset of the first page.
+   */
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 6)
+  private int initialOffset = 0;
+
+  /**
+   * Number of items requested per page.
+   */
+  @Parameter
+  @Optional(defaultValue = "100")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 7)
+  private int pageSize = 100;
+
+  /**
+   * Maximum number of pages fetched in a single poll. The remaining ones are fetched by the next poll, starting from the first
+   * page again.
+   */
+  @Parameter
+  @Optional(defaultValue = "100")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 8)
+  private int maxPagesPerPoll = 100;
+
+  /**
+   * Whether to fetch the next page while the items of the current one are being dispatched. In {@code OFFSET} mode, pages with
+   * less items than the page size are known to be the last one, except with a streaming split mode, in which case the page after
+   * the last one is always requested and discarded.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Expression(NOT_SUPPORTED)
+  @Summary("Whether to fetch the next page while the items of the current one are being dispatched")
+  @Placement(order = 9)
+  private boolean prefetch = false;
+
+  public PaginationMode getMode() {
+    return mode;
+  }
+
+  public java.util.Optional<String> getNextPageTokenExpression() {
+    if (nextPageTokenExpression == null) {
+      return empty();
+    }
+    return nextPageTokenExpression.getLiteralValue().filter(expression -> !expression.trim().isEmpty());
+  }
+
+  public String getTokenQueryParameter() {
+    return tokenQueryParameter;
+  }
+
+  public String getOffsetQueryParameter() {
+    return offsetQueryParameter;
+  }
+
+  public String getLimitQueryParameter() {
+    return limitQueryParameter;
+  }
+
+  public int getInitialOffset() {
+    return initialOffset;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public int getMaxPagesPerPoll() {
+    return maxPagesPerPoll;
+  }
+
+  public boolean isPrefetch() {
+    return prefetch;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(initialOffset, limitQueryParameter, maxPagesPerPoll, mode, nextPageTokenExpression, offsetQueryParameter,
+                        pageSize, prefetch, tokenQueryParameter);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    HttpPollingPagination other = (HttpPollingPagination) obj;
+    return initialOffset == other.initialOffset
+        && Objects.equals(limitQueryParameter, other.limitQueryParameter)
+        && maxPagesPerPoll == other.maxPagesPerPoll
+        && mode == other.mode
+        && Objects.equals(nextPageTokenExpression, other.nextPageTokenExpression)
+        && Objects.equals(offsetQueryParameter, other.offsetQueryParameter)
+        && pageSize == other.pageSize
+        && prefetch == other.prefetch
+        && Objects.equals(tokenQueryParameter, other.tokenQueryParameter);
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.pagination;
+
+/**
+ * Defines how the HTTP Polling Source finds the next page of a paginated response.
+ *
+ * @since 1.11
+ */
+public enum PaginationMode {
+  /**
+   * The next page is the target of the {@code next} link of the {@code Link} header of the response, as defined by RFC 8288.
+   * There are no more pages when there's no such link.
+   */
+  LINK_HEADER,
+  /**
+   * The next page is requested with the token the {@code nextPageTokenExpression} returns as a query parameter. There are no more
+   * pages when there's no token.
+   */
+  NEXT_PAGE_TOKEN,
+  /**
+   * Pages are requested with increasing offset and a limit as query parameters. There are no more pages when one has fewer items
+   * than the limit.
+   */
+  OFFSET
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.response;
+
+/**
+ * Defines how the HTTP Polling Source splits the response body into items while reading it, instead of reading the whole body
+ * into memory and splitting it with the {@code splitExpression}.
+ *
+ * @since 1.11
+ */
+public enum StreamingSplitMode {
+  /**
+   * The body is not split while streamed. The {@code splitExpression} is used, if any.
+   */
+  NONE,
+  /**
+   * The body is a JSON array and each of its elements is an item.
+   */
+  JSON_ARRAY,
+  /**
+   * The body is newline delimited JSON and each non blank line is an item.
+   */
+  NDJSON,
+  /**
+   * The body is CSV with a header line and each record is an item. Items are CSV documents with the header line and the record,
+   * and the {@code item} of the id and watermark expressions is an object with a field per column.
+   */
+  CSV
+}
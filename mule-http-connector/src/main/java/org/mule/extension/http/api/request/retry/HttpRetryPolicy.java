@@ -0,0 +1,391 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.retry;
+
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.String.format;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+
+import org.mule.extension.http.internal.request.StatusCodeRanges;
+import org.mule.extension.http.internal.request.TokenBucket;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.extension.api.annotation.Expression;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Declarative retry policy for outbound requests. Requests failing with a retryable status code or a connectivity/timeout error
+ * are sent again after an exponential backoff with jitter, honouring the {@code Retry-After} header sent by the server. Retries
+ * towards each host are limited by a token bucket so a failing server doesn't receive a retry storm.
+ * <p>
+ * Only idempotent methods are retried (unless the {@code mule.http.client.retryOnAllMethods} system property is set), and only
+ * when the request body can be sent again.
+ *
+ * @since 1.11
+ */
+public class HttpRetryPolicy implements Initialisable {
+
+  /**
+   * Maximum number of times a request will be retried.
+   */
+  @Parameter
+  @Optional(defaultValue = "3")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 1)
+  private int maxRetries = 3;
+
+  /**
+   * Response status codes that cause the request to be retried. Ranges can be specified with {@code ..}, for example
+   * {@code 500..599}.
+   */
+  @Parameter
+  @Optional(defaultValue = "429,502,503,504")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 2)
+  private String retryStatusCodes = "429,502,503,504";
+
+  /**
+   * Whether requests that fail because of a connectivity error (connection refused or reset, remotely closed, etc.) are retried.
+   */
+  @Parameter
+  @Optional(defaultValue = "true")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 3)
+  private boolean retryOnConnectivityError = true;
+
+  /**
+   * Whether requests that fail because the response timeout elapsed are retried.
+   */
+  @Parameter
+  @Optional(defaultValue = "true")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 4)
+  private boolean retryOnTimeout = true;
+
+  /**
+   * Time to wait before the first retry. Subsequent retries wait exponentially longer.
+   */
+  @Parameter
+  @Optional(defaultValue = "100")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 5)
+  private long initialBackoff = 100;
+
+  /**
+   * Maximum time to wait between retries.
+   */
+  @Parameter
+  @Optional(defaultValue = "10000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 6)
+  private long maxBackoff = 10000;
+
+  /**
+   * Time unit for the backoff attributes.
+   */
+  @Parameter
+  @Optional(defaultValue = "MILLISECONDS")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 7)
+  private TimeUnit backoffTimeUnit = MILLISECONDS;
+
+  /**
+   * Factor by which the backoff is multiplied on each retry.
+   */
+  @Parameter
+  @Optional(defaultValue = "2.0")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 8)
+  private double backoffMultiplier = 2.0;
+
+  /**
+   * Fraction of the backoff that is randomized, between 0 (no jitter) and 1 (full jitter).
+   */
+  @Parameter
+  @Optional(defaultValue = "0.5")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 9)
+  private double jitter = 0.5;
+
+  /**
+   * Whether to wait the time specified by the {@code Retry-After} response header when present. If the server asks to wait longer
+   * than the maximum backoff, the request is not retried.
+   */
+  @Parameter
+  @Optional(defaultValue = "true")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 10)
+  private boolean honourRetryAfter = true;
+
+  /**
+   * Maximum number of retries that can be sent in a burst to the same host.
+   */
+  @Parameter
+  @Optional(defaultValue = "10")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 11)
+  @Summary("Maximum number of retries that can be sent in a burst to the same host")
+  private int retryBudget = 10;
+
+  /**
+   * Number of retries per second that are added to the budget of each host, up to the retry budget.
+   */
+  @Parameter
+  @Optional(defaultValue = "1.0")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 12)
+  private double retryBudgetRefillPerSecond = 1.0;
+
+  private StatusCodeRanges compiledRetryStatusCodes;
+
+  private final ConcurrentMap<String, TokenBucket> budgets = new ConcurrentHashMap<>();
+
+  public HttpRetryPolicy() {}
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (maxRetries < 0) {
+      throw new InitialisationException(createStaticMessage("maxRetries can't be negative"), this);
+    }
+    if (initialBackoff < 0 || maxBackoff < initialBackoff) {
+      throw new InitialisationException(createStaticMessage("initialBackoff can't be negative nor greater than maxBackoff"),
+                                        this);
+    }
+    if (backoffMultiplier < 1) {
+      throw new InitialisationException(createStaticMessage("backoffMultiplier must be greater than or equal to 1"), this);
+    }
+    if (jitter < 0 || jitter > 1) {
+      throw new InitialisationException(createStaticMessage("jitter must be between 0 and 1"), this);
+    }
+    if (retryBudget <= 0 || retryBudgetRefillPerSecond < 0) {
+      throw new InitialisationException(createStaticMessage("retryBudget must be positive and retryBudgetRefillPerSecond can't be negative"),
+                                        this);
+    }
+    try {
+      compiledRetryStatusCodes = StatusCodeRanges.parse(retryStatusCodes);
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      throw new InitialisationException(createStaticMessage(format("Invalid retryStatusCodes '%s'", retryStatusCodes)), e,
+                                        this);
+    }
+  }
+
+  /**
+   * @param statusCode the status code of a response
+   * @return whether a response with the given status code should be retried
+   */
+  public boolean isRetryableStatusCode(int statusCode) {
+    return getCompiledRetryStatusCodes().contains(statusCode);
+  }
+
+  /**
+   * @param exception the cause of a failed request
+   * @return whether the request that failed with the given exception should be retried
+   */
+  public boolean isRetryableException(Throwable exception) {
+    return exception instanceof TimeoutException ? retryOnTimeout : retryOnConnectivityError;
+  }
+
+  /**
+   * Takes a token from the retry budget of the given host.
+   *
+   * @param host the host (and port) the retry will be sent to
+   * @return whether the retry may be sent
+   */
+  public boolean tryAcquireRetry(String host) {
+    return budgets.computeIfAbsent(host, h -> new TokenBucket(retryBudget, retryBudgetRefillPerSecond)).tryAcquire();
+  }
+
+  /**
+   * Calculates how long to wait before sending a retry.
+   *
+   * @param attempt    the number of retries already sent for the request, starting at 0
+   * @param retryAfter the value of the {@code Retry-After} response header, if any
+   * @return the delay in milliseconds, or a negative value if the server asked to wait longer than the maximum backoff
+   */
+  public long getRetryDelay(int attempt, String retryAfter) {
+    long maxBackoffMillis = backoffTimeUnit.toMillis(maxBackoff);
+    if (honourRetryAfter && retryAfter != null) {
+      long retryAfterMillis = parseRetryAfter(retryAfter.trim());
+      if (retryAfterMillis > maxBackoffMillis) {
+        return -1;
+      }
+      if (retryAfterMillis >= 0) {
+        return retryAfterMillis;
+      }
+    }
+
+    double backoff = min(backoffTimeUnit.toMillis(initialBackoff) * pow(backoffMultiplier, attempt), maxBackoffMillis);
+    return max(0, (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble())));
+  }
+
+  private static long parseRetryAfter(String retryAfter) {
+    try {
+      return SECONDS.toMillis(parseLong(retryAfter));
+    } catch (NumberFormatException e) {
+      try {
+        return max(0, ZonedDateTime.parse(retryAfter, RFC_1123_DATE_TIME).toInstant().toEpochMilli() - System.currentTimeMillis());
+      } catch (DateTimeParseException dtpe) {
+        return -1;
+      }
+    }
+  }
+
+  private StatusCodeRanges getCompiledRetryStatusCodes() {
+    if (compiledRetryStatusCodes == null) {
+      compiledRetryStatusCodes = StatusCodeRanges.parse(retryStatusCodes);
+    }
+    return compiledRetryStatusCodes;
+  }
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  public String getRetryStatusCodes() {
+    return retryStatusCodes;
+  }
+
+  public boolean isRetryOnConnectivityError() {
+    return retryOnConnectivityError;
+  }
+
+  public boolean isRetryOnTimeout() {
+    return retryOnTimeout;
+  }
+
+  public long getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  public long getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  public TimeUnit getBackoffTimeUnit() {
+    return backoffTimeUnit;
+  }
+
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  public double getJitter() {
+    return jitter;
+  }
+
+  public boolean isHonourRetryAfter() {
+    return honourRetryAfter;
+  }
+
+  public int getRetryBudget() {
+    return retryBudget;
+  }
+
+  public double getRetryBudgetRefillPerSecond() {
+    return retryBudgetRefillPerSecond;
+  }
+
+  public void setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+  }
+
+  public void setRetryStatusCodes(String retryStatusCodes) {
+    this.retryStatusCodes = retryStatusCodes;
+    this.compiledRetryStatusCodes = null;
+  }
+
+  public void setRetryOnConnectivityError(boolean retryOnConnectivityError) {
+    this.retryOnConnectivityError = retryOnConnectivityError;
+  }
+
+  public void setRetryOnTimeout(boolean retryOnTimeout) {
+    this.retryOnTimeout = retryOnTimeout;
+  }
+
+  public void setInitialBackoff(long initialBackoff) {
+    this.initialBackoff = initialBackoff;
+  }
+
+  public void setMaxBackoff(long maxBackoff) {
+    this.maxBackoff = maxBackoff;
+  }
+
+  public void setBackoffTimeUnit(TimeUnit backoffTimeUnit) {
+    this.backoffTimeUnit = backoffTimeUnit;
+  }
+
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  public void setJitter(double jitter) {
+    this.jitter = jitter;
+  }
+
+  public void setHonourRetryAfter(boolean honourRetryAfter) {
+    this.honourRetryAfter = honourRetryAfter;
+  }
+
+  public void setRetryBudget(int retryBudget) {
+    this.retryBudget = retryBudget;
+  }
+
+  public void setRetryBudgetRefillPerSecond(double retryBudgetRefillPerSecond) {
+    this.retryBudgetRefillPerSecond = retryBudgetRefillPerSecond;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(backoffMultiplier, backoffTimeUnit, honourRetryAfter, initialBackoff, jitter, maxBackoff, maxRetries,
+                        retryBudget, retryBudgetRefillPerSecond, retryOnConnectivityError, retryOnTimeout, retryStatusCodes);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    HttpRetryPolicy other = (HttpRetryPolicy) obj;
+    return Double.compare(backoffMultiplier, other.backoffMultiplier) == 0
+        && backoffTimeUnit == other.backoffTimeUnit
+        && honourRetryAfter == other.honourRetryAfter
+        && initialBackoff == other.initialBackoff
+        && Double.compare(jitter, other.jitter) == 0
+        && maxBackoff == other.maxBackoff
+        && maxRetries == other.maxRetries
+        && retryBudget == other.retryBudget
+        && Double.compare(retryBudgetRefillPerSecond, other.retryBudgetRefillPerSecond) == 0
+        && retryOnConnectivityError == other.retryOnConnectivityError
+        && retryOnTimeout == other.retryOnTimeout
+        && Objects.equals(retryStatusCodes, other.retryStatusCodes);
+  }
+}
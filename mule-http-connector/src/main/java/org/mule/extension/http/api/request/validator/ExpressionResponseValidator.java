@@ -8,6 +8,7 @@ package org.mule.extension.http.api.request.validator;
 
 import static java.lang.String.format;
 import static org.mule.extension.http.api.error.HttpError.BAD_REQUEST;
+import static org.mule.extension.http.internal.request.ExpressionReferences.mayReference;
 import static org.mule.runtime.api.el.BindingContext.builder;
 import static org.mule.runtime.api.metadata.DataType.BOOLEAN;
 import static org.mule.runtime.api.metadata.DataType.fromType;
@@ -15,6 +16,9 @@ import static org.mule.runtime.api.metadata.MediaType.ANY;
 
 import org.mule.extension.http.api.HttpResponseAttributes;
 import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.CompiledExpression;
+import org.mule.runtime.api.el.ExpressionLanguageSession;
+import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.metadata.MediaType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.el.ExpressionManager;
@@ -35,7 +39,11 @@ import java.util.Optional;
  * @since 1.8
  */
 @TypeDsl(allowTopLevelDefinition = true)
-public class ExpressionResponseValidator implements ResponseValidator {
+public class ExpressionResponseValidator implements ResponseValidator, Initialisable {
+
+  private static final String PAYLOAD = "payload";
+
+  private static final BindingContext COMPILATION_CONTEXT = buildBindingContext(null, null, ANY);
 
   /**
    * DataWeave expression.
@@ -46,6 +54,23 @@ public class ExpressionResponseValidator implements ResponseValidator {
   @Inject
   private ExpressionManager expressionManager;
 
+  /**
+   * The expression compiled, or {@code null} if it hasn't been yet or can't be.
+   */
+  private volatile CompiledExpression compiledExpression;
+  private volatile boolean compilationAttempted;
+
+  /**
+   * Whether the expression references the {@code payload}, or {@code null} if it hasn't been determined yet.
+   */
+  private volatile Boolean bindsPayload;
+
+  @Override
+  public void initialise() {
+    compile();
+    bindsPayload();
+  }
+
   @Override
   public void validate(Result<InputStream, HttpResponseAttributes> result, HttpRequest request) {
     Optional<String> optExpression = expression.getLiteralValue();
@@ -55,8 +80,16 @@ public class ExpressionResponseValidator implements ResponseValidator {
       throw new IllegalStateException("The expression literal value hasn't been provided");
     }
 
-    BindingContext bindingContext = buildBindingContext(result);
-    TypedValue<?> validationResult = expressionManager.evaluate(optExpression.get(), bindingContext);
+    BindingContext bindingContext = buildBindingContext(result, bindsPayload());
+    CompiledExpression compiled = compile();
+    TypedValue<?> validationResult;
+    if (compiled != null) {
+      try (ExpressionLanguageSession session = expressionManager.openSession(bindingContext)) {
+        validationResult = session.evaluate(compiled);
+      }
+    } else {
+      validationResult = expressionManager.evaluate(optExpression.get(), bindingContext);
+    }
     if (!BOOLEAN.isCompatibleWith(validationResult.getDataType())) {
       throw new ResponseValidatorTypedException(format("The expression '%s' returned a non boolean value", optExpression.get()),
                                                 BAD_REQUEST);
@@ -68,12 +101,60 @@ public class ExpressionResponseValidator implements ResponseValidator {
     }
   }
 
-  private static BindingContext buildBindingContext(Result<? extends InputStream, ? extends HttpResponseAttributes> result) {
-    InputStream payload = result.getOutput();
-    HttpResponseAttributes attributes = result.getAttributes().orElse(null);
-    MediaType mediaType = result.getMediaType().orElse(ANY);
+  /**
+   * Compiles the expression the first time it's called, so that it's not parsed again for every response.
+   *
+   * @return the compiled expression, or {@code null} if it couldn't be compiled and has to be evaluated from its text
+   */
+  private CompiledExpression compile() {
+    if (!compilationAttempted && expressionManager != null) {
+      synchronized (this) {
+        if (!compilationAttempted) {
+          try {
+            expression.getLiteralValue()
+                .ifPresent(value -> compiledExpression = expressionManager.compile(value, COMPILATION_CONTEXT));
+          } catch (RuntimeException e) {
+            // the error, if any, is reported by the evaluation of the expression text
+            compiledExpression = null;
+          }
+          compilationAttempted = true;
+        }
+      }
+    }
+    return compiledExpression;
+  }
+
+  private boolean bindsPayload() {
+    Boolean binds = bindsPayload;
+    if (binds == null) {
+      binds = referencesPayload(expression != null ? expression.getLiteralValue().orElse(null) : null);
+      bindsPayload = binds;
+    }
+    return binds;
+  }
+
+  /**
+   * Looks for the {@code payload} binding in the text of an expression. It may report references that aren't, such as the word
+   * within a string, but never misses one, so that the body is only kept from being made repeatable when it's not used.
+   *
+   * @param expression the text of the expression
+   * @return whether the expression may reference the {@code payload}
+   */
+  static boolean referencesPayload(String expression) {
+    return mayReference(expression, PAYLOAD);
+  }
+
+  private static BindingContext buildBindingContext(Result<? extends InputStream, ? extends HttpResponseAttributes> result,
+                                                    boolean bindPayload) {
+    // the body is left untouched when not referenced, so that it can still be streamed afterwards
+    return buildBindingContext(bindPayload ? result.getOutput() : null, result.getAttributes().orElse(null),
+                               result.getMediaType().orElse(ANY));
+  }
+
+  private static BindingContext buildBindingContext(InputStream payload, HttpResponseAttributes attributes,
+                                                    MediaType mediaType) {
     return builder()
-        .addBinding("payload", new TypedValue<>(payload, fromType(InputStream.class)))
+        .addBinding(PAYLOAD, new TypedValue<>(payload, fromType(InputStream.class)))
         .addBinding("attributes", new TypedValue<>(attributes, fromType(HttpResponseAttributes.class)))
         .addBinding("mediaType", new TypedValue<>(mediaType, fromType(MediaType.class)))
         .build();
@@ -83,9 +164,13 @@ public class ExpressionResponseValidator implements ResponseValidator {
     return expression;
   }
 
+  /**
+   * @return whether the expression references the {@code payload}. Expressions that only check the status code or the headers
+   *         don't, so the body of the response keeps being streamed.
+   */
   @Override
   public boolean mayConsumeBody() {
-    return true;
+    return bindsPayload();
   }
 
   @Override
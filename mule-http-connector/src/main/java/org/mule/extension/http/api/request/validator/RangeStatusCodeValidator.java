@@ -6,13 +6,12 @@
  */
 package org.mule.extension.http.api.request.validator;
 
-import static java.lang.Integer.parseInt;
 import static org.mule.extension.http.api.error.HttpError.getErrorByCode;
 import static org.mule.runtime.api.metadata.MediaType.ANY;
-import static org.mule.runtime.core.api.util.ClassUtils.memoize;
 import org.mule.extension.http.api.HttpResponseAttributes;
 import org.mule.extension.http.api.error.HttpError;
 import org.mule.extension.http.api.error.HttpErrorMessageGenerator;
+import org.mule.extension.http.internal.request.StatusCodeRanges;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.runtime.operation.Result;
@@ -22,8 +21,6 @@ import org.mule.runtime.http.api.domain.message.request.HttpRequest;
 import java.io.InputStream;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
 
 /**
  * Base status code validator that can be extended to create custom validations.
@@ -38,34 +35,21 @@ public abstract class RangeStatusCodeValidator implements ResponseValidator {
   @Parameter
   private String values;
 
-  private Function<Integer, Boolean> belongsFunction = memoize(value -> {
-    String[] valueParts = values.split(",");
-
-    for (String valuePart : valueParts) {
-      if (valuePart.contains("..")) {
-        String[] limits = valuePart.split("\\.\\.");
-        int lower = parseInt(limits[0].trim());
-        int upper = parseInt(limits[1].trim());
-
-        if (value >= lower && value <= upper) {
-          return true;
-        }
-      } else {
-        int code = parseInt(valuePart.trim());
-
-        if (code == value) {
-          return true;
-        }
-      }
-    }
-
-    return false;
-  }, new ConcurrentHashMap<>());
+  /**
+   * The {@link #values} compiled, or {@code null} if they haven't been yet.
+   */
+  private volatile StatusCodeRanges compiledValues;
 
   private HttpErrorMessageGenerator errorMessageGenerator = new HttpErrorMessageGenerator();
 
   protected boolean belongs(int value) {
-    return belongsFunction.apply(value);
+    StatusCodeRanges ranges = compiledValues;
+    if (ranges == null) {
+      // values injected directly in the field are compiled on first use
+      ranges = StatusCodeRanges.parse(values);
+      compiledValues = ranges;
+    }
+    return ranges.contains(value);
   }
 
   public String getValues() {
@@ -74,6 +58,7 @@ public abstract class RangeStatusCodeValidator implements ResponseValidator {
 
   public void setValues(String values) {
     this.values = values;
+    this.compiledValues = StatusCodeRanges.parse(values);
   }
 
   /**
@@ -54,7 +54,8 @@ public interface ResponseValidator {
 
   /**
    * @return whether the validator may consume the body while executing de validation. It's important to know that in order to
-   *         decide if you want to make the body stream repeatable.
+   *         decide if you want to make the body stream repeatable. Validators that only check the status code or the headers
+   *         should return {@code false}, so that the body is streamed instead of being buffered.
    * @since 1.8
    */
   default boolean mayConsumeBody() {
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.warmup;
+
+import static org.mule.extension.http.api.request.HttpSendBodyMode.NEVER;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.extension.http.api.request.authentication.HttpRequestAuthentication;
+import org.mule.extension.http.api.request.client.UriParameters;
+import org.mule.extension.http.internal.request.RequestConnectionParams;
+import org.mule.extension.http.internal.request.client.HttpExtensionClient;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.extension.api.annotation.Expression;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.http.api.client.auth.HttpAuthentication;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+
+/**
+ * Establishes connections, including their TLS handshakes, to the host of a connection as soon as it's created, so that the first
+ * requests don't pay for them. Connections are established by sending concurrent lightweight requests, the same way
+ * {@link org.mule.extension.http.api.request.HttpConnectivityValidator} does. Optionally, some connections are kept from being
+ * closed for being idle by sending requests through them periodically.
+ * <p>
+ * The number of connections established is limited by the {@code maxConnections} of the connection.
+ *
+ * @since 1.11
+ */
+public class HttpConnectionWarmUpConfig implements Initialisable, Disposable {
+
+  private static final Logger LOGGER = getLogger(HttpConnectionWarmUpConfig.class);
+
+  /**
+   * Number of connections to establish when the connection is created.
+   */
+  @Parameter
+  @Optional(defaultValue = "1")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 1)
+  private int connections = 1;
+
+  /**
+   * Number of connections to keep from being closed by the {@code connectionIdleTimeout}. Only used with persistent connections.
+   */
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 2)
+  @Summary("Number of connections to keep from being closed by the connectionIdleTimeout")
+  private int minIdleConnections = 0;
+
+  /**
+   * Path used in the warm-up request URI.
+   */
+  @Parameter
+  @Optional(defaultValue = "/")
+  @Expression(NOT_SUPPORTED)
+  @DisplayName("Warm-up Request Path")
+  @Placement(order = 3)
+  private String requestPath = "/";
+
+  /**
+   * HTTP Method for the warm-up requests.
+   */
+  @Parameter
+  @Optional(defaultValue = "HEAD")
+  @Expression(NOT_SUPPORTED)
+  @DisplayName("Warm-up Request HTTP Method")
+  @Placement(order = 4)
+  private String requestMethod = "HEAD";
+
+  /**
+   * Maximum time to wait for the response of a warm-up request.
+   */
+  @Parameter
+  @Optional(defaultValue = "10000")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 5)
+  private int responseTimeout = 10000;
+
+  /**
+   * Response timeout time unit.
+   */
+  @Parameter
+  @Optional(defaultValue = "MILLISECONDS")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 6)
+  private TimeUnit responseTimeoutUnit = MILLISECONDS;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private Scheduler scheduler;
+  private final Map<HttpExtensionClient, ScheduledFuture<?>> keepWarmTasks = new ConcurrentHashMap<>();
+
+  public HttpConnectionWarmUpConfig() {}
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (connections < 0 || minIdleConnections < 0) {
+      throw new InitialisationException(createStaticMessage("connections and minIdleConnections can't be negative"), this);
+    }
+
+    if (scheduler == null) {
+      scheduler = schedulerService.ioScheduler(config().withName("http.requester.warmUp"));
+    }
+  }
+
+  @Override
+  public void dispose() {
+    keepWarmTasks.values().forEach(task -> task.cancel(false));
+    keepWarmTasks.clear();
+    if (scheduler != null) {
+      scheduler.stop();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Establishes the configured number of connections through the given client, and starts keeping the minimum idle ones warm.
+   * Failures are only logged, since the connection may still be usable for the actual requests.
+   *
+   * @param client           the client to warm up
+   * @param connectionParams the parameters of the connection the client belongs to
+   * @return a future completed once all the warm-up requests have finished
+   */
+  public CompletableFuture<Void> warmUp(HttpExtensionClient client, RequestConnectionParams connectionParams) {
+    UriParameters uriParameters = client.getDefaultUriParameters();
+    if (uriParameters.getHost() == null) {
+      // requests of this connection set their own host, there's no way of knowing which one to warm up
+      return completedFuture(null);
+    }
+
+    String uri = uriParameters.getScheme().getScheme() + "://" + uriParameters.getHost().trim() + ":" + uriParameters.getPort()
+        + requestPath;
+    CompletableFuture<Void> warmedUp = sendConcurrently(client, uri, connections);
+
+    int idleTimeout = connectionParams.getConnectionIdleTimeout() != null ? connectionParams.getConnectionIdleTimeout() : 0;
+    if (minIdleConnections > 0 && connectionParams.getUsePersistentConnections() && idleTimeout > 0) {
+      // twice per idle timeout, so that connections are used again before they expire even if a warm-up request is slow
+      long period = Math.max(1, idleTimeout / 2);
+      keepWarmTasks.computeIfAbsent(client, c -> scheduler
+          .scheduleAtFixedRate(() -> sendConcurrently(c, uri, minIdleConnections), period, period, MILLISECONDS));
+    }
+    return warmedUp;
+  }
+
+  /**
+   * Stops keeping the connections of the given client warm.
+   *
+   * @param client a client previously passed to {@link #warmUp(HttpExtensionClient, RequestConnectionParams)}
+   */
+  public void stop(HttpExtensionClient client) {
+    ScheduledFuture<?> task = keepWarmTasks.remove(client);
+    if (task != null) {
+      task.cancel(false);
+    }
+  }
+
+  private CompletableFuture<Void> sendConcurrently(HttpExtensionClient client, String uri, int count) {
+    // all requests are in flight at the same time so that each one needs its own connection
+    CompletableFuture<?>[] requests = new CompletableFuture<?>[count];
+    for (int i = 0; i < count; ++i) {
+      requests[i] = send(client, uri);
+    }
+    return allOf(requests);
+  }
+
+  private CompletableFuture<Void> send(HttpExtensionClient client, String uri) {
+    HttpRequest request = HttpRequest.builder().uri(uri).method(requestMethod).build();
+
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    try {
+      // not counted against the request limits nor the circuit breaker and load balancer statistics, nor served from the cache
+      client.sendDirectly(request, (int) responseTimeoutUnit.toMillis(responseTimeout), false, resolveAuthentication(client), NEVER)
+          .whenComplete((response, exception) -> {
+            if (exception != null) {
+              LOGGER.warn("Warm-up request to '{}' failed: {}", uri, exception.getMessage());
+              result.complete(null);
+            } else if (response.getEntity().isStreaming()) {
+              // the body may not have arrived yet, so it's not read in the client's thread
+              try {
+                scheduler.execute(() -> discard(response, result));
+              } catch (RuntimeException e) {
+                discard(response, result);
+              }
+            } else {
+              discard(response, result);
+            }
+          });
+    } catch (RuntimeException e) {
+      LOGGER.warn("Warm-up request to '{}' could not be sent: {}", uri, e.getMessage());
+      result.complete(null);
+    }
+    return result;
+  }
+
+  private static void discard(HttpResponse response, CompletableFuture<Void> result) {
+    // the body has to be consumed for the connection to be released back to the pool
+    try (InputStream content = response.getEntity().getContent()) {
+      byte[] buffer = new byte[1024];
+      while (content.read(buffer) != -1) {
+        // discarded
+      }
+    } catch (IOException e) {
+      LOGGER.debug("Error discarding the body of a warm-up response", e);
+    }
+    result.complete(null);
+  }
+
+  private static HttpAuthentication resolveAuthentication(HttpExtensionClient client) {
+    HttpRequestAuthentication authentication = client.getDefaultAuthentication();
+    return authentication instanceof HttpAuthentication ? (HttpAuthentication) authentication : null;
+  }
+
+  public int getConnections() {
+    return connections;
+  }
+
+  public void setConnections(int connections) {
+    this.connections = connections;
+  }
+
+  public int getMinIdleConnections() {
+    return minIdleConnections;
+  }
+
+  public void setMinIdleConnections(int minIdleConnections) {
+    this.minIdleConnections = minIdleConnections;
+  }
+
+  public String getRequestPath() {
+    return requestPath;
+  }
+
+  public String getRequestMethod() {
+    return requestMethod;
+  }
+
+  public int getResponseTimeout() {
+    return responseTimeout;
+  }
+
+  public TimeUnit getResponseTimeoutUnit() {
+    return responseTimeoutUnit;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(connections, minIdleConnections, requestMethod, requestPath, responseTimeout, responseTimeoutUnit);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    HttpConnectionWarmUpConfig other = (HttpConnectionWarmUpConfig) obj;
+    return connections == other.connections
+        && minIdleConnections == other.minIdleConnections
+        && Objects.equals(requestMethod, other.requestMethod)
+        && Objects.equals(requestPath, other.requestPath)
+        && responseTimeout == other.responseTimeout
+        && responseTimeoutUnit == other.responseTimeoutUnit;
+  }
+}
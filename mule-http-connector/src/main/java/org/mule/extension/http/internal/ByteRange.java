@@ -0,0 +1,155 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal;
+
+import static java.util.Comparator.comparingLong;
+import static java.util.Optional.empty;
+import static org.mule.extension.http.api.HttpHeaders.Values.BYTES;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A range of bytes of a resource requested through a {@code Range} header, as defined in RFC 7233.
+ *
+ * @since 1.11
+ */
+public final class ByteRange {
+
+  /**
+   * Requests with more ranges are answered with the whole resource, so that they can't split the response in too many parts.
+   */
+  static final int MAX_RANGES = 16;
+
+  private static final String UNIT_PREFIX = BYTES + "=";
+
+  private final long first;
+  private final long last;
+
+  ByteRange(long first, long last) {
+    this.first = first;
+    this.last = last;
+  }
+
+  /**
+   * Parses the value of a {@code Range} header.
+   *
+   * @param header the value of the header
+   * @param length the length of the resource
+   * @return nothing if the header has to be ignored, either because it's not valid, because it has too many ranges or because
+   *         they add up to the whole resource, or the ranges of the resource it requests, sorted and with the overlapping and
+   *         adjacent ones merged, which are none if it can't be satisfied
+   */
+  public static Optional<List<ByteRange>> parse(String header, long length) {
+    String value = header.trim();
+    if (!value.regionMatches(true, 0, UNIT_PREFIX, 0, UNIT_PREFIX.length())) {
+      return empty();
+    }
+
+    String[] specs = value.substring(UNIT_PREFIX.length()).split(",");
+    if (specs.length > MAX_RANGES) {
+      return empty();
+    }
+    List<ByteRange> ranges = new ArrayList<>(specs.length);
+    for (String spec : specs) {
+      String trimmed = spec.trim();
+      int dash = trimmed.indexOf('-');
+      if (dash < 0) {
+        return empty();
+      }
+      try {
+        if (dash == 0) {
+          // the last bytes, as many as the suffix length
+          long suffix = parseLength(trimmed.substring(1));
+          if (suffix > 0 && length > 0) {
+            ranges.add(new ByteRange(Math.max(0, length - suffix), length - 1));
+          }
+        } else {
+          long first = parseLength(trimmed.substring(0, dash));
+          String lastValue = trimmed.substring(dash + 1);
+          long last = lastValue.isEmpty() ? Long.MAX_VALUE : parseLength(lastValue);
+          if (last < first) {
+            return empty();
+          }
+          if (first < length) {
+            ranges.add(new ByteRange(first, Math.min(last, length - 1)));
+          }
+        }
+      } catch (NumberFormatException e) {
+        return empty();
+      }
+    }
+
+    // overlapping ranges would serve the same bytes several times, making the response bigger than the resource
+    List<ByteRange> merged = merge(ranges);
+    long total = 0;
+    for (ByteRange range : merged) {
+      total += range.getLength();
+    }
+    if (!merged.isEmpty() && total >= length) {
+      return empty();
+    }
+    return Optional.of(merged);
+  }
+
+  private static List<ByteRange> merge(List<ByteRange> ranges) {
+    if (ranges.size() < 2) {
+      return ranges;
+    }
+    ranges.sort(comparingLong(ByteRange::getFirst));
+    List<ByteRange> merged = new ArrayList<>(ranges.size());
+    ByteRange current = ranges.get(0);
+    for (int i = 1; i < ranges.size(); ++i) {
+      ByteRange next = ranges.get(i);
+      if (next.first <= current.last + 1) {
+        current = new ByteRange(current.first, Math.max(current.last, next.last));
+      } else {
+        merged.add(current);
+        current = next;
+      }
+    }
+    merged.add(current);
+    return merged;
+  }
+
+  private static long parseLength(String value) {
+    if (value.isEmpty() || value.charAt(0) == '+' || value.charAt(0) == '-') {
+      throw new NumberFormatException(value);
+    }
+    return Long.parseLong(value);
+  }
+
+  /**
+   * @return the position of the first byte of the range
+   */
+  public long getFirst() {
+    return first;
+  }
+
+  /**
+   * @return the position of the last byte of the range, included in it
+   */
+  public long getLast() {
+    return last;
+  }
+
+  /**
+   * @return the number of bytes of the range
+   */
+  public long getLength() {
+    return last - first + 1;
+  }
+
+  /**
+   * @param length the length of the resource
+   * @return the value of the {@code Content-Range} header of the range
+   */
+  public String toContentRange(long length) {
+    return BYTES + " " + first + "-" + last + "/" + length;
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stream over ranges of a file, read from the cached content of the file if available or with positioned reads otherwise,
+ * optionally interleaved with literal bytes such as the delimiters of a {@code multipart/byteranges} body.
+ *
+ * @since 1.11
+ */
+final class ByteRangeInputStream extends InputStream {
+
+  private final Path path;
+  private final byte[] content;
+  private final List<Segment> segments = new ArrayList<>();
+  private long length;
+  private FileChannel channel;
+  private int current;
+  private long position;
+
+  /**
+   * @param path    the file
+   * @param content the content of the file, or {@code null} to read it from the file
+   */
+  ByteRangeInputStream(Path path, byte[] content) {
+    this.path = path;
+    this.content = content;
+  }
+
+  ByteRangeInputStream addRange(ByteRange range) {
+    return add(new Segment(content, range.getFirst(), range.getLength()));
+  }
+
+  ByteRangeInputStream addBytes(byte[] bytes) {
+    return add(new Segment(bytes, 0, bytes.length));
+  }
+
+  /**
+   * @return the number of bytes of the stream
+   */
+  long getLength() {
+    return length;
+  }
+
+  private ByteRangeInputStream add(Segment segment) {
+    segments.add(segment);
+    length += segment.length;
+    return this;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] single = new byte[1];
+    return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    while (current < segments.size()) {
+      Segment segment = segments.get(current);
+      long remaining = segment.length - position;
+      if (remaining <= 0) {
+        current++;
+        position = 0;
+        continue;
+      }
+
+      int count = (int) Math.min(length, remaining);
+      if (segment.bytes != null) {
+        System.arraycopy(segment.bytes, (int) (segment.start + position), buffer, offset, count);
+      } else {
+        count = getChannel().read(ByteBuffer.wrap(buffer, offset, count), segment.start + position);
+        if (count < 0) {
+          throw new EOFException("File '" + path + "' was truncated while it was read");
+        }
+      }
+      position += count;
+      return count;
+    }
+    return -1;
+  }
+
+  private FileChannel getChannel() throws IOException {
+    if (channel == null) {
+      channel = FileChannel.open(path, READ);
+    }
+    return channel;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      channel.close();
+    }
+  }
+
+  /**
+   * A region of either some bytes, or of the file if they are {@code null}.
+   */
+  private static final class Segment {
+
+    private final byte[] bytes;
+    private final long start;
+    private final long length;
+
+    private Segment(byte[] bytes, long start, long length) {
+      this.bytes = bytes;
+      this.start = start;
+      this.length = length;
+    }
+  }
+}
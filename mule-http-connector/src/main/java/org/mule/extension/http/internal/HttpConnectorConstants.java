@@ -34,6 +34,9 @@ public interface HttpConnectorConstants {
   String ENCODE_URI_PARAMS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.client.encodeUriParams";
   String BASIC_LAX_DECODING_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.basic.laxBase64Decoding";
   String HTTP_ENABLE_PROFILING = SYSTEM_PROPERTY_PREFIX + "http.profiling.enable";
+  String CLIENT_IDLE_EVICTION_TIME_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.requester.clientIdleEvictionTime";
+  String STATIC_RESOURCE_CACHE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.staticResource.cacheSize";
+  String TRACE_PROPAGATION_HEADERS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.tracing.propagationHeaders";
   int DEFAULT_RETRY_ATTEMPTS = 3;
 
 }
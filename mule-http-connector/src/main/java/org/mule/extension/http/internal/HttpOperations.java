@@ -8,11 +8,16 @@ package org.mule.extension.http.internal;
 
 import static org.mule.extension.http.api.error.HttpError.BASIC_AUTHENTICATION;
 import static org.mule.extension.http.api.error.HttpError.SERVER_SECURITY;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
 import static org.mule.runtime.extension.api.annotation.param.MediaType.ANY;
 
 import org.mule.extension.http.api.error.ResourceNotFoundException;
 import org.mule.extension.http.api.listener.HttpBasicAuthenticationFilter;
+import org.mule.extension.http.internal.filter.BasicAuthenticationCache;
 import org.mule.extension.http.internal.filter.BasicUnauthorisedException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.security.SecurityException;
 import org.mule.runtime.api.security.SecurityProviderNotFoundException;
 import org.mule.runtime.api.security.UnknownAuthenticationTypeException;
@@ -23,21 +28,35 @@ import org.mule.runtime.extension.api.exception.ModuleException;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.security.AuthenticationHandler;
 
+import java.util.concurrent.Executor;
+
+import javax.inject.Inject;
+
 /**
  * General HTTP operations that do not required any specific configuration or connection.
  *
  * @since 1.0
  */
-public class HttpOperations {
+public class HttpOperations implements Disposable {
+
+  private final BasicAuthenticationCache authenticationCache = new BasicAuthenticationCache();
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  // created on first use, since most applications don't serve static resources
+  private volatile Scheduler indexingScheduler;
+  private final Executor indexingExecutor = task -> getIndexingScheduler().execute(task);
 
   /**
-   * Authenticates received HTTP requests. Must be used after a listener component.
+   * Authenticates received HTTP requests. Must be used after a listener component. Users whose credentials are rejected are
+   * rejected again without verifying them, if enabled in the filter.
    */
   @Throws(BasicSecurityErrorTypeProvider.class)
   public void basicSecurityFilter(@ParameterGroup(name = "Security Filter") HttpBasicAuthenticationFilter filter,
                                   AuthenticationHandler authenticationHandler) {
     try {
-      filter.authenticate(authenticationHandler);
+      filter.authenticate(authenticationHandler, authenticationCache);
     } catch (BasicUnauthorisedException e) {
       throw new ModuleException(BASIC_AUTHENTICATION, e);
     } catch (SecurityProviderNotFoundException | SecurityException | UnknownAuthenticationTypeException e) {
@@ -46,7 +65,13 @@ public class HttpOperations {
   }
 
   /**
-   * Serves up static content for use with HTTP, using the request path to lookup the resource.
+   * Serves up static content for use with HTTP, using the request path to lookup the resource. If ranges are accepted,
+   * {@code GET} requests with a {@code Range} header get only the ranges requested, and conditional ones get a
+   * {@code 304 Not Modified} if the resource didn't change. Resources are looked up in an index of the base path, kept up to
+   * date as its files change, built in the background on first use. Paths not found in the index are looked up in the file
+   * system, since the index may not be notified yet of the files just created. The status code and headers of the response are
+   * set in the {@link org.mule.extension.http.api.HttpResponseAttributes} of the result, to be used in the response of the
+   * listener.
    *
    * @return the resource defined by the path of an HTTP request
    */
@@ -54,7 +79,28 @@ public class HttpOperations {
   @Throws(LoadStaticResourceErrorTypeProvider.class)
   public Result<?, ?> loadStaticResource(@ParameterGroup(name = "Resource") StaticResourceLoader resourceLoader)
       throws ResourceNotFoundException {
-    return resourceLoader.load();
+    return resourceLoader.load(this, indexingExecutor);
+  }
+
+  private Scheduler getIndexingScheduler() {
+    if (indexingScheduler == null) {
+      synchronized (this) {
+        if (indexingScheduler == null) {
+          indexingScheduler = schedulerService.ioScheduler(config().withName("http.staticResources.indexing"));
+        }
+      }
+    }
+    return indexingScheduler;
+  }
+
+  @Override
+  public synchronized void dispose() {
+    // releases the watch services of the indexes no other operation uses
+    StaticResourceIndex.release(this);
+    if (indexingScheduler != null) {
+      indexingScheduler.stop();
+      indexingScheduler = null;
+    }
   }
 
 }
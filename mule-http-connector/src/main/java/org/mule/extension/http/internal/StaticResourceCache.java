@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal;
+
+import static java.time.Instant.ofEpochMilli;
+import static java.time.ZoneOffset.UTC;
+import static java.time.ZonedDateTime.ofInstant;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+
+import org.mule.runtime.api.metadata.MediaType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.activation.MimetypesFileTypeMap;
+
+/**
+ * Least recently used cache of the contents of the files served by the {@link StaticResourceLoader}, bounded by their total
+ * size. Entries are keyed by the normalized path of the file, and are only used while the file keeps the size and modification
+ * time it had when it was read. The content of files bigger than a quarter of the cache isn't read, so that they are streamed
+ * instead. The content is only read when needed, so that the validators of a file can be checked without reading it.
+ *
+ * @since 1.11
+ */
+public final class StaticResourceCache {
+
+  private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+  private final MimetypesFileTypeMap mimeTypes = new MimetypesFileTypeMap();
+  private final long maxSize;
+  private final long maxEntrySize;
+  private final LinkedHashMap<Path, Resource> resources = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  /**
+   * @param maxSize maximum total size of the cached contents, in bytes. {@code 0} disables the cache.
+   */
+  public StaticResourceCache(long maxSize) {
+    this.maxSize = maxSize;
+    this.maxEntrySize = maxSize / 4;
+  }
+
+  /**
+   * @param path the normalized path of a regular file
+   * @return the file, from the cache if it didn't change since it was read, otherwise without its content
+   * @throws IOException if the file can't be accessed
+   */
+  public Resource get(Path path) throws IOException {
+    return get(path, null);
+  }
+
+  /**
+   * @param path     the normalized path of an encoded variant of a file, such as a compressed one
+   * @param original the file the variant is encoded from
+   * @return the variant, with the media type of the original file
+   * @throws IOException if the variant can't be accessed
+   */
+  public Resource getEncoded(Path path, Resource original) throws IOException {
+    return get(path, original.mediaType);
+  }
+
+  private Resource get(Path path, MediaType mediaType) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    long lastModified = attributes.lastModifiedTime().toMillis();
+    synchronized (this) {
+      Resource cached = resources.get(path);
+      if (cached != null && cached.length == attributes.size() && cached.lastModified == lastModified) {
+        return cached;
+      }
+    }
+    return new Resource(null, mediaType != null ? mediaType : getMediaType(path), attributes.size(), lastModified);
+  }
+
+  /**
+   * Reads the content of a file, unless it's too big.
+   *
+   * @param path     the normalized path of the file
+   * @param resource the file, as returned by {@link #get(Path)}
+   * @return the file with its content, or as it is if it's already read or it's too big
+   * @throws IOException if the file can't be read
+   */
+  public Resource load(Path path, Resource resource) throws IOException {
+    if (resource.hasContent() || resource.length > maxEntrySize) {
+      return resource;
+    }
+
+    byte[] content = Files.readAllBytes(path);
+    Resource loaded = new Resource(content, resource.mediaType, content.length, resource.lastModified);
+    // a file modified while it was read is cached on the following read
+    if (content.length == resource.length) {
+      put(path, loaded);
+    }
+    return loaded;
+  }
+
+  /**
+   * @return the total size of the cached contents, in bytes
+   */
+  public synchronized long getSize() {
+    return size;
+  }
+
+  private synchronized void put(Path path, Resource resource) {
+    Resource replaced = resources.put(path, resource);
+    if (replaced != null) {
+      size -= replaced.content.length;
+    }
+    size += resource.content.length;
+
+    Iterator<Map.Entry<Path, Resource>> leastRecentlyUsed = resources.entrySet().iterator();
+    while (size > maxSize && leastRecentlyUsed.hasNext()) {
+      size -= leastRecentlyUsed.next().getValue().content.length;
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  private MediaType getMediaType(Path path) {
+    String mimeType = mimeTypes.getContentType(path.getFileName().toString());
+    return MediaType.parse(mimeType != null ? mimeType : DEFAULT_MIME_TYPE);
+  }
+
+  /**
+   * The content of a file and its media type, resolved once when the file is read.
+   */
+  public static final class Resource {
+
+    private final byte[] content;
+    private final MediaType mediaType;
+    private final long length;
+    private final long lastModified;
+    private final String entityTag;
+    private final String httpDate;
+
+    private Resource(byte[] content, MediaType mediaType, long length, long lastModified) {
+      this.content = content;
+      this.mediaType = mediaType;
+      this.length = length;
+      this.lastModified = lastModified;
+      this.entityTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+      this.httpDate = RFC_1123_DATE_TIME.format(ofInstant(ofEpochMilli(lastModified), UTC));
+    }
+
+    /**
+     * @return whether the content of the file was read, otherwise it has to be loaded, or streamed from the file if too big
+     */
+    public boolean hasContent() {
+      return content != null;
+    }
+
+    /**
+     * @return the content of the file, shared by every read of the cached file, so it must not be modified. {@code null} if it
+     *         wasn't read.
+     */
+    public byte[] getContent() {
+      return content;
+    }
+
+    /**
+     * @return the size of the file when it was read, in bytes
+     */
+    public long getLength() {
+      return length;
+    }
+
+    public MediaType getMediaType() {
+      return mediaType;
+    }
+
+    /**
+     * @return the modification time of the file when it was read, in milliseconds since the epoch
+     */
+    public long getLastModified() {
+      return lastModified;
+    }
+
+    /**
+     * @return the strong entity tag of the file, made of its size and modification time
+     */
+    public String getEntityTag() {
+      return entityTag;
+    }
+
+    /**
+     * @return the modification time of the file as an HTTP date, for the {@code Last-Modified} header
+     */
+    public String getHttpDate() {
+      return httpDate;
+    }
+  }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal;
+
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+
+/**
+ * Index of the files under the base path of the {@link StaticResourceLoader}, built on first use and kept up to date with a
+ * {@link WatchService}, so that request paths are resolved with a lookup instead of accessing the file system. Changes are
+ * applied before each lookup, and the whole tree is indexed again if the watch service loses events. Since events may be
+ * delivered late, the index only resolves paths: the files found are still described from the file system when served, and the
+ * paths that aren't found are looked up in it, in case they were just created.
+ * <p>
+ * Indexes are shared by every owner with the same base path, and closed once every owner released them. They are built in the
+ * background, the file system being accessed meanwhile, and only for a few base paths, so that base paths resolved from
+ * expressions, such as one for each tenant, don't keep a watch service each.
+ *
+ * @since 1.11
+ */
+public final class StaticResourceIndex {
+
+  private static final Logger LOGGER = getLogger(StaticResourceIndex.class);
+  private static final String SEPARATOR = "/";
+  private static final String CURRENT = ".";
+  private static final String PARENT = "..";
+  /**
+   * The maximum number of base paths indexed, the following ones are always looked up in the file system.
+   */
+  static final int MAX_INDEXES = 16;
+  private static final Map<String, Holder> INDEXES = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final Path basePath;
+  private final WatchService watchService;
+  private volatile Map<String, Entry> entries;
+
+  private StaticResourceIndex(String name, Path basePath) throws IOException {
+    this.name = name;
+    this.basePath = basePath;
+    this.watchService = basePath.getFileSystem().newWatchService();
+    try {
+      this.entries = index(basePath, new ConcurrentHashMap<>());
+    } catch (IOException | RuntimeException e) {
+      watchService.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @param basePath         the base path of the resources
+   * @param owner            the owner of the index, which has to {@link #release(Object) release} it once it's no longer used
+   * @param indexingExecutor used to build the index, so that its tree isn't walked by a request
+   * @return the index of the base path, or {@code null} if it's not indexed yet or it can't be, so that the file system has to
+   *         be accessed
+   */
+  public static StaticResourceIndex of(String basePath, Object owner, Executor indexingExecutor) {
+    Holder holder = INDEXES.get(basePath);
+    if (holder != null && holder.owners.contains(owner)) {
+      return holder.index;
+    }
+
+    Path path = Paths.get(basePath).toAbsolutePath().normalize();
+    if (holder == null && !Files.isDirectory(path)) {
+      // indexed once it's created
+      return null;
+    }
+    Holder created;
+    synchronized (INDEXES) {
+      holder = INDEXES.get(basePath);
+      if (holder != null) {
+        holder.owners.add(owner);
+        return holder.index;
+      }
+      if (INDEXES.size() >= MAX_INDEXES) {
+        return null;
+      }
+      created = new Holder(owner);
+      INDEXES.put(basePath, created);
+    }
+
+    try {
+      indexingExecutor.execute(() -> {
+        Optional<StaticResourceIndex> index = create(basePath, path);
+        synchronized (INDEXES) {
+          if (INDEXES.get(basePath) == created) {
+            created.index = index.orElse(null);
+            return;
+          }
+        }
+        // released while it was built
+        index.ifPresent(StaticResourceIndex::close);
+      });
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Static resources under '{}' can't be indexed, the executor rejected it.", path, e);
+      INDEXES.remove(basePath, created);
+    }
+    // already indexed if the executor ran it right away
+    return created.index;
+  }
+
+  private static Optional<StaticResourceIndex> create(String name, Path path) {
+    try {
+      return Optional.of(new StaticResourceIndex(name, path));
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.warn("Static resources under '{}' can't be indexed, they will be looked up for every request.", path, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Releases the indexes of the owner, closing the ones no other owner uses, so that their watch services are released.
+   *
+   * @param owner the owner the indexes were requested by
+   */
+  public static void release(Object owner) {
+    synchronized (INDEXES) {
+      INDEXES.values().removeIf(holder -> {
+        if (!holder.owners.remove(owner) || !holder.owners.isEmpty()) {
+          return false;
+        }
+        if (holder.index != null) {
+          holder.index.close();
+        }
+        return true;
+      });
+    }
+  }
+
+  /**
+   * @param path        the requested path, relative to the base path
+   * @param defaultFile the file served for directories
+   * @return the file at the path, or the default file if it's a directory. {@code null} if there's no such file or the path
+   *         is outside of the base path.
+   */
+  public Entry find(String path, String defaultFile) {
+    refresh();
+    String key = normalize(path);
+    Entry entry = key != null ? entries.get(key) : null;
+    if (entry != null && entry.directory) {
+      String defaultKey = normalize(key + SEPARATOR + defaultFile);
+      entry = defaultKey != null ? entries.get(defaultKey) : null;
+    }
+    return entry == null || entry.directory ? null : entry;
+  }
+
+  /**
+   * @param entry     a file of the index
+   * @param extension the extension appended to the name of the file by the variant, such as {@code .gz}
+   * @return the variant of the file, or {@code null} if there's none
+   */
+  public Entry findVariant(Entry entry, String extension) {
+    Entry variant = entries.get(entry.key + extension);
+    return variant == null || variant.directory ? null : variant;
+  }
+
+  /**
+   * @return the key of the path, without empty or dot segments, or {@code null} if it goes above the base path
+   */
+  static String normalize(String path) {
+    StringBuilder key = new StringBuilder(path.length() + 1);
+    int start = 0;
+    while (start <= path.length()) {
+      int end = path.indexOf(SEPARATOR, start);
+      if (end < 0) {
+        end = path.length();
+      }
+      String segment = path.substring(start, end);
+      if (PARENT.equals(segment)) {
+        if (key.length() == 0) {
+          return null;
+        }
+        key.setLength(key.lastIndexOf(SEPARATOR));
+      } else if (!segment.isEmpty() && !CURRENT.equals(segment)) {
+        key.append(SEPARATOR).append(segment);
+      }
+      start = end + 1;
+    }
+    return key.length() == 0 ? SEPARATOR : key.toString();
+  }
+
+  private String key(Path path) {
+    StringBuilder key = new StringBuilder();
+    for (Path name : basePath.relativize(path)) {
+      if (!name.toString().isEmpty()) {
+        key.append(SEPARATOR).append(name);
+      }
+    }
+    return key.length() == 0 ? SEPARATOR : key.toString();
+  }
+
+  private Map<String, Entry> index(Path directory, Map<String, Entry> entries) throws IOException {
+    Files.walkFileTree(directory, EnumSet.of(FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+        // registered before listing it, so that files created meanwhile are either listed or notified
+        dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        String key = key(dir);
+        entries.put(key, new Entry(key, dir, true));
+        return CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+        if (attributes.isRegularFile()) {
+          String key = key(file);
+          entries.put(key, new Entry(key, file, false));
+        }
+        return CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException e) {
+        // unreadable files and link cycles are not served
+        LOGGER.debug("Static resource '{}' could not be indexed.", file, e);
+        return CONTINUE;
+      }
+    });
+    return entries;
+  }
+
+  private void refresh() {
+    WatchKey key;
+    try {
+      key = watchService.poll();
+    } catch (ClosedWatchServiceException e) {
+      // disposed, the index is left as it is
+      return;
+    }
+    if (key == null) {
+      return;
+    }
+
+    synchronized (this) {
+      try {
+        boolean overflow = false;
+        while (key != null) {
+          Path directory = (Path) key.watchable();
+          for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+              overflow = true;
+            } else if (!overflow) {
+              update(directory.resolve((Path) event.context()));
+            }
+          }
+          if (!key.reset()) {
+            remove(key(directory));
+          }
+          key = watchService.poll();
+        }
+        if (overflow) {
+          entries = index(basePath, new ConcurrentHashMap<>());
+        }
+      } catch (IOException | ClosedWatchServiceException e) {
+        LOGGER.warn("Static resources under '{}' could not be indexed again, the index is discarded.", basePath, e);
+        close();
+        synchronized (INDEXES) {
+          Holder holder = INDEXES.get(name);
+          if (holder != null && holder.index == this) {
+            INDEXES.remove(name);
+          }
+        }
+      }
+    }
+  }
+
+  private void update(Path path) throws IOException {
+    String key = key(path);
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (NoSuchFileException e) {
+      remove(key);
+      return;
+    }
+
+    Entry previous = entries.get(key);
+    if (attributes.isDirectory()) {
+      if (previous == null || !previous.directory) {
+        remove(key);
+        index(path, entries);
+      }
+    } else if (attributes.isRegularFile()) {
+      if (previous != null && previous.directory) {
+        remove(key);
+      }
+      entries.put(key, new Entry(key, path, false));
+    } else {
+      remove(key);
+    }
+  }
+
+  private void remove(String key) {
+    entries.remove(key);
+    String prefix = key + SEPARATOR;
+    entries.keySet().removeIf(child -> child.startsWith(prefix));
+  }
+
+  private void close() {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      LOGGER.debug("The watch service of '{}' could not be closed.", basePath, e);
+    }
+  }
+
+  /**
+   * The index of a base path, along with its owners. The index is {@code null} while it's built, or if it can't be.
+   */
+  private static final class Holder {
+
+    private final Set<Object> owners = newKeySet();
+    private volatile StaticResourceIndex index;
+
+    private Holder(Object owner) {
+      owners.add(owner);
+    }
+  }
+
+  /**
+   * A file or directory of the index.
+   */
+  public static final class Entry {
+
+    private final String key;
+    private final Path path;
+    private final boolean directory;
+
+    private Entry(String key, Path path, boolean directory) {
+      this.key = key;
+      this.path = path;
+      this.directory = directory;
+    }
+
+    /**
+     * @return the normalized path of the file
+     */
+    public Path getPath() {
+      return path;
+    }
+  }
+}
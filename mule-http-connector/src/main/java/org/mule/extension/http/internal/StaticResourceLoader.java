@@ -6,32 +6,57 @@
  */
 package org.mule.extension.http.internal;
 
+import static java.lang.Long.getLong;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Locale.ROOT;
+import static java.util.UUID.randomUUID;
 import static org.apache.commons.lang3.StringEscapeUtils.escapeHtml4;
 import static org.apache.commons.lang3.StringUtils.removeEnd;
+import static org.apache.commons.lang3.StringUtils.removeStart;
+import static org.mule.extension.http.api.HttpHeaders.Names.ACCEPT_ENCODING;
+import static org.mule.extension.http.api.HttpHeaders.Names.ACCEPT_RANGES;
+import static org.mule.extension.http.api.HttpHeaders.Names.CONTENT_ENCODING;
+import static org.mule.extension.http.api.HttpHeaders.Names.CONTENT_RANGE;
+import static org.mule.extension.http.api.HttpHeaders.Names.CONTENT_TYPE;
+import static org.mule.extension.http.api.HttpHeaders.Names.ETAG;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_MODIFIED_SINCE;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_NONE_MATCH;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_RANGE;
+import static org.mule.extension.http.api.HttpHeaders.Names.LAST_MODIFIED;
+import static org.mule.extension.http.api.HttpHeaders.Names.RANGE;
+import static org.mule.extension.http.api.HttpHeaders.Names.VARY;
+import static org.mule.extension.http.api.HttpHeaders.Values.BYTES;
+import static org.mule.extension.http.api.HttpHeaders.Values.GZIP;
 import static org.mule.extension.http.api.error.HttpError.NOT_FOUND;
+import static org.mule.extension.http.internal.HttpConnectorConstants.STATIC_RESOURCE_CACHE_SIZE_PROPERTY;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.NOT_MODIFIED;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.OK;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.extension.http.api.HttpRequestAttributes;
+import org.mule.extension.http.api.HttpResponseAttributes;
 import org.mule.extension.http.api.error.ResourceNotFoundException;
+import org.mule.extension.http.internal.StaticResourceCache.Resource;
 import org.mule.runtime.api.i18n.I18nMessage;
 import org.mule.runtime.api.metadata.MediaType;
-import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.runtime.api.util.MultiMap;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-
-import javax.activation.MimetypesFileTypeMap;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 
@@ -40,8 +65,20 @@ public class StaticResourceLoader {
   private static final Logger LOGGER = getLogger(StaticResourceLoader.class);
   private static final String ANY_PATH = "/*";
   private static final String ROOT_PATH = "/";
-  private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
-  private final MimetypesFileTypeMap mimeTypes = new MimetypesFileTypeMap();
+  private static final String GET = "GET";
+  private static final String HEAD = "HEAD";
+  private static final String WEAK_PREFIX = "W/";
+  private static final String X_GZIP = "x-gzip";
+  private static final String ANY_ENCODING = "*";
+  private static final String QUALITY_PREFIX = "q=";
+  private static final String GZIP_EXTENSION = ".gz";
+  private static final String MULTIPART_BYTERANGES = "multipart/byteranges";
+  private static final int PARTIAL_CONTENT = 206;
+  private static final int RANGE_NOT_SATISFIABLE = 416;
+  private static final long DEFAULT_CACHE_SIZE = 32 * 1024 * 1024;
+  // shared by every execution, since a loader is created for each one
+  private static final StaticResourceCache CACHE =
+      new StaticResourceCache(getLong(STATIC_RESOURCE_CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE));
 
   /**
    * The resource base from where documents are served up. For example: /Users/maxthemule/resources. Inputs should be validated
@@ -65,7 +102,39 @@ public class StaticResourceLoader {
   @Optional(defaultValue = "#[attributes]")
   private HttpRequestAttributes attributes;
 
-  public Result load() throws ResourceNotFoundException {
+  /**
+   * Whether {@code GET} requests with a {@code Range} header are answered with only the ranges requested, and conditional
+   * requests with a {@code 304 Not Modified} if the resource didn't change. The {@code 206 Partial Content},
+   * {@code 304 Not Modified} or {@code 416 Range Not Satisfiable} status and the {@code Content-Range} header of those responses
+   * are only set in the attributes of the result, so the listener has to send them, with
+   * {@code statusCode="#[attributes.statusCode]"} and {@code headers="#[attributes.headers]"} in its response. Otherwise, clients
+   * would take a range or an empty body for the whole resource, which is why {@code Range}, {@code If-None-Match} and
+   * {@code If-Modified-Since} headers are ignored by default.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  private boolean acceptRanges;
+
+  /**
+   * Whether a {@code .gz} file next to the requested one is served instead of it when the request accepts a {@code gzip}
+   * encoding. The {@code Content-Encoding} header of those responses is only set in the attributes of the result, so the
+   * listener has to send it, with {@code headers="#[attributes.headers]"} in its response. Otherwise, clients would take the
+   * compressed bytes for the resource itself, which is why those files are not served by default.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  private boolean servePrecompressed;
+
+  /**
+   * @param indexOwner       the owner of the index of the base path, which releases it once disposed
+   * @param indexingExecutor used to index the base path in the background
+   * @return the resource defined by the path of the request
+   */
+  public Result load(Object indexOwner, Executor indexingExecutor) throws ResourceNotFoundException {
     // TODO: MULE-10163 - Analyse removing the static resource loader in favor of file read
     checkArgument(attributes != null, "There are no HTTP attributes defined.");
     String path = attributes.getRequestPath();
@@ -84,6 +153,75 @@ public class StaticResourceLoader {
       path = path.substring(contextPath.length());
     }
 
+    try {
+      Path resourcePath;
+      Path encodedPath;
+      MultiMap<String, String> headers = new MultiMap<>();
+      if (acceptRanges) {
+        headers.put(ACCEPT_RANGES, BYTES);
+      }
+      if (servePrecompressed) {
+        headers.put(VARY, ACCEPT_ENCODING);
+      }
+      boolean gzip = servePrecompressed && acceptsGzip(attributes.getHeaders().getAll(ACCEPT_ENCODING));
+
+      StaticResourceIndex index = StaticResourceIndex.of(resourceBasePath, indexOwner, indexingExecutor);
+      StaticResourceIndex.Entry entry = index != null ? index.find(path, defaultFile) : null;
+      if (entry != null) {
+        // resolved without accessing the file system
+        resourcePath = entry.getPath();
+        StaticResourceIndex.Entry variant = gzip ? index.findVariant(entry, GZIP_EXTENSION) : null;
+        encodedPath = variant != null ? variant.getPath() : null;
+      } else {
+        // not indexed, or created after the last change notified to the index
+        resourcePath = locate(path);
+        encodedPath = gzip ? resourcePath.resolveSibling(resourcePath.getFileName() + GZIP_EXTENSION) : null;
+      }
+
+      // described from the file, since the index may not be notified of its last change yet
+      Resource resource = CACHE.get(resourcePath);
+      Resource encoded = encodedPath != null ? getEncoded(encodedPath, resource) : null;
+      if (encoded != null) {
+        resourcePath = encodedPath;
+        resource = encoded;
+        headers.put(CONTENT_ENCODING, GZIP);
+      }
+      headers.put(ETAG, resource.getEntityTag());
+      headers.put(LAST_MODIFIED, resource.getHttpDate());
+
+      if (isNotModified(resource)) {
+        // answered before reading the file, the client already has it
+        return Result.builder().output(new byte[0]).mediaType(resource.getMediaType())
+            .attributes(new HttpResponseAttributes(NOT_MODIFIED.getStatusCode(), NOT_MODIFIED.getReasonPhrase(), headers))
+            .build();
+      }
+      resource = CACHE.load(resourcePath, resource);
+
+      List<ByteRange> ranges = getRequestedRanges(resource);
+      if (ranges != null) {
+        return getPartialContent(resourcePath, resource, ranges, headers);
+      }
+      HttpResponseAttributes responseAttributes = new HttpResponseAttributes(OK.getStatusCode(), OK.getReasonPhrase(), headers);
+      if (resource.hasContent()) {
+        return Result.builder().output(resource.getContent()).mediaType(resource.getMediaType())
+            .attributes(responseAttributes).build();
+      } else {
+        // streamed from the file with its length, so that the response is sent with a Content-Length instead of buffering it
+        return Result.builder().output(Files.newInputStream(resourcePath)).length(resource.getLength())
+            .mediaType(resource.getMediaType()).attributes(responseAttributes).build();
+      }
+    } catch (IOException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("The file: '{}' was not found.", resourceBasePath + path);
+      }
+      throw new ResourceNotFoundException(e, NOT_FOUND, getExceptionMessage(path));
+    }
+  }
+
+  /**
+   * @return the normalized path of the file to serve, looked up in the file system because the index didn't find it
+   */
+  private Path locate(String path) throws ResourceNotFoundException {
     Path normalizedPath = Paths.get(resourceBasePath + path).normalize();
     if (!normalizedPath.startsWith(resourceBasePath)) {
       LOGGER.debug("Requested resource is not within base path limits.");
@@ -91,8 +229,6 @@ public class StaticResourceLoader {
     }
 
     File file = normalizedPath.toFile();
-    Result result;
-
     if (file.isDirectory()) {
       if (!path.endsWith("/")) {
         // Just fix the path, don't force a redirect
@@ -100,31 +236,154 @@ public class StaticResourceLoader {
       }
       file = new File(resourceBasePath + path + defaultFile);
     }
+    return file.toPath().normalize();
+  }
+
+  /**
+   * @return the ranges requested, or {@code null} if the whole resource has to be served
+   */
+  private List<ByteRange> getRequestedRanges(Resource resource) {
+    String range = attributes.getHeaders().get(RANGE);
+    if (!acceptRanges || range == null || !GET.equalsIgnoreCase(attributes.getMethod()) || !matchesIfRange(resource)) {
+      return null;
+    }
+    return ByteRange.parse(range, resource.getLength()).orElse(null);
+  }
 
-    InputStream in = null;
+  /**
+   * @return the precompressed variant of the resource, or {@code null} if there's none up to date
+   */
+  private Resource getEncoded(Path encodedPath, Resource resource) {
+    if (!Files.isRegularFile(encodedPath)) {
+      return null;
+    }
     try {
-      in = new FileInputStream(file);
+      Resource encoded = CACHE.getEncoded(encodedPath, resource);
+      // an older variant was compressed from a previous version of the file
+      return encoded.getLastModified() >= resource.getLastModified() ? encoded : null;
+    } catch (IOException e) {
+      LOGGER.debug("The compressed variant '{}' could not be read.", encodedPath, e);
+      return null;
+    }
+  }
 
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      IOUtils.copyLarge(in, baos);
+  /**
+   * @param acceptEncoding the values of the {@code Accept-Encoding} headers of the request
+   * @return whether the request accepts a {@code gzip} encoded response
+   */
+  static boolean acceptsGzip(List<String> acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean gzip = null;
+    boolean any = false;
+    for (String value : acceptEncoding) {
+      for (String coding : value.split(",")) {
+        String[] parameters = coding.split(";");
+        String name = parameters[0].trim().toLowerCase(ROOT);
+        boolean accepted = true;
+        for (int i = 1; i < parameters.length; ++i) {
+          String parameter = parameters[i].trim();
+          if (parameter.startsWith(QUALITY_PREFIX)) {
+            accepted = parseQuality(parameter.substring(QUALITY_PREFIX.length())) > 0;
+          }
+        }
+        if (GZIP.equals(name) || X_GZIP.equals(name)) {
+          gzip = accepted;
+        } else if (ANY_ENCODING.equals(name)) {
+          any = accepted;
+        }
+      }
+    }
+    // an explicit gzip, even if not accepted, prevails over the wildcard
+    return gzip != null ? gzip : any;
+  }
 
-      byte[] buffer = baos.toByteArray();
+  private static double parseQuality(String quality) {
+    try {
+      return Double.parseDouble(quality.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private boolean isNotModified(Resource resource) {
+    String method = attributes.getMethod();
+    if (!acceptRanges || !GET.equalsIgnoreCase(method) && !HEAD.equalsIgnoreCase(method)) {
+      return false;
+    }
 
-      String mimeType = mimeTypes.getContentType(file);
-      if (mimeType == null) {
-        mimeType = DEFAULT_MIME_TYPE;
+    List<String> ifNoneMatch = attributes.getHeaders().getAll(IF_NONE_MATCH);
+    if (ifNoneMatch != null && !ifNoneMatch.isEmpty()) {
+      // If-Modified-Since is ignored along with If-None-Match, whose tags are compared regardless of being weak
+      for (String tags : ifNoneMatch) {
+        for (String tag : tags.split(",")) {
+          String trimmed = tag.trim();
+          if ("*".equals(trimmed) || removeStart(trimmed, WEAK_PREFIX).equals(resource.getEntityTag())) {
+            return true;
+          }
+        }
       }
+      return false;
+    }
 
-      result = Result.builder().output(buffer).mediaType(MediaType.parse(mimeType)).build();
-      return result;
-    } catch (IOException e) {
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("The file: '{}' was not found.", resourceBasePath + path);
+    String ifModifiedSince = attributes.getHeaders().get(IF_MODIFIED_SINCE);
+    Long since = ifModifiedSince != null ? parseHttpDate(ifModifiedSince) : null;
+    return since != null && resource.getLastModified() / 1000 <= since;
+  }
+
+  private boolean matchesIfRange(Resource resource) {
+    String ifRange = attributes.getHeaders().get(IF_RANGE);
+    if (ifRange == null) {
+      return true;
+    }
+    // a range of a different version of the resource is useless, the whole resource is served instead
+    String value = ifRange.trim();
+    if (value.startsWith("\"") || value.startsWith(WEAK_PREFIX)) {
+      // weak tags never match, ranges need the exact same bytes
+      return value.equals(resource.getEntityTag());
+    }
+    Long date = parseHttpDate(value);
+    return date != null && date == resource.getLastModified() / 1000;
+  }
+
+  /**
+   * @return the seconds since the epoch of the date, or {@code null} if it's not a valid HTTP date
+   */
+  private static Long parseHttpDate(String value) {
+    try {
+      return ZonedDateTime.parse(value.trim(), RFC_1123_DATE_TIME).toEpochSecond();
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private Result getPartialContent(Path path, Resource resource, List<ByteRange> ranges, MultiMap<String, String> headers) {
+    if (ranges.isEmpty()) {
+      headers.put(CONTENT_RANGE, BYTES + " */" + resource.getLength());
+      return Result.builder().output(new byte[0]).mediaType(resource.getMediaType())
+          .attributes(new HttpResponseAttributes(RANGE_NOT_SATISFIABLE, "Range Not Satisfiable", headers)).build();
+    }
+
+    ByteRangeInputStream body = new ByteRangeInputStream(path, resource.getContent());
+    MediaType mediaType;
+    if (ranges.size() == 1) {
+      body.addRange(ranges.get(0));
+      headers.put(CONTENT_RANGE, ranges.get(0).toContentRange(resource.getLength()));
+      mediaType = resource.getMediaType();
+    } else {
+      String boundary = randomUUID().toString().replace("-", "");
+      for (int i = 0; i < ranges.size(); ++i) {
+        String partHeaders = (i == 0 ? "" : "\r\n") + "--" + boundary + "\r\n"
+            + CONTENT_TYPE + ": " + resource.getMediaType().toRfcString() + "\r\n"
+            + CONTENT_RANGE + ": " + ranges.get(i).toContentRange(resource.getLength()) + "\r\n\r\n";
+        body.addBytes(partHeaders.getBytes(US_ASCII)).addRange(ranges.get(i));
       }
-      throw new ResourceNotFoundException(e, NOT_FOUND, getExceptionMessage(path));
-    } finally {
-      IOUtils.closeQuietly(in);
+      body.addBytes(("\r\n--" + boundary + "--\r\n").getBytes(US_ASCII));
+      mediaType = MediaType.parse(MULTIPART_BYTERANGES + "; boundary=" + boundary);
     }
+    return Result.builder().output(body).length(body.getLength()).mediaType(mediaType)
+        .attributes(new HttpResponseAttributes(PARTIAL_CONTENT, "Partial Content", headers)).build();
   }
 
   private I18nMessage getExceptionMessage(String path) {
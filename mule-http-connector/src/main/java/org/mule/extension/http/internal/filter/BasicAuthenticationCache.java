@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.filter;
+
+import static java.lang.System.nanoTime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.extension.http.api.listener.HttpBasicAuthenticationFilter;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Cache of the credentials rejected by the {@link HttpBasicAuthenticationFilter} for each client address, so that the security
+ * providers aren't called again when a client keeps sending them. They are keyed by the password as well as the user, so that
+ * the failures of a client never reject the right password, nor the requests of other clients. Credentials are only kept as a
+ * keyed hash, with a random key generated for each cache, so that they can't be recovered from memory. It's bounded by the
+ * maximum size, evicting the least recently used credentials.
+ * <p>
+ * Successful verifications aren't cached, since the {@link org.mule.runtime.extension.api.security.AuthenticationHandler} can
+ * only set the authentication of the event by calling the security providers.
+ *
+ * @since 1.11
+ */
+public final class BasicAuthenticationCache {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int KEY_LENGTH = 32;
+
+  private final Mac mac;
+  private final LinkedHashMap<ByteBuffer, Long> rejected = new LinkedHashMap<>(16, 0.75f, true);
+
+  public BasicAuthenticationCache() {
+    byte[] key = new byte[KEY_LENGTH];
+    new SecureRandom().nextBytes(key);
+    try {
+      mac = Mac.getInstance(ALGORITHM);
+      mac.init(new SecretKeySpec(key, ALGORITHM));
+    } catch (GeneralSecurityException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not create the credentials cache"), e);
+    }
+  }
+
+  /**
+   * @param credentials       the decoded user and password of the {@code Authorization} header
+   * @param clientAddress     the address of the client that sent the header
+   * @param securityProviders the security providers that verify the header
+   * @return the key of the verifications of the credentials sent by the client to the providers
+   */
+  public ByteBuffer hash(String credentials, String clientAddress, List<String> securityProviders) {
+    byte[] hash;
+    synchronized (mac) {
+      mac.update(credentials.getBytes(UTF_8));
+      mac.update((byte) 0);
+      mac.update(clientAddress.getBytes(UTF_8));
+      for (String securityProvider : securityProviders) {
+        mac.update((byte) 0);
+        mac.update(securityProvider.getBytes(UTF_8));
+      }
+      hash = mac.doFinal();
+    }
+    return ByteBuffer.wrap(hash);
+  }
+
+  /**
+   * @param key the hash of the credentials
+   * @param ttl the time a failure is valid for, in nanoseconds
+   * @return whether the verification of the credentials failed within the TTL
+   */
+  public synchronized boolean isRejected(ByteBuffer key, long ttl) {
+    Long time = rejected.get(key);
+    if (time == null) {
+      return false;
+    }
+    if (nanoTime() - time < ttl) {
+      return true;
+    }
+    rejected.remove(key);
+    return false;
+  }
+
+  /**
+   * @param key     the hash of the credentials
+   * @param maxSize the maximum number of credentials kept
+   */
+  public synchronized void rejected(ByteBuffer key, int maxSize) {
+    rejected.put(key, nanoTime());
+    Iterator<ByteBuffer> leastRecentlyUsed = rejected.keySet().iterator();
+    while (rejected.size() > maxSize && leastRecentlyUsed.hasNext()) {
+      leastRecentlyUsed.next();
+      leastRecentlyUsed.remove();
+    }
+  }
+}
@@ -19,6 +19,7 @@ import static org.mule.extension.http.internal.HttpConnectorConstants.RESPONSE;
 import static org.mule.extension.http.internal.listener.HttpRequestToResult.transform;
 import static org.mule.extension.http.internal.listener.profiling.tracing.HttpListenerCurrentSpanCustomizer.getHttpListenerCurrentSpanCustomizer;
 import static org.mule.extension.http.internal.request.EmptyDistributedTraceContextManager.getDistributedTraceContextManager;
+import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.getTracePropagationHeaders;
 import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.addStatusCodeAttribute;
 import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.updateServerSpanStatus;
 import static org.mule.runtime.api.component.ComponentIdentifier.builder;
@@ -48,6 +49,7 @@ import org.mule.extension.http.api.listener.server.HttpListenerConfig;
 import org.mule.extension.http.api.streaming.HttpStreamingType;
 import org.mule.extension.http.internal.HttpMetadataResolver;
 import org.mule.extension.http.internal.listener.intercepting.InterceptingException;
+import org.mule.extension.http.internal.listener.profiling.tracing.HttpListenerCurrentSpanCustomizer.ListenerSpanAttributes;
 import org.mule.extension.http.internal.listener.server.ModuleRequestHandler;
 import org.mule.runtime.api.component.ComponentIdentifier;
 import org.mule.runtime.api.connection.ConnectionProvider;
@@ -208,6 +210,7 @@ public class HttpListener extends Source<InputStream, HttpRequestAttributes> {
   private boolean deferredResponse = false;
 
   private HttpServer server;
+  private ListenerSpanAttributes spanAttributes;
   private HttpListenerResponseSender responseSender;
   private ListenerPath listenerPath;
   private RequestHandlerManager requestHandlerManager;
@@ -360,6 +363,7 @@ public class HttpListener extends Source<InputStream, HttpRequestAttributes> {
   public void onStart(SourceCallback<InputStream, HttpRequestAttributes> sourceCallback) throws MuleException {
     server = serverProvider.connect();
     resolveFullPath();
+    spanAttributes = new ListenerSpanAttributes(server.getServerAddress().getIp(), server.getServerAddress().getPort());
 
     responseSenderScheduler = schedulerService.ioScheduler(config().withName("response-sender-io"));
     responseFactory = new HttpResponseFactory(responseStreamingMode, transformationService, this::isContextStopping);
@@ -472,10 +476,9 @@ public class HttpListener extends Source<InputStream, HttpRequestAttributes> {
           if (forwardCompatibilityHelper.isPresent()) {
             DistributedTraceContextManager distributedTraceContextManager =
                 forwardCompatibilityHelper.get().getDistributedTraceContextManager(context);
-            distributedTraceContextManager.setRemoteTraceContextMap(headers);
-            getHttpListenerCurrentSpanCustomizer(result.getAttributes().get(), server.getServerAddress().getIp(),
-                                                 server.getServerAddress().getPort())
-                                                     .customizeSpan(distributedTraceContextManager);
+            distributedTraceContextManager.setRemoteTraceContextMap(getTracePropagationHeaders(headers));
+            getHttpListenerCurrentSpanCustomizer(result.getAttributes().get(), spanAttributes)
+                .customizeSpan(distributedTraceContextManager);
           }
 
           sourceCallback.handle(result, context);
@@ -9,6 +9,9 @@ package org.mule.extension.http.internal.listener.profiling.tracing;
 import static java.lang.String.valueOf;
 
 import static com.google.common.net.HttpHeaders.USER_AGENT;
+import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.isStandardMethod;
+import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.toUpperCaseMethod;
+import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.toUpperCaseScheme;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.extension.http.api.HttpRequestAttributes;
@@ -17,6 +20,8 @@ import org.mule.sdk.api.runtime.source.DistributedTraceContextManager;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 
@@ -38,19 +43,28 @@ public class HttpListenerCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
   private static final String SPAN_KIND_NAME = "SERVER";
 
   private final HttpRequestAttributes attributes;
-  private final String host;
-  private final int port;
+  private final ListenerSpanAttributes listenerAttributes;
 
-  private HttpListenerCurrentSpanCustomizer(HttpRequestAttributes attributes, String host, int port) {
+  private HttpListenerCurrentSpanCustomizer(HttpRequestAttributes attributes, ListenerSpanAttributes listenerAttributes) {
     this.attributes = attributes;
-    this.host = host;
-    this.port = port;
+    this.listenerAttributes = listenerAttributes;
   }
 
   public static HttpCurrentSpanCustomizer getHttpListenerCurrentSpanCustomizer(HttpRequestAttributes attributes,
                                                                                String host,
                                                                                int port) {
-    return new HttpListenerCurrentSpanCustomizer(attributes, host, port);
+    return new HttpListenerCurrentSpanCustomizer(attributes, new ListenerSpanAttributes(host, port));
+  }
+
+  /**
+   * @param attributes         the attributes of the request
+   * @param listenerAttributes the attributes of the listener that received it, resolved when it started
+   * @return a customizer of the span of the request
+   * @since 1.11
+   */
+  public static HttpCurrentSpanCustomizer getHttpListenerCurrentSpanCustomizer(HttpRequestAttributes attributes,
+                                                                               ListenerSpanAttributes listenerAttributes) {
+    return new HttpListenerCurrentSpanCustomizer(attributes, listenerAttributes);
   }
 
   @Override
@@ -59,8 +73,8 @@ public class HttpListenerCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
 
     try {
       distributedTraceContextManager.addCurrentSpanAttribute(HTTP_TARGET, attributes.getListenerPath());
-      distributedTraceContextManager.addCurrentSpanAttribute(NET_HOST_NAME, host);
-      distributedTraceContextManager.addCurrentSpanAttribute(NET_HOST_PORT, valueOf(getURI().getPort()));
+      distributedTraceContextManager.addCurrentSpanAttribute(NET_HOST_NAME, listenerAttributes.host);
+      distributedTraceContextManager.addCurrentSpanAttribute(NET_HOST_PORT, listenerAttributes.portValue);
       distributedTraceContextManager.addCurrentSpanAttribute(HTTP_SCHEME, attributes.getScheme());
       distributedTraceContextManager.addCurrentSpanAttribute(HTTP_ROUTE, attributes.getListenerPath());
       String userAgent = attributes.getHeaders().get(USER_AGENT);
@@ -76,12 +90,12 @@ public class HttpListenerCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
 
   @Override
   public String getProtocol() {
-    return attributes.getScheme().toUpperCase();
+    return toUpperCaseScheme(attributes.getScheme());
   }
 
   @Override
   public String getMethod() {
-    return attributes.getMethod().toUpperCase();
+    return toUpperCaseMethod(attributes.getMethod());
   }
 
   @Override
@@ -99,7 +113,8 @@ public class HttpListenerCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
 
   @Override
   public URI getURI() throws URISyntaxException {
-    return new URI(attributes.getScheme(), null, host, port, attributes.getListenerPath(), null, null);
+    return new URI(attributes.getScheme(), null, listenerAttributes.host, listenerAttributes.port, attributes.getListenerPath(),
+                   null, null);
   }
 
   @Override
@@ -109,6 +124,43 @@ public class HttpListenerCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
 
   @Override
   protected String getSpanName() {
-    return attributes.getMethod() + " " + attributes.getListenerPath();
+    return listenerAttributes.getSpanName(attributes.getMethod(), attributes.getListenerPath());
+  }
+
+  /**
+   * The span attributes of a listener that are the same for every request it receives, resolved once so that they aren't built
+   * again for every span.
+   *
+   * @since 1.11
+   */
+  public static final class ListenerSpanAttributes {
+
+    private final String host;
+    private final int port;
+    private final String portValue;
+    // only for the standard methods, so that requests with arbitrary methods can't make it grow
+    private final Map<String, String> spanNames = new ConcurrentHashMap<>();
+
+    /**
+     * @param host the host the listener is bound to
+     * @param port the port the listener is bound to
+     */
+    public ListenerSpanAttributes(String host, int port) {
+      this.host = host;
+      this.port = port;
+      this.portValue = valueOf(port);
+    }
+
+    private String getSpanName(String method, String listenerPath) {
+      if (isStandardMethod(method)) {
+        String cached = spanNames.get(method);
+        if (cached == null) {
+          cached = method + " " + listenerPath;
+          spanNames.put(method, cached);
+        }
+        return cached;
+      }
+      return method + " " + listenerPath;
+    }
   }
 }
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static java.lang.Character.isWhitespace;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.ROOT;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A digest challenge of a server, as sent in a {@code WWW-Authenticate} header, kept to authenticate the following requests
+ * preemptively. Each request is authenticated with the next nonce count and a new client nonce, so that the server can tell them
+ * apart. Only the {@code MD5} and {@code SHA-256} algorithms, their session variants, and the {@code auth} quality of protection
+ * are supported, since {@code auth-int} needs the body of the request.
+ *
+ * @since 1.11
+ */
+public final class DigestChallenge {
+
+  private static final String DIGEST = "digest";
+  private static final String AUTH = "auth";
+  private static final String MD5 = "MD5";
+  private static final String SESSION_SUFFIX = "-sess";
+  private static final String SHA_256 = "SHA-256";
+  private static final int CNONCE_LENGTH = 16;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final String username;
+  private final String realm;
+  private final String nonce;
+  private final String opaque;
+  private final String algorithm;
+  private final String digestAlgorithm;
+  private final boolean session;
+  private final String qop;
+  private final String credentialsHash;
+  private final AtomicInteger nonceCount = new AtomicInteger();
+
+  private DigestChallenge(Map<String, String> params, String digestAlgorithm, boolean session, String qop, String username,
+                          String password) {
+    this.username = username;
+    this.realm = params.get("realm");
+    this.nonce = params.get("nonce");
+    this.opaque = params.get("opaque");
+    this.algorithm = params.get("algorithm");
+    this.digestAlgorithm = digestAlgorithm;
+    this.session = session;
+    this.qop = qop;
+    this.credentialsHash = hash(username + ":" + realm + ":" + password);
+  }
+
+  /**
+   * @param wwwAuthenticate the values of the {@code WWW-Authenticate} headers of a response
+   * @param username        the username to authenticate
+   * @param password        the password to authenticate
+   * @return the digest challenge of the response, or {@code null} if there's none or it's not supported
+   */
+  public static DigestChallenge parse(List<String> wwwAuthenticate, String username, String password) {
+    if (wwwAuthenticate == null) {
+      return null;
+    }
+    for (String header : wwwAuthenticate) {
+      Map<String, String> params = parseParams(header);
+      if (params == null || params.get("realm") == null || params.get("nonce") == null) {
+        continue;
+      }
+
+      String algorithm = params.getOrDefault("algorithm", MD5).toUpperCase(ROOT);
+      boolean session = algorithm.endsWith(SESSION_SUFFIX);
+      String digestAlgorithm = session ? algorithm.substring(0, algorithm.length() - SESSION_SUFFIX.length()) : algorithm;
+      if (!MD5.equals(digestAlgorithm) && !SHA_256.equals(digestAlgorithm)) {
+        continue;
+      }
+
+      String qop = null;
+      String offered = params.get("qop");
+      if (offered != null) {
+        for (String option : offered.split(",")) {
+          if (AUTH.equalsIgnoreCase(option.trim())) {
+            qop = AUTH;
+          }
+        }
+        if (qop == null) {
+          continue;
+        }
+      }
+      return new DigestChallenge(params, digestAlgorithm, session, qop, username, password);
+    }
+    return null;
+  }
+
+  /**
+   * @param method the method of the request
+   * @param uri    the request target, path and query, as sent in the request line
+   * @return the value of the {@code Authorization} header of the request, with the next nonce count
+   */
+  public String authorize(String method, String uri) {
+    byte[] cnonce = new byte[CNONCE_LENGTH];
+    RANDOM.nextBytes(cnonce);
+    return authorize(method, uri, toHex(cnonce));
+  }
+
+  String authorize(String method, String uri, String cnonce) {
+    String nc = format("%08x", nonceCount.incrementAndGet());
+    String ha1 = session ? hash(credentialsHash + ":" + nonce + ":" + cnonce) : credentialsHash;
+    String ha2 = hash(method + ":" + uri);
+    String response = qop != null
+        ? hash(ha1 + ":" + nonce + ":" + nc + ":" + cnonce + ":" + qop + ":" + ha2)
+        : hash(ha1 + ":" + nonce + ":" + ha2);
+
+    StringBuilder header = new StringBuilder("Digest username=").append(quote(username))
+        .append(", realm=").append(quote(realm))
+        .append(", nonce=").append(quote(nonce))
+        .append(", uri=").append(quote(uri));
+    if (algorithm != null) {
+      header.append(", algorithm=").append(algorithm);
+    }
+    header.append(", response=").append(quote(response));
+    if (opaque != null) {
+      header.append(", opaque=").append(quote(opaque));
+    }
+    if (qop != null) {
+      header.append(", qop=").append(qop).append(", nc=").append(nc).append(", cnonce=").append(quote(cnonce));
+    }
+    return header.toString();
+  }
+
+  /**
+   * @return the parameters of the digest challenge of the header, with lower case names, or {@code null} if it has none
+   */
+  static Map<String, String> parseParams(String header) {
+    Map<String, String> params = null;
+    int length = header.length();
+    int i = 0;
+    while (i < length) {
+      while (i < length && (header.charAt(i) == ',' || isWhitespace(header.charAt(i)))) {
+        ++i;
+      }
+      int start = i;
+      while (i < length && isTokenChar(header.charAt(i))) {
+        ++i;
+      }
+      if (start == i) {
+        ++i;
+        continue;
+      }
+      String token = header.substring(start, i);
+
+      int next = i;
+      while (next < length && isWhitespace(header.charAt(next))) {
+        ++next;
+      }
+      if (next < length && header.charAt(next) == '=') {
+        i = next + 1;
+        while (i < length && isWhitespace(header.charAt(i))) {
+          ++i;
+        }
+        StringBuilder value = new StringBuilder();
+        if (i < length && header.charAt(i) == '"') {
+          for (++i; i < length && header.charAt(i) != '"'; ++i) {
+            if (header.charAt(i) == '\\' && i + 1 < length) {
+              ++i;
+            }
+            value.append(header.charAt(i));
+          }
+          ++i;
+        } else {
+          for (; i < length && header.charAt(i) != ',' && !isWhitespace(header.charAt(i)); ++i) {
+            value.append(header.charAt(i));
+          }
+        }
+        if (params != null) {
+          params.putIfAbsent(token.toLowerCase(ROOT), value.toString());
+        }
+      } else if (params != null) {
+        // the start of the next challenge
+        return params;
+      } else if (DIGEST.equalsIgnoreCase(token)) {
+        params = new HashMap<>();
+      }
+    }
+    return params;
+  }
+
+  private static boolean isTokenChar(char c) {
+    return c != ',' && c != '=' && c != '"' && !isWhitespace(c);
+  }
+
+  private static String quote(String value) {
+    return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  private String hash(String value) {
+    try {
+      return toHex(MessageDigest.getInstance(digestAlgorithm).digest(value.getBytes(UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new MuleRuntimeException(createStaticMessage("Digest algorithm '%s' is not available", digestAlgorithm), e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    char[] hex = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; ++i) {
+      hex[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+      hex[i * 2 + 1] = HEX[bytes[i] & 0xF];
+    }
+    return new String(hex);
+  }
+}
@@ -25,6 +25,15 @@ public class EmptyDistributedTraceContextManager implements DistributedTraceCont
     return INSTANCE;
   }
 
+  /**
+   * @param distributedTraceContextManager a trace context manager
+   * @return whether it's the empty one, used when there's no tracing, so that spans don't need to be customized
+   * @since 1.11
+   */
+  public static boolean isEmpty(DistributedTraceContextManager distributedTraceContextManager) {
+    return distributedTraceContextManager == INSTANCE;
+  }
+
   private EmptyDistributedTraceContextManager() {
 
   }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static java.lang.Character.isJavaIdentifierPart;
+
+/**
+ * Finds which bindings an expression references by looking at its text, so that the ones that aren't needed are not bound.
+ *
+ * @since 1.11
+ */
+public final class ExpressionReferences {
+
+  private ExpressionReferences() {
+    // Empty private constructor to avoid instantiation.
+  }
+
+  /**
+   * Looks for a binding in the text of an expression. It may report references that aren't, such as the name within a string,
+   * but never misses one.
+   *
+   * @param expression the text of the expression
+   * @param binding    the name of the binding
+   * @return whether the expression may reference the binding
+   */
+  public static boolean mayReference(String expression, String binding) {
+    if (expression == null) {
+      return true;
+    }
+    int index = expression.indexOf(binding);
+    while (index >= 0) {
+      int end = index + binding.length();
+      // selectors such as attributes.headers.payload don't reference the binding
+      boolean startsIdentifier = index == 0
+          || (!isJavaIdentifierPart(expression.charAt(index - 1)) && expression.charAt(index - 1) != '.');
+      boolean endsIdentifier = end == expression.length() || !isJavaIdentifierPart(expression.charAt(end));
+      if (startsIdentifier && endsIdentifier) {
+        return true;
+      }
+      index = expression.indexOf(binding, end);
+    }
+    return false;
+  }
+}
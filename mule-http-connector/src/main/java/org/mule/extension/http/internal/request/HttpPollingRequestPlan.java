@@ -0,0 +1,241 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.empty;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+
+import org.mule.extension.http.api.HttpResponseAttributes;
+import org.mule.extension.http.api.request.builder.HttpRequesterSimpleRequestBuilder;
+import org.mule.extension.http.api.request.builder.KeyValuePair;
+import org.mule.extension.http.api.request.response.HttpPollingSourceExpressions;
+import org.mule.runtime.api.el.ExpressionLanguage;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.util.MultiMap;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The expressions of an {@link HttpPollingSource}, compiled when it starts so that every poll and item only evaluates them.
+ * Values that aren't expressions are resolved once.
+ *
+ * @since 1.11
+ */
+public final class HttpPollingRequestPlan {
+
+  private final ExpressionLanguage expressionLanguage;
+  private final List<Entry> headers;
+  private final List<Entry> queryParams;
+  private final List<Entry> uriParams;
+  private final PollingExpression body;
+  private final PollingExpression idExpression;
+  private final PollingExpression watermarkExpression;
+  private final PollingExpression nextPageTokenExpression;
+  private final PollingExpression partitions;
+
+  /**
+   * @param requestBuilder          the request of the source
+   * @param expressions             the expressions applied to the response
+   * @param nextPageTokenExpression the expression of the token of the next page, if paginating with tokens
+   * @param partitions              the partitions polled on each poll, if the source is partitioned
+   * @param expressionLanguage      used to compile and evaluate the expressions
+   */
+  public HttpPollingRequestPlan(HttpRequesterSimpleRequestBuilder requestBuilder, HttpPollingSourceExpressions expressions,
+                                Optional<String> nextPageTokenExpression, Optional<String> partitions,
+                                ExpressionLanguage expressionLanguage) {
+    this.expressionLanguage = expressionLanguage;
+    this.headers = compile(requestBuilder.getRequestHeaders());
+    this.queryParams = compile(requestBuilder.getRequestQueryParams());
+    this.uriParams = compile(requestBuilder.getRequestUriParams());
+    this.body = PollingExpression.compile(requestBuilder.getPollingRequestBody(), expressionLanguage);
+    this.idExpression = expressions.getIdExpression().map(this::compile).orElse(null);
+    this.watermarkExpression = expressions.getWatermarkExpression().map(this::compile).orElse(null);
+    this.nextPageTokenExpression = nextPageTokenExpression.map(this::compile).orElse(null);
+    this.partitions = partitions.map(this::compile).orElse(null);
+  }
+
+  /**
+   * @return whether the source polls several partitions
+   */
+  public boolean isPartitioned() {
+    return partitions != null;
+  }
+
+  /**
+   * Resolves the partitions to poll. Expressions may return a collection or a comma separated list, as static values are.
+   *
+   * @param watermark the watermark of the current poll
+   * @return the partitions to poll, without blanks or duplicates
+   */
+  public List<String> resolvePartitions(Serializable watermark) {
+    if (partitions == null) {
+      return emptyList();
+    }
+    Object value = partitions.evaluate(null, null, null, watermark, null, null, expressionLanguage).getValue();
+    List<String> resolved = new ArrayList<>();
+    if (value instanceof Collection) {
+      for (Object partition : (Collection<?>) value) {
+        if (partition != null) {
+          addPartition(resolved, partition.toString());
+        }
+      }
+    } else if (value != null) {
+      for (String partition : value.toString().split(",")) {
+        addPartition(resolved, partition);
+      }
+    }
+    return resolved;
+  }
+
+  private static void addPartition(List<String> partitions, String partition) {
+    String trimmed = partition.trim();
+    if (!trimmed.isEmpty() && !partitions.contains(trimmed)) {
+      partitions.add(trimmed);
+    }
+  }
+
+  /**
+   * @param watermark the watermark of the current poll
+   * @param partition the partition being polled, or {@code null} if the source isn't partitioned
+   * @return the headers of the request
+   */
+  public MultiMap<String, String> resolveHeaders(Serializable watermark, String partition) {
+    MultiMap<String, String> resolved = new MultiMap<>();
+    headers.forEach(header -> resolved.put(header.key, header.resolve(watermark, partition)));
+    return resolved;
+  }
+
+  /**
+   * @param watermark the watermark of the current poll
+   * @param partition the partition being polled, or {@code null} if the source isn't partitioned
+   * @return the query parameters of the request
+   */
+  public MultiMap<String, String> resolveQueryParams(Serializable watermark, String partition) {
+    MultiMap<String, String> resolved = new MultiMap<>();
+    queryParams.forEach(queryParam -> resolved.put(queryParam.key, queryParam.resolve(watermark, partition)));
+    return resolved;
+  }
+
+  /**
+   * @param watermark the watermark of the current poll
+   * @param partition the partition being polled, or {@code null} if the source isn't partitioned
+   * @return the URI parameters of the request
+   */
+  public Map<String, String> resolveUriParams(Serializable watermark, String partition) {
+    Map<String, String> resolved = new HashMap<>();
+    uriParams.forEach(uriParam -> resolved.put(uriParam.key, uriParam.resolve(watermark, partition)));
+    return resolved;
+  }
+
+  /**
+   * @param watermark the watermark of the current poll
+   * @param partition the partition being polled, or {@code null} if the source isn't partitioned
+   * @return the body of the request
+   */
+  public TypedValue<?> resolveBody(Serializable watermark, String partition) {
+    return body.evaluate(null, null, null, watermark, null, partition, expressionLanguage);
+  }
+
+  /**
+   * @param payload   the full response, or {@code null} if it's not available because it's split while streamed
+   * @param item      the item
+   * @param watermark the watermark of the current poll, or of the partition
+   * @param partition the partition being polled, or {@code null} if the source isn't partitioned
+   * @return the id of the item, if there's an id expression
+   */
+  public Optional<String> getItemId(TypedValue<String> payload, Result<TypedValue<?>, HttpResponseAttributes> item,
+                                    Serializable watermark, String partition) {
+    if (idExpression == null) {
+      return empty();
+    }
+    return Optional.of((String) evaluate(idExpression, payload, item, watermark, partition));
+  }
+
+  /**
+   * @param payload   the full response, or {@code null} if it's not available because it's split while streamed
+   * @param item      the item
+   * @param watermark the watermark of the current poll, or of the partition
+   * @param partition the partition being polled, or {@code null} if the source isn't partitioned
+   * @return the watermark of the item, if there's a watermark expression
+   */
+  public Optional<Serializable> getItemWatermark(TypedValue<String> payload, Result<TypedValue<?>, HttpResponseAttributes> item,
+                                                 Serializable watermark, String partition) {
+    if (watermarkExpression == null) {
+      return empty();
+    }
+    return Optional.of((Serializable) evaluate(watermarkExpression, payload, item, watermark, partition));
+  }
+
+  /**
+   * @param payload    the full response
+   * @param attributes the attributes of the response
+   * @param watermark  the watermark of the current poll
+   * @param partition  the partition being polled, or {@code null} if the source isn't partitioned
+   * @return the token of the next page, if the response has one
+   */
+  public Optional<String> getNextPageToken(TypedValue<String> payload, HttpResponseAttributes attributes,
+                                           Serializable watermark, String partition) {
+    if (nextPageTokenExpression == null) {
+      return empty();
+    }
+    Object token = nextPageTokenExpression.evaluate(STRING, payload, attributes, watermark, null, partition, expressionLanguage)
+        .getValue();
+    return token == null || token.toString().isEmpty() ? empty() : Optional.of(token.toString());
+  }
+
+  /**
+   * @return whether the id or watermark expressions may reference the full response
+   */
+  public boolean itemExpressionsReferencePayload() {
+    return (idExpression != null && idExpression.referencesPayload())
+        || (watermarkExpression != null && watermarkExpression.referencesPayload());
+  }
+
+  private Object evaluate(PollingExpression expression, TypedValue<String> payload,
+                          Result<TypedValue<?>, HttpResponseAttributes> item, Serializable watermark, String partition) {
+    return expression.evaluate(STRING, payload, item.getAttributes().orElse(null), watermark, item.getOutput(), partition,
+                               expressionLanguage)
+        .getValue();
+  }
+
+  private PollingExpression compile(String value) {
+    return PollingExpression.compile(value, expressionLanguage);
+  }
+
+  private List<Entry> compile(List<? extends KeyValuePair> pairs) {
+    List<Entry> entries = new ArrayList<>(pairs.size());
+    for (KeyValuePair pair : pairs) {
+      entries.add(new Entry(pair.getKey(), compile(pair.getValue())));
+    }
+    return entries;
+  }
+
+  private final class Entry {
+
+    private final String key;
+    private final PollingExpression value;
+
+    private Entry(String key, PollingExpression value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    private String resolve(Serializable watermark, String partition) {
+      return value.isExpression()
+          ? value.evaluate(null, null, null, watermark, null, partition, expressionLanguage).getValue().toString()
+          : value.getText();
+    }
+  }
+}
@@ -6,20 +6,30 @@
  */
 package org.mule.extension.http.internal.request;
 
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Math.min;
 import static java.lang.String.format;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.nio.charset.Charset.defaultCharset;
+import static java.util.Collections.emptySet;
 import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.mule.extension.http.api.HttpHeaders.Names.ETAG;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_MODIFIED_SINCE;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_NONE_MATCH;
+import static org.mule.extension.http.api.HttpHeaders.Names.LAST_MODIFIED;
+import static org.mule.extension.http.api.HttpHeaders.Names.LINK;
+import static org.mule.extension.http.api.request.pagination.PaginationMode.NEXT_PAGE_TOKEN;
+import static org.mule.extension.http.api.request.pagination.PaginationMode.OFFSET;
+import static org.mule.extension.http.api.request.response.StreamingSplitMode.NONE;
 import static org.mule.extension.http.internal.HttpConnectorConstants.REQUEST;
 import static org.mule.extension.http.internal.request.EmptyDistributedTraceContextManager.getDistributedTraceContextManager;
-import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.getItemId;
 import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.getItems;
-import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.getItemWatermark;
+import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.getNextLink;
 import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.isValidExpression;
-import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.resolveBody;
-import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.resolveHeaders;
-import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.resolveQueryParams;
-import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.resolveUriParams;
 import static org.mule.extension.http.internal.request.HttpRequestUtils.createHttpRequester;
 import static org.mule.extension.http.internal.request.UriUtils.buildPath;
 import static org.mule.extension.http.internal.request.UriUtils.resolveUri;
@@ -31,14 +41,21 @@ import static org.mule.runtime.api.metadata.MediaType.TEXT;
 import static org.mule.runtime.extension.api.runtime.source.BackPressureMode.DROP;
 import static org.mule.runtime.extension.api.runtime.source.BackPressureMode.FAIL;
 import static org.mule.runtime.extension.api.runtime.source.BackPressureMode.WAIT;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.FILTERED_BY_WATERMARK;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.SOURCE_STOPPING;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.NOT_MODIFIED;
 
 import org.mule.extension.http.api.HttpResponseAttributes;
 import org.mule.extension.http.api.request.builder.HttpRequesterSimpleRequestBuilder;
 import org.mule.extension.http.api.request.client.UriParameters;
+import org.mule.extension.http.api.request.pagination.HttpPollingPagination;
 import org.mule.extension.http.api.request.response.HttpPollingSourceExpressions;
+import org.mule.extension.http.api.request.response.StreamingSplitMode;
 import org.mule.extension.http.api.request.validator.ResponseValidator;
 import org.mule.extension.http.api.request.validator.SuccessStatusCodeValidator;
 import org.mule.extension.http.internal.HttpMetadataResolver;
+import org.mule.extension.http.internal.request.StreamingItemSplitter.SplitItem;
 import org.mule.extension.http.internal.request.client.HttpExtensionClient;
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.connection.ConnectionProvider;
@@ -51,7 +68,12 @@ import org.mule.runtime.api.metadata.MediaType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreManager;
+import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.api.transformation.TransformationService;
+import org.mule.runtime.api.util.MultiMap;
 import org.mule.runtime.api.util.Reference;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.IOUtils;
@@ -68,23 +90,41 @@ import org.mule.runtime.extension.api.annotation.param.display.Example;
 import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.extension.api.annotation.source.BackPressure;
 import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.parameter.Literal;
+import org.mule.runtime.extension.api.runtime.process.CompletionCallback;
 import org.mule.runtime.extension.api.runtime.source.PollContext;
+import org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus;
 import org.mule.runtime.extension.api.runtime.source.PollingSource;
 import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
+import org.mule.runtime.extension.api.runtime.streaming.StreamingHelper;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
 import org.mule.runtime.http.api.domain.message.request.HttpRequestBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.net.URI;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Alias("pollingSource")
 @org.mule.runtime.extension.api.annotation.param.MediaType(value = org.mule.runtime.extension.api.annotation.param.MediaType.ANY,
@@ -99,6 +139,10 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
   public static final String ITEM_PLACEHOLDER = "item";
   public static final String ATTRIBUTES_PLACEHOLDER = "attributes";
   public static final String WATERMARK_PLACEHOLDER = "watermark";
+  public static final String PARTITION_PLACEHOLDER = "partition";
+  private static final String PARTITION_IDS = "ids";
+  // how often a poll waiting for the responses of its partitions checks whether the source is stopping
+  private static final long STOPPING_CHECK_INTERVAL_MILLIS = 500;
 
   @Connection
   private ConnectionProvider<HttpExtensionClient> clientProvider;
@@ -122,10 +166,16 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
   @Inject
   private ExpressionLanguage expressionLanguage;
 
+  @Inject
+  private ObjectStoreManager objectStoreManager;
+
   private HttpExtensionClient client;
   private Scheduler scheduler;
   private HttpRequester httpRequester;
   private ComponentLocation location;
+  private ObjectStore<HashMap<String, String>> conditionalRequestValidators;
+  private ObjectStore<HashMap<String, Serializable>> partitionWatermarks;
+  private HttpPollingRequestPlan requestPlan;
 
   /**
    * Relative path from the path set in the HTTP Requester configuration
@@ -162,10 +212,77 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
   @Placement(order = 5)
   private HttpPollingSourceExpressions expressions;
 
+  /**
+   * Splits the response body into items while it's read, so that it's never fully held in memory. Can't be used along with the
+   * split expression, and the id and watermark expressions can only reference the {@code item}, {@code attributes} and
+   * {@code watermark}. Requires the connection to stream the response, with {@code streamResponse="true"}, since otherwise the
+   * whole body would be buffered before being split.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @org.mule.runtime.extension.api.annotation.param.Optional(defaultValue = "NONE")
+  @Expression(NOT_SUPPORTED)
+  @DisplayName("Streaming Split Mode")
+  @Placement(order = 6)
+  private StreamingSplitMode streamingSplitMode = NONE;
+
+  /**
+   * Fetches all the pages of a paginated response within the same poll. Can't be used along with conditional requests.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @org.mule.runtime.extension.api.annotation.param.Optional
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Pagination")
+  private HttpPollingPagination pagination;
+
+  /**
+   * Whether to send the {@code ETag} and {@code Last-Modified} of the last response in {@code If-None-Match} and
+   * {@code If-Modified-Since} headers, so that the server can answer with a {@code 304 Not Modified} when nothing changed, in
+   * which case the poll ends without dispatching items, even if the response validator doesn't accept that status. They are
+   * kept in a persistent object store, so they survive restarts as the watermark does. Can't be used along with pagination,
+   * since the validators of the first page can't tell whether the following ones changed.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @org.mule.runtime.extension.api.annotation.param.Optional(defaultValue = "false")
+  @Expression(NOT_SUPPORTED)
+  @Placement(order = 7)
+  private boolean conditionalRequests;
+
+  /**
+   * Partitions of the resource, such as tenants or regions, that are requested concurrently on each poll, either as a comma
+   * separated list or as an expression that returns a list. The partition is bound as {@code partition} in the expressions of
+   * the request, and each one keeps its own watermark in a persistent object store, bound as {@code watermark}. Can't be used
+   * along with pagination or conditional requests.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @org.mule.runtime.extension.api.annotation.param.Optional
+  @Example("eu,us,apac")
+  @Placement(tab = "Partitions", order = 1)
+  private Literal<String> partitions;
+
+  /**
+   * Maximum number of partitions requested at the same time.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @org.mule.runtime.extension.api.annotation.param.Optional(defaultValue = "4")
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Partitions", order = 2)
+  private int maxConcurrentPartitions = 4;
+
   private SuccessStatusCodeValidator defaultStatusCodeValidator = new SuccessStatusCodeValidator("0..399");
 
   private ResponseValidator getResponseValidator() {
-    return responseValidator != null ? responseValidator : defaultStatusCodeValidator;
+    ResponseValidator validator = responseValidator != null ? responseValidator : defaultStatusCodeValidator;
+    return conditionalRequests ? new NotModifiedResponseValidator(validator) : validator;
   }
 
   private void validateExpression(String exp) {
@@ -182,6 +299,65 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
     validateExpression(requestBuilder.getPollingRequestBody());
     requestBuilder.getRequestHeaders().forEach(header -> validateExpression(header.getValue()));
     requestBuilder.getRequestQueryParams().forEach(queryParam -> validateExpression(queryParam.getValue()));
+    if (isStreamingSplit() && expressions.getSplitExpression().isPresent()) {
+      throw new MuleRuntimeException(createStaticMessage(format("HTTP Polling Source at %s can't have both a split expression "
+          + "and a streaming split mode", location.getRootContainerName())));
+    }
+    if (isStreamingSplit() && !client.isStreamResponse()) {
+      throw new MuleRuntimeException(createStaticMessage(format("HTTP Polling Source at %s requires a connection with "
+          + "streamResponse=\"true\" to use a streaming split mode", location.getRootContainerName())));
+    }
+    if (pagination != null && pagination.getMode() == NEXT_PAGE_TOKEN) {
+      if (!pagination.getNextPageTokenExpression().isPresent()) {
+        throw new MuleRuntimeException(createStaticMessage(format("HTTP Polling Source at %s requires a next page token "
+            + "expression to paginate with tokens", location.getRootContainerName())));
+      }
+      if (isStreamingSplit()) {
+        // the token is taken from the payload, which is not held in memory when split while streamed
+        throw new MuleRuntimeException(createStaticMessage(format("HTTP Polling Source at %s can't paginate with tokens "
+            + "when using a streaming split mode", location.getRootContainerName())));
+      }
+      validateExpression(pagination.getNextPageTokenExpression().get());
+    }
+    if (pagination != null && conditionalRequests) {
+      // a 304 of the first page would end the poll, so new items of the following pages would never be polled
+      throw new MuleRuntimeException(createStaticMessage(format("HTTP Polling Source at %s can't paginate along with "
+          + "conditional requests", location.getRootContainerName())));
+    }
+    if (getPartitions().isPresent()) {
+      validateExpression(getPartitions().get());
+      if (pagination != null || conditionalRequests) {
+        // both keep their state for the whole source, instead of for each partition
+        throw new MuleRuntimeException(createStaticMessage(format("HTTP Polling Source at %s can't poll partitions along with "
+            + "pagination or conditional requests", location.getRootContainerName())));
+      }
+      if (maxConcurrentPartitions < 1) {
+        throw new MuleRuntimeException(createStaticMessage(format("HTTP Polling Source at %s must request at least one "
+            + "partition at a time", location.getRootContainerName())));
+      }
+    }
+  }
+
+  private Optional<String> getPartitions() {
+    return partitions == null ? empty()
+        : partitions.getLiteralValue().filter(value -> !value.trim().isEmpty());
+  }
+
+  private HttpPollingRequestPlan compileRequestPlan() {
+    Optional<String> nextPageTokenExpression = pagination != null && pagination.getMode() == NEXT_PAGE_TOKEN
+        ? pagination.getNextPageTokenExpression()
+        : empty();
+    HttpPollingRequestPlan plan = new HttpPollingRequestPlan(requestBuilder, expressions, nextPageTokenExpression,
+                                                             getPartitions(), expressionLanguage);
+    if (isStreamingSplit() && plan.itemExpressionsReferencePayload()) {
+      throw new MuleRuntimeException(createStaticMessage(format("HTTP Polling Source at %s can't reference the payload in the "
+          + "id and watermark expressions when using a streaming split mode", location.getRootContainerName())));
+    }
+    return plan;
+  }
+
+  private boolean isStreamingSplit() {
+    return streamingSplitMode != null && streamingSplitMode != NONE;
   }
 
   @Override
@@ -191,6 +367,17 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
     client = clientProvider.connect();
     httpRequester = createHttpRequester(false, muleContext);
     validateExpressions();
+    requestPlan = compileRequestPlan();
+    if (conditionalRequests && conditionalRequestValidators == null) {
+      conditionalRequestValidators = objectStoreManager
+          .getOrCreateObjectStore("_httpPollingSourceValidators_" + location.getLocation(),
+                                  ObjectStoreSettings.builder().persistent(true).build());
+    }
+    if (requestPlan.isPartitioned() && partitionWatermarks == null) {
+      partitionWatermarks = objectStoreManager
+          .getOrCreateObjectStore("_httpPollingSourcePartitionWatermarks_" + location.getLocation(),
+                                  ObjectStoreSettings.builder().persistent(true).build());
+    }
   }
 
   @Override
@@ -201,15 +388,16 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
     }
   }
 
-  private String getResolvedUri(Serializable watermark) {
+  private String getResolvedUri(Serializable watermark, String partition) {
     UriParameters uriParameters = client.getDefaultUriParameters();
     String resolvedPath = replaceUriParams(buildPath(config.getBasePath(), path),
-                                           resolveUriParams(requestBuilder.getRequestUriParams(), watermark, expressionLanguage));
+                                           requestPlan.resolveUriParams(watermark, partition));
     return resolveUri(uriParameters.getScheme(), uriParameters.getHost().trim(), uriParameters.getPort(), resolvedPath);
   }
 
   private Consumer<PollContext.PollItem<String, HttpResponseAttributes>> getPollingItemConsumer(TypedValue<String> fullResponse,
                                                                                                 Result<TypedValue<?>, HttpResponseAttributes> item,
+                                                                                                Supplier<Result<String, HttpResponseAttributes>> output,
                                                                                                 Serializable watermark) {
     return pollItem -> {
       LOGGER.debug("Setting Result for {}: {} with attributes {}", location.getRootContainerName(), item.getOutput(),
@@ -220,47 +408,141 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
       // perform expression evaluations (as seen here as well). Also, we have it as a TypedValue<?> instead of
       // TypedValue<String>, because that's what DW returns when evaluating an expression (the splitting one), and we
       // have no need to transform it considering that we only use it to then again evaluate expression.
-      pollItem.setResult(toStringResult(item));
-      expressions.getIdExpression()
-          .ifPresent(idExp -> pollItem.setId(getItemId(fullResponse, idExp, watermark, item, expressionLanguage)));
-      expressions.getWatermarkExpression()
-          .ifPresent(wExp -> pollItem.setWatermark(getItemWatermark(fullResponse, wExp, watermark, item, expressionLanguage)));
+      pollItem.setResult(output.get());
+      requestPlan.getItemId(fullResponse, item, watermark, null).ifPresent(pollItem::setId);
+      requestPlan.getItemWatermark(fullResponse, item, watermark, null).ifPresent(pollItem::setWatermark);
     };
   }
 
-  private void pollResult(PollContext<String, HttpResponseAttributes> pollContext,
-                          Result<InputStream, HttpResponseAttributes> result, Serializable currentWatermark, String resolvedUri) {
-    HttpResponseAttributes attributes = result.getAttributes().orElse(null);
+  private PollItemStatus accept(PollContext<String, HttpResponseAttributes> pollContext, TypedValue<String> fullResponse,
+                                Result<TypedValue<?>, HttpResponseAttributes> item,
+                                Supplier<Result<String, HttpResponseAttributes>> output, Serializable watermark,
+                                Partition partition) {
+    if (partition == null) {
+      return pollContext.accept(getPollingItemConsumer(fullResponse, item, output, watermark));
+    }
+
+    // the runtime keeps a single watermark for the whole source, so the one of each partition is tracked here
+    String id = requestPlan.getItemId(fullResponse, item, watermark, partition.name).orElse(null);
+    Serializable itemWatermark = requestPlan.getItemWatermark(fullResponse, item, watermark, partition.name).orElse(null);
+    if (partition.isProcessed(itemWatermark, id)) {
+      LOGGER.debug("Item filtered by the watermark of partition '{}' in HTTP Polling Source at {}", partition.name,
+                   location.getRootContainerName());
+      return FILTERED_BY_WATERMARK;
+    }
+    PollItemStatus status = pollContext.accept(pollItem -> {
+      pollItem.setResult(output.get());
+      if (id != null) {
+        // ids only have to be unique within their partition
+        pollItem.setId(partition.name + ":" + id);
+      }
+    });
+    if (status == ACCEPTED) {
+      partition.accepted(itemWatermark, id);
+    }
+    return status;
+  }
+
+  private TypedValue<String> readResponse(Result<InputStream, HttpResponseAttributes> result) {
     MediaType mediaType = result.getMediaType().orElse(ANY);
     Charset charset = mediaType.getCharset().orElse(defaultCharset());
     TypedValue<String> response = toTypedValue(IOUtils.toString(result.getOutput(), charset), mediaType, charset);
     LOGGER.debug("Received response at {}: {} and headers {}", location.getRootContainerName(), response,
-                 attributes.getHeaders());
+                 result.getAttributes().map(HttpResponseAttributes::getHeaders).orElse(null));
+    return response;
+  }
+
+  /**
+   * @return the number of items dispatched
+   */
+  private int pollResult(PollContext<String, HttpResponseAttributes> pollContext, TypedValue<String> response,
+                         HttpResponseAttributes attributes, Serializable currentWatermark, String resolvedUri,
+                         Partition partition) {
+    return dispatchItems(pollContext, response, splitResponse(response, attributes, currentWatermark), currentWatermark,
+                         resolvedUri, partition);
+  }
+
+  private Stream<Result<TypedValue<?>, HttpResponseAttributes>> splitResponse(TypedValue<String> response,
+                                                                              HttpResponseAttributes attributes,
+                                                                              Serializable currentWatermark) {
+    return getItems(response, attributes, currentWatermark, expressions.getSplitExpression(), expressionLanguage);
+  }
 
-    Reference<Boolean> atLeastOneResult = new Reference<>(false);
-    getItems(response, attributes, currentWatermark, expressions.getSplitExpression(), expressionLanguage).forEach(item -> {
-      atLeastOneResult.set(true);
-      pollContext.accept(getPollingItemConsumer(response, item, currentWatermark));
+  private int dispatchItems(PollContext<String, HttpResponseAttributes> pollContext, TypedValue<String> response,
+                            Stream<Result<TypedValue<?>, HttpResponseAttributes>> pageItems, Serializable currentWatermark,
+                            String resolvedUri, Partition partition) {
+    Reference<Integer> items = new Reference<>(0);
+    pageItems.forEach(item -> {
+      items.set(items.get() + 1);
+      accept(pollContext, response, item, () -> toStringResult(item), currentWatermark, partition);
     });
 
-    if (!atLeastOneResult.get()) {
+    if (items.get() == 0) {
       LOGGER.debug("Empty result in HTTP Polling Source at {} of uri {}", location.getRootContainerName(), resolvedUri);
     }
+    return items.get();
   }
 
-  private RequestCreator getRequesCreator(Serializable watermark) {
+  /**
+   * @return the number of items dispatched, or {@code -1} if the response couldn't be read
+   */
+  private int pollStreamedResult(PollContext<String, HttpResponseAttributes> pollContext,
+                                 Result<InputStream, HttpResponseAttributes> result, Serializable currentWatermark,
+                                 String resolvedUri, Partition partition) {
+    HttpResponseAttributes attributes = result.getAttributes().orElse(null);
+    MediaType mediaType = result.getMediaType().orElse(ANY);
+    Charset charset = mediaType.getCharset().orElse(defaultCharset());
+    LOGGER.debug("Received response at {} with headers {}, splitting it as {}", location.getRootContainerName(),
+                 attributes.getHeaders(), streamingSplitMode);
+
+    int items = 0;
+    try (StreamingItemSplitter splitter =
+        new StreamingItemSplitter(streamingSplitMode, new InputStreamReader(result.getOutput(), charset), mediaType)) {
+      SplitItem splitItem;
+      while ((splitItem = splitter.next()) != null) {
+        items++;
+        Result<TypedValue<?>, HttpResponseAttributes> item =
+            Result.<TypedValue<?>, HttpResponseAttributes>builder().attributes(attributes).output(splitItem.getValue())
+                .mediaType(splitItem.getMediaType()).build();
+        Result<String, HttpResponseAttributes> output =
+            Result.<String, HttpResponseAttributes>builder().attributes(attributes).output(splitItem.getText())
+                .mediaType(splitItem.getMediaType()).build();
+        // there's no full response to bind as the payload, items are dispatched before the rest of the body is read
+        if (accept(pollContext, null, item, () -> output, currentWatermark, partition) == SOURCE_STOPPING) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.error("There was an error reading the response in HTTP Polling Source at {} of uri '{}' after {} items",
+                   location.getRootContainerName(), resolvedUri, items, e);
+      return -1;
+    }
+
+    if (items == 0) {
+      LOGGER.debug("Empty result in HTTP Polling Source at {} of uri {}", location.getRootContainerName(), resolvedUri);
+    }
+    return items;
+  }
+
+  private RequestCreator getRequesCreator(Serializable watermark, PageRequest page) {
     return new RequestCreator() {
 
       @Override
       public HttpRequestBuilder createRequestBuilder(HttpRequesterConfig config) {
+        MultiMap<String, String> headers = requestPlan.resolveHeaders(watermark, page.partition);
+        page.headers.forEach(headers::put);
+        MultiMap<String, String> queryParams = page.includesConfiguredQueryParams
+            ? requestPlan.resolveQueryParams(watermark, page.partition)
+            : new MultiMap<>();
+        page.queryParams.forEach(queryParams::put);
         return requestBuilder.toHttpRequestBuilder(config)
-            .headers(resolveHeaders(requestBuilder.getRequestHeaders(), watermark, expressionLanguage))
-            .queryParams(resolveQueryParams(requestBuilder.getRequestQueryParams(), watermark, expressionLanguage));
+            .headers(headers)
+            .queryParams(queryParams);
       }
 
       @Override
       public TypedValue<?> getBody() {
-        return resolveBody(requestBuilder.getPollingRequestBody(), watermark, expressionLanguage);
+        return requestPlan.resolveBody(watermark, page.partition);
       }
 
       @Override
@@ -271,26 +553,367 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
     };
   }
 
+  private Result<InputStream, HttpResponseAttributes> fetch(PageRequest page, Serializable watermark)
+      throws ExecutionException, InterruptedException {
+    LOGGER.debug("Sending '{}' request to '{}' in flow '{}'.", method, page.uri, location.getRootContainerName());
+    return httpRequester
+        .doSyncRequest(client, config, page.uri, method, config.getRequestStreamingMode(), config.getSendBodyMode(),
+                       config.getFollowRedirects(), client.getDefaultAuthentication(), config.getResponseTimeout(),
+                       getResponseValidator(), transformationService, getRequesCreator(watermark, page), true, muleContext,
+                       scheduler, injectedHeaders, getDistributedTraceContextManager());
+  }
+
   private void sendRequest(PollContext<String, HttpResponseAttributes> pollContext) {
     Serializable currentWatermark = pollContext.getWatermark().orElse(null);
-    String resolvedUri = getResolvedUri(currentWatermark);
-    LOGGER.debug("Sending '{}' request to '{}' in flow '{}'.", method, resolvedUri, location.getRootContainerName());
+    PageRequest page = firstPage(currentWatermark, null);
+    Future<Result<InputStream, HttpResponseAttributes>> prefetched = null;
+    int fetchedPages = 0;
+    String conditionalUri = page.uri;
+    HashMap<String, String> validators = null;
+    boolean completed = true;
     try {
-      Result<InputStream, HttpResponseAttributes> result = httpRequester
-          .doSyncRequest(client, config, resolvedUri, method, config.getRequestStreamingMode(), config.getSendBodyMode(),
-                         config.getFollowRedirects(), client.getDefaultAuthentication(), config.getResponseTimeout(),
-                         getResponseValidator(), transformationService, getRequesCreator(currentWatermark), true, muleContext,
-                         scheduler, injectedHeaders, getDistributedTraceContextManager());
-      pollResult(pollContext, result, currentWatermark, resolvedUri);
+      while (page != null) {
+        Result<InputStream, HttpResponseAttributes> result =
+            prefetched != null ? prefetched.get() : fetch(page, currentWatermark);
+        prefetched = null;
+        fetchedPages++;
+
+        HttpResponseAttributes attributes = result.getAttributes().orElse(null);
+        if (conditionalRequests && attributes != null) {
+          if (attributes.getStatusCode() == NOT_MODIFIED.getStatusCode()) {
+            LOGGER.debug("Response of uri '{}' not modified since the last poll of HTTP Polling Source at {}", page.uri,
+                         location.getRootContainerName());
+            IOUtils.closeQuietly(result.getOutput());
+            return;
+          }
+          validators = getValidators(attributes);
+        }
+        TypedValue<String> response = isStreamingSplit() ? null : readResponse(result);
+        PageRequest nextPage = pagination != null && fetchedPages < pagination.getMaxPagesPerPoll()
+            ? nextPage(page, response, attributes, currentWatermark)
+            : null;
+        List<Result<TypedValue<?>, HttpResponseAttributes>> pageItems = null;
+        if (nextPage != null && pagination.isPrefetch() && pagination.getMode() == OFFSET && !isStreamingSplit()) {
+          // split beforehand, since a page with less items than the page size is the last one
+          pageItems = splitResponse(response, attributes, currentWatermark).collect(toList());
+          if (pageItems.size() < pagination.getPageSize()) {
+            nextPage = null;
+          }
+        }
+        if (nextPage != null && pagination.isPrefetch()) {
+          // fetched while the items of this page are dispatched, discarded if this page turns out to be the last one
+          PageRequest toPrefetch = nextPage;
+          prefetched = scheduler.submit(() -> fetch(toPrefetch, currentWatermark));
+        }
+
+        int items = isStreamingSplit()
+            ? pollStreamedResult(pollContext, result, currentWatermark, page.uri, null)
+            : dispatchItems(pollContext, response,
+                            pageItems != null ? pageItems.stream() : splitResponse(response, attributes, currentWatermark),
+                            currentWatermark, page.uri, null);
+
+        if (items < 0 || pollContext.isSourceStopping()) {
+          completed = false;
+          nextPage = null;
+        } else if (pagination != null && pagination.getMode() == OFFSET && items < pagination.getPageSize()) {
+          nextPage = null;
+        }
+        page = nextPage;
+      }
+      if (completed && validators != null) {
+        // only once every item was dispatched, otherwise the ones missed would never be polled again
+        storeValidators(conditionalUri, validators);
+      }
     } catch (ExecutionException e) {
-      LOGGER.error("There was an error in HTTP Polling Source at {} of uri '{}'", location.getRootContainerName(), resolvedUri,
-                   e);
+      LOGGER.error("There was an error in HTTP Polling Source at {} of uri '{}'", location.getRootContainerName(), page.uri, e);
     } catch (InterruptedException e) {
-      LOGGER.error("There was an error in HTTP Polling Source at {} of uri '{}'", location.getRootContainerName(), resolvedUri,
-                   e);
+      LOGGER.error("There was an error in HTTP Polling Source at {} of uri '{}'", location.getRootContainerName(), page.uri, e);
       currentThread().interrupt();
+    } finally {
+      if (prefetched != null) {
+        discard(prefetched);
+      }
+    }
+  }
+
+  private PageRequest firstPage(Serializable watermark, String partition) {
+    MultiMap<String, String> queryParams = new MultiMap<>();
+    if (pagination != null && pagination.getMode() == OFFSET) {
+      queryParams.put(pagination.getOffsetQueryParameter(), String.valueOf(pagination.getInitialOffset()));
+      queryParams.put(pagination.getLimitQueryParameter(), String.valueOf(pagination.getPageSize()));
+    }
+    String uri = getResolvedUri(watermark, partition);
+    return new PageRequest(uri, partition, true, queryParams, pagination != null ? pagination.getInitialOffset() : 0, null,
+                           getConditionalHeaders(uri));
+  }
+
+  private MultiMap<String, String> getConditionalHeaders(String uri) {
+    MultiMap<String, String> headers = new MultiMap<>();
+    if (!conditionalRequests) {
+      return headers;
+    }
+    try {
+      if (conditionalRequestValidators.contains(uri)) {
+        HashMap<String, String> validators = conditionalRequestValidators.retrieve(uri);
+        if (validators.containsKey(ETAG)) {
+          headers.put(IF_NONE_MATCH, validators.get(ETAG));
+        }
+        if (validators.containsKey(LAST_MODIFIED)) {
+          headers.put(IF_MODIFIED_SINCE, validators.get(LAST_MODIFIED));
+        }
+      }
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Validators of uri '{}' could not be retrieved in HTTP Polling Source at {}: {}", uri,
+                  location.getRootContainerName(), e.getMessage());
     }
+    return headers;
+  }
 
+  private static HashMap<String, String> getValidators(HttpResponseAttributes attributes) {
+    HashMap<String, String> validators = new HashMap<>();
+    String etag = attributes.getHeaders().get(ETAG);
+    if (etag != null) {
+      validators.put(ETAG, etag);
+    }
+    String lastModified = attributes.getHeaders().get(LAST_MODIFIED);
+    if (lastModified != null) {
+      validators.put(LAST_MODIFIED, lastModified);
+    }
+    return validators;
+  }
+
+  private void storeValidators(String uri, HashMap<String, String> validators) {
+    try {
+      if (conditionalRequestValidators.contains(uri)) {
+        conditionalRequestValidators.remove(uri);
+      }
+      if (!validators.isEmpty()) {
+        conditionalRequestValidators.store(uri, validators);
+      }
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Validators of uri '{}' could not be stored in HTTP Polling Source at {}: {}", uri,
+                  location.getRootContainerName(), e.getMessage());
+    }
+  }
+
+  private PageRequest nextPage(PageRequest page, TypedValue<String> response, HttpResponseAttributes attributes,
+                               Serializable watermark) {
+    MultiMap<String, String> queryParams = new MultiMap<>();
+    switch (pagination.getMode()) {
+      case OFFSET:
+        int offset = page.offset + pagination.getPageSize();
+        queryParams.put(pagination.getOffsetQueryParameter(), String.valueOf(offset));
+        queryParams.put(pagination.getLimitQueryParameter(), String.valueOf(pagination.getPageSize()));
+        return new PageRequest(page.uri, page.partition, true, queryParams, offset, null, new MultiMap<>());
+      case NEXT_PAGE_TOKEN:
+        String token = requestPlan.getNextPageToken(response, attributes, watermark, page.partition).orElse(null);
+        if (token == null || token.equals(page.token)) {
+          return null;
+        }
+        queryParams.put(pagination.getTokenQueryParameter(), token);
+        return new PageRequest(page.uri, page.partition, true, queryParams, 0, token, new MultiMap<>());
+      default:
+        if (attributes == null) {
+          return null;
+        }
+        // the target already has all the query parameters of the next page
+        String nextUri = getNextLink(attributes.getHeaders().getAll(LINK))
+            .map(link -> URI.create(page.uri).resolve(link).toString())
+            .orElse(null);
+        return nextUri == null || nextUri.equals(page.uri) ? null
+            : new PageRequest(nextUri, page.partition, false, queryParams, 0, null, new MultiMap<>());
+    }
+  }
+
+  private void discard(Future<Result<InputStream, HttpResponseAttributes>> prefetched) {
+    try {
+      scheduler.execute(() -> {
+        try {
+          IOUtils.closeQuietly(prefetched.get().getOutput());
+        } catch (ExecutionException e) {
+          LOGGER.debug("Discarded page of HTTP Polling Source at {} failed", location.getRootContainerName(), e);
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      prefetched.cancel(true);
+    }
+  }
+
+  private void pollPartitions(PollContext<String, HttpResponseAttributes> pollContext) {
+    Deque<Partition> pending = new ArrayDeque<>();
+    for (String partition : requestPlan.resolvePartitions(pollContext.getWatermark().orElse(null))) {
+      pending.add(retrievePartition(partition));
+    }
+
+    // responses are completed by the requester's threads, but their items are dispatched from this one
+    BlockingQueue<PartitionResponse> responses = new LinkedBlockingQueue<>();
+    int inFlight = 0;
+    try {
+      while (inFlight < maxConcurrentPartitions && !pending.isEmpty()) {
+        fetch(pending.poll(), responses);
+        inFlight++;
+      }
+      while (inFlight > 0) {
+        PartitionResponse response = awaitResponse(responses, pollContext);
+        if (response == null) {
+          // the partitions not dispatched are polled again, since their watermarks were not stored
+          if (!pollContext.isSourceStopping()) {
+            LOGGER.warn("HTTP Polling Source at {} timed out waiting for the responses of {} partitions",
+                        location.getRootContainerName(), inFlight);
+          }
+          break;
+        }
+        inFlight--;
+        if (!pending.isEmpty() && !pollContext.isSourceStopping()) {
+          // requested before dispatching the items of this partition, so that the requests are kept in flight meanwhile
+          fetch(pending.poll(), responses);
+          inFlight++;
+        }
+        pollPartition(pollContext, response);
+      }
+    } catch (InterruptedException e) {
+      LOGGER.error("HTTP Polling Source at {} was interrupted while polling partitions", location.getRootContainerName(), e);
+      currentThread().interrupt();
+    } finally {
+      if (inFlight > 0) {
+        discard(responses, inFlight);
+      }
+    }
+  }
+
+  private void fetch(Partition partition, BlockingQueue<PartitionResponse> responses) {
+    try {
+      PageRequest page = firstPage(partition.watermark, partition.name);
+      LOGGER.debug("Sending '{}' request to '{}' for partition '{}' in flow '{}'.", method, page.uri, partition.name,
+                   location.getRootContainerName());
+      httpRequester.doRequest(client, config, page.uri, method, config.getRequestStreamingMode(), config.getSendBodyMode(),
+                              config.getFollowRedirects(), client.getDefaultAuthentication(), config.getResponseTimeout(),
+                              getResponseValidator(), transformationService, getRequesCreator(partition.watermark, page),
+                              true, muleContext, scheduler, null, null,
+                              new CompletionCallback<InputStream, HttpResponseAttributes>() {
+
+                                @Override
+                                public void success(Result<InputStream, HttpResponseAttributes> result) {
+                                  responses.add(new PartitionResponse(partition, page.uri, result, null));
+                                }
+
+                                @Override
+                                public void error(Throwable e) {
+                                  responses.add(new PartitionResponse(partition, page.uri, null, e));
+                                }
+                              }, injectedHeaders, getDistributedTraceContextManager());
+    } catch (RuntimeException e) {
+      responses.add(new PartitionResponse(partition, null, null, e));
+    }
+  }
+
+  private void pollPartition(PollContext<String, HttpResponseAttributes> pollContext, PartitionResponse response) {
+    Partition partition = response.partition;
+    if (response.error != null) {
+      LOGGER.error("There was an error in HTTP Polling Source at {} of partition '{}'", location.getRootContainerName(),
+                   partition.name, response.error);
+      return;
+    }
+    if (pollContext.isSourceStopping()) {
+      IOUtils.closeQuietly(response.result.getOutput());
+      return;
+    }
+
+    int items = isStreamingSplit()
+        ? pollStreamedResult(pollContext, response.result, partition.watermark, response.uri, partition)
+        : pollResult(pollContext, readResponse(response.result), response.result.getAttributes().orElse(null),
+                     partition.watermark, response.uri, partition);
+    if (items >= 0 && !pollContext.isSourceStopping()) {
+      // only once every item was dispatched, otherwise the ones missed would never be polled again
+      storeWatermark(partition);
+    }
+  }
+
+  /**
+   * Waits for the next response of a partition, for at most the response timeout of the requests.
+   *
+   * @return the response, or {@code null} if it didn't arrive in time or the source is stopping
+   */
+  private PartitionResponse awaitResponse(BlockingQueue<PartitionResponse> responses,
+                                          PollContext<String, HttpResponseAttributes> pollContext)
+      throws InterruptedException {
+    long deadline = nanoTime() + MILLISECONDS.toNanos(resolveResponseTimeout());
+    while (!pollContext.isSourceStopping()) {
+      long remaining = deadline - nanoTime();
+      if (remaining <= 0) {
+        return null;
+      }
+      PartitionResponse response = responses.poll(min(remaining, MILLISECONDS.toNanos(STOPPING_CHECK_INTERVAL_MILLIS)),
+                                                  NANOSECONDS);
+      if (response != null) {
+        return response;
+      }
+    }
+    return null;
+  }
+
+  private int resolveResponseTimeout() {
+    if (muleContext.getConfiguration().isDisableTimeouts()) {
+      return MAX_VALUE;
+    }
+    return config.getResponseTimeout() != null ? config.getResponseTimeout()
+        : muleContext.getConfiguration().getDefaultResponseTimeout();
+  }
+
+  private void discard(BlockingQueue<PartitionResponse> responses, int inFlight) {
+    try {
+      scheduler.execute(() -> {
+        try {
+          long deadline = nanoTime() + MILLISECONDS.toNanos(resolveResponseTimeout());
+          for (int i = 0; i < inFlight; i++) {
+            PartitionResponse response = responses.poll(deadline - nanoTime(), NANOSECONDS);
+            if (response == null) {
+              return;
+            }
+            if (response.result != null) {
+              IOUtils.closeQuietly(response.result.getOutput());
+            }
+          }
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Responses of {} partitions of HTTP Polling Source at {} could not be discarded", inFlight,
+                   location.getRootContainerName());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Partition retrievePartition(String name) {
+    try {
+      if (partitionWatermarks.contains(name)) {
+        HashMap<String, Serializable> state = partitionWatermarks.retrieve(name);
+        return new Partition(name, state.get(WATERMARK_PLACEHOLDER), (Set<String>) state.get(PARTITION_IDS));
+      }
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Watermark of partition '{}' could not be retrieved in HTTP Polling Source at {}: {}", name,
+                  location.getRootContainerName(), e.getMessage());
+    }
+    return new Partition(name, null, emptySet());
+  }
+
+  private void storeWatermark(Partition partition) {
+    HashMap<String, Serializable> state = partition.getNextState();
+    if (state == null) {
+      return;
+    }
+    try {
+      if (partitionWatermarks.contains(partition.name)) {
+        partitionWatermarks.remove(partition.name);
+      }
+      partitionWatermarks.store(partition.name, state);
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Watermark of partition '{}' could not be stored in HTTP Polling Source at {}: {}", partition.name,
+                  location.getRootContainerName(), e.getMessage());
+    }
   }
 
   @Override
@@ -299,7 +922,11 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
       return;
     }
 
-    sendRequest(pollContext);
+    if (requestPlan.isPartitioned()) {
+      pollPartitions(pollContext);
+    } else {
+      sendRequest(pollContext);
+    }
   }
 
   @Override
@@ -308,6 +935,157 @@ public class HttpPollingSource extends PollingSource<String, HttpResponseAttribu
                  result.getOutput());
   }
 
+  /**
+   * A page of the response to request.
+   */
+  private static final class PageRequest {
+
+    private final String uri;
+    private final String partition;
+    private final boolean includesConfiguredQueryParams;
+    private final MultiMap<String, String> queryParams;
+    private final int offset;
+    private final String token;
+    private final MultiMap<String, String> headers;
+
+    private PageRequest(String uri, String partition, boolean includesConfiguredQueryParams,
+                        MultiMap<String, String> queryParams, int offset, String token, MultiMap<String, String> headers) {
+      this.uri = uri;
+      this.partition = partition;
+      this.includesConfiguredQueryParams = includesConfiguredQueryParams;
+      this.queryParams = queryParams;
+      this.offset = offset;
+      this.token = token;
+      this.headers = headers;
+    }
+  }
+
+  /**
+   * A partition of the source, with the watermark it had when the poll started and the latest one among its dispatched items.
+   * Items with the same watermark as the stored one are told apart by their ids, as the runtime does for the source watermark.
+   */
+  private static final class Partition {
+
+    private final String name;
+    private final Serializable watermark;
+    private final Set<String> processedIds;
+    private Serializable latestWatermark;
+    private Set<String> latestIds = new HashSet<>();
+
+    private Partition(String name, Serializable watermark, Set<String> processedIds) {
+      this.name = name;
+      this.watermark = watermark;
+      this.processedIds = processedIds != null ? processedIds : emptySet();
+    }
+
+    private boolean isProcessed(Serializable itemWatermark, String id) {
+      if (itemWatermark == null || watermark == null) {
+        return false;
+      }
+      int comparison = compare(itemWatermark, watermark);
+      return comparison < 0 || (comparison == 0 && id != null && processedIds.contains(id));
+    }
+
+    private void accepted(Serializable itemWatermark, String id) {
+      if (itemWatermark == null) {
+        return;
+      }
+      int comparison = latestWatermark == null ? 1 : compare(itemWatermark, latestWatermark);
+      if (comparison > 0) {
+        latestWatermark = itemWatermark;
+        latestIds = new HashSet<>();
+      }
+      if (comparison >= 0 && id != null) {
+        latestIds.add(id);
+      }
+    }
+
+    /**
+     * @return the watermark and ids to store after the poll, or {@code null} if no item had a watermark
+     */
+    private HashMap<String, Serializable> getNextState() {
+      if (latestWatermark == null) {
+        return null;
+      }
+      HashSet<String> ids = new HashSet<>(latestIds);
+      if (watermark != null && compare(latestWatermark, watermark) == 0) {
+        ids.addAll(processedIds);
+      }
+      HashMap<String, Serializable> state = new HashMap<>();
+      state.put(WATERMARK_PLACEHOLDER, latestWatermark);
+      state.put(PARTITION_IDS, ids);
+      return state;
+    }
+
+    /**
+     * Watermarks that aren't comparable to each other are only told apart by equality, a different one being the latest.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compare(Serializable watermark, Serializable other) {
+      if (watermark instanceof Comparable && watermark.getClass().isInstance(other)) {
+        return ((Comparable<Serializable>) watermark).compareTo(other);
+      }
+      return watermark.equals(other) ? 0 : 1;
+    }
+  }
+
+  /**
+   * Accepts the {@code 304 Not Modified} answers to conditional requests, validating any other response with the configured
+   * validator.
+   */
+  private static final class NotModifiedResponseValidator implements ResponseValidator {
+
+    private final ResponseValidator delegate;
+
+    private NotModifiedResponseValidator(ResponseValidator delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void validate(Result<InputStream, HttpResponseAttributes> result, HttpRequest request) {
+      if (!isNotModified(result)) {
+        delegate.validate(result, request);
+      }
+    }
+
+    @Override
+    public void validate(Result<InputStream, HttpResponseAttributes> result, HttpRequest request,
+                         StreamingHelper streamingHelper) {
+      if (!isNotModified(result)) {
+        delegate.validate(result, request, streamingHelper);
+      }
+    }
+
+    @Override
+    public boolean mayConsumeBody() {
+      return delegate.mayConsumeBody();
+    }
+
+    private static boolean isNotModified(Result<InputStream, HttpResponseAttributes> result) {
+      return result.getAttributes().map(attributes -> attributes.getStatusCode() == NOT_MODIFIED.getStatusCode())
+          .orElse(false);
+    }
+  }
+
+  /**
+   * The response, or the error, of the request of a partition.
+   */
+  private static final class PartitionResponse {
+
+    private final Partition partition;
+    private final String uri;
+    private final Result<InputStream, HttpResponseAttributes> result;
+    private final Throwable error;
+
+    private PartitionResponse(Partition partition, String uri, Result<InputStream, HttpResponseAttributes> result,
+                              Throwable error) {
+      this.partition = partition;
+      this.uri = uri;
+      this.result = result;
+      this.error = error;
+    }
+  }
+
   private static Result<String, HttpResponseAttributes> toStringResult(Result<TypedValue<?>, HttpResponseAttributes> org) {
     return Result.<String, HttpResponseAttributes>builder().attributes(org.getAttributes().get())
         .output(org.getOutput().getValue().toString()).mediaType(org.getMediaType().get()).build();
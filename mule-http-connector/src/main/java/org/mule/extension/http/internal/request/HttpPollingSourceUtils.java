@@ -8,38 +8,26 @@ package org.mule.extension.http.internal.request;
 
 import static java.lang.String.format;
 import static java.util.Optional.empty;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 import static org.mule.extension.http.internal.request.HttpPollingSource.ATTRIBUTES_PLACEHOLDER;
 import static org.mule.extension.http.internal.request.HttpPollingSource.ITEM_PLACEHOLDER;
 import static org.mule.extension.http.internal.request.HttpPollingSource.PAYLOAD_PLACEHOLDER;
 import static org.mule.extension.http.internal.request.HttpPollingSource.WATERMARK_PLACEHOLDER;
-import static org.mule.extension.http.internal.request.KeyValuePairUtils.toMultiMap;
 import static org.mule.runtime.api.el.ValidationResult.success;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JAVA;
-import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
-import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
 
 import org.mule.extension.http.api.HttpResponseAttributes;
-import org.mule.extension.http.api.request.builder.KeyValuePair;
-import org.mule.extension.http.api.request.builder.SimpleQueryParam;
-import org.mule.extension.http.api.request.builder.SimpleRequestHeader;
-import org.mule.extension.http.api.request.builder.SimpleUriParam;
 import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.el.ExpressionLanguage;
 import org.mule.runtime.api.el.ValidationResult;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.metadata.MediaType;
 import org.mule.runtime.api.metadata.TypedValue;
-import org.mule.runtime.api.util.MultiMap;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.parameter.Literal;
 
 import java.io.Serializable;
-import java.util.List;
-import java.util.Map;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -66,10 +54,6 @@ public final class HttpPollingSourceUtils {
     return builder.build();
   }
 
-  private static BindingContext buildContextForRequest(Serializable watermark) {
-    return buildContext(empty(), empty(), watermark, empty());
-  }
-
   private static Result<TypedValue<?>, HttpResponseAttributes> toResult(TypedValue<?> item, MediaType mediaType,
                                                                         HttpResponseAttributes attributes) {
     return Result.<TypedValue<?>, HttpResponseAttributes>builder().attributes(attributes).output(item).mediaType(mediaType)
@@ -114,99 +98,50 @@ public final class HttpPollingSourceUtils {
   }
 
   /**
-   * @param payload
-   * @param watermarkExpression
-   * @param currentWatermark
-   * @param item
-   * @param expressionLanguage
-   * @return Given a payload, current watermark, and current item (payload and attributes of the response), uses the watermark
-   *         expression to extract the new watermark value from the payload, item and or attributes.
-   */
-  public static Serializable getItemWatermark(TypedValue<String> payload, String watermarkExpression,
-                                              Serializable currentWatermark, Result<TypedValue<?>, HttpResponseAttributes> item,
-                                              ExpressionLanguage expressionLanguage) {
-    return (Serializable) resolveExpression(payload, watermarkExpression, currentWatermark, item, expressionLanguage).getValue();
-  }
-
-  /**
-   * @param payload
-   * @param idExpression
-   * @param currentWatermark
-   * @param item
-   * @param expressionLanguage
-   * @return Given a payload, current watermark, and current item (payload and attributes of the response), uses the id expression
-   *         to extract the item's id value from the item (and potentially payload and/or attributes).
-   */
-  public static String getItemId(TypedValue<String> payload, String idExpression, Serializable currentWatermark,
-                                 Result<TypedValue<?>, HttpResponseAttributes> item, ExpressionLanguage expressionLanguage) {
-    return (String) resolveExpression(payload, idExpression, currentWatermark, item, expressionLanguage).getValue();
-  }
-
-  private static TypedValue<?> resolveExpression(TypedValue<String> payload, String idExpression, Serializable currentWatermark,
-                                                 Result<TypedValue<?>, HttpResponseAttributes> item,
-                                                 ExpressionLanguage expressionLanguage) {
-    return expressionLanguage
-        .evaluate(idExpression, STRING,
-                  buildContext(Optional.of(payload), item.getAttributes(), currentWatermark, Optional.of(item.getOutput())));
-  }
-
-
-  /**
-   * @param bodyExpression
-   * @param currentWatermark
-   * @param expressionLanguage
-   * @return the resolution of the expression, that can depend on the watermark's current value. If it's not an expression,
-   *         returns the raw body without evaluating it
+   * Finds the target of the {@code next} link among the values of the {@code Link} header of a response, as defined by RFC 8288.
+   *
+   * @param linkHeaders the values of the {@code Link} header
+   * @return the target of the {@code next} link, as it appears in the header, if there's one
    */
-  public static TypedValue<?> resolveBody(String bodyExpression, Serializable currentWatermark,
-                                          ExpressionLanguage expressionLanguage) {
-    if (!isExpression(bodyExpression)) {
-      return TypedValue.of(bodyExpression);
+  public static Optional<String> getNextLink(Collection<String> linkHeaders) {
+    for (String header : linkHeaders) {
+      int index = 0;
+      while (true) {
+        int targetStart = header.indexOf('<', index);
+        int targetEnd = targetStart < 0 ? -1 : header.indexOf('>', targetStart);
+        if (targetEnd < 0) {
+          break;
+        }
+        // the parameters of the link go until the next one, whose target may contain commas
+        int paramsEnd = header.indexOf('<', targetEnd);
+        String params = header.substring(targetEnd + 1, paramsEnd < 0 ? header.length() : paramsEnd);
+        if (isNextRelation(params)) {
+          return Optional.of(header.substring(targetStart + 1, targetEnd).trim());
+        }
+        if (paramsEnd < 0) {
+          break;
+        }
+        index = paramsEnd;
+      }
     }
-    return expressionLanguage.evaluate(bodyExpression, buildContextForRequest(currentWatermark));
-  }
-
-  /**
-   * @param headers
-   * @param currentWatermark
-   * @param expressionLanguage
-   * @return the resolution of the expression for each header, that can depend on the watermark's current value. the headers that
-   *         are not expressions will be left as are
-   */
-  public static MultiMap<String, String> resolveHeaders(List<SimpleRequestHeader> headers, Serializable currentWatermark,
-                                                        ExpressionLanguage expressionLanguage) {
-    return toMultiMap(headers.stream()
-        .map(pair -> new ResolvedKeyValue(pair.getKey(),
-                                          resolveIfExpression(pair.getValue(), currentWatermark, expressionLanguage)))
-        .collect(toList()));
-  }
-
-  /**
-   * @param queryParams
-   * @param currentWatermark
-   * @param expressionLanguage
-   * @return the resolution of the expression for each query parameter, that can depend on the watermark's current value. the
-   *         query parameters that are not expressions will be left as are
-   */
-  public static MultiMap<String, String> resolveQueryParams(List<SimpleQueryParam> queryParams, Serializable currentWatermark,
-                                                            ExpressionLanguage expressionLanguage) {
-    return toMultiMap(queryParams.stream()
-        .map(pair -> new ResolvedKeyValue(pair.getKey(),
-                                          resolveIfExpression(pair.getValue(), currentWatermark, expressionLanguage)))
-        .collect(toList()));
-  }
-
-  /**
-   * @param uriParams
-   * @param currentWatermark
-   * @param expressionLanguage
-   * @return the resolution of the expression for each uri parameter, that can depend on the watermark's current value. the uri
-   *         parameters that are not expressions will be left as are
-   */
-  public static Map<String, String> resolveUriParams(List<SimpleUriParam> uriParams, Serializable currentWatermark,
-                                                     ExpressionLanguage expressionLanguage) {
-    return uriParams.stream()
-        .collect(toMap(SimpleUriParam::getKey, up -> resolveIfExpression(up.getValue(), currentWatermark, expressionLanguage)));
+    return empty();
+  }
+
+  private static boolean isNextRelation(String linkParams) {
+    for (String param : linkParams.split(";")) {
+      int equals = param.indexOf('=');
+      if (equals < 0 || !"rel".equalsIgnoreCase(param.substring(0, equals).trim())) {
+        continue;
+      }
+      String relations = param.substring(equals + 1).replace(",", " ").replace("\"", " ").trim();
+      // the relation may be a space separated list of relation types
+      for (String relation : relations.split("\\s+")) {
+        if ("next".equalsIgnoreCase(relation)) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   /**
@@ -215,42 +150,9 @@ public final class HttpPollingSourceUtils {
    * @return the {@link ValidationResult} for a given expression. Success, in case it is not actually an expression.
    */
   public static ValidationResult isValidExpression(String expression, ExpressionLanguage expressionLanguage) {
-    if (!isExpression(expression)) {
+    if (!PollingExpression.isExpression(expression)) {
       return success();
     }
     return expressionLanguage.validate(expression);
   }
-
-  private static String resolveIfExpression(String exp, Serializable currentWatermark, ExpressionLanguage expressionLanguage) {
-    if (!isExpression(exp)) {
-      return exp;
-    }
-    return expressionLanguage.evaluate(exp, buildContextForRequest(currentWatermark)).getValue().toString();
-  }
-
-  private static boolean isExpression(String value) {
-    String trim = value.trim();
-    return trim.startsWith(DEFAULT_EXPRESSION_PREFIX) && trim.endsWith(DEFAULT_EXPRESSION_POSTFIX);
-  }
-
-  private static final class ResolvedKeyValue implements KeyValuePair {
-
-    private String key;
-    private String value;
-
-    public ResolvedKeyValue(String key, String value) {
-      this.key = key;
-      this.value = value;
-    }
-
-    @Override
-    public String getKey() {
-      return key;
-    }
-
-    @Override
-    public String getValue() {
-      return value;
-    }
-  }
 }
@@ -12,8 +12,12 @@ import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
+import static org.mule.extension.http.api.HttpHeaders.Names.RETRY_AFTER;
+import static org.mule.extension.http.api.error.HttpError.CIRCUIT_OPEN;
 import static org.mule.extension.http.api.error.HttpError.CONNECTIVITY;
+import static org.mule.extension.http.api.error.HttpError.REQUEST_LIMIT_EXCEEDED;
 import static org.mule.extension.http.api.error.HttpError.TIMEOUT;
 import static org.mule.extension.http.api.notification.HttpNotificationAction.REQUEST_COMPLETE;
 import static org.mule.extension.http.api.notification.HttpNotificationAction.REQUEST_START;
@@ -22,6 +26,7 @@ import static org.mule.extension.http.internal.HttpConnectorConstants.IDEMPOTENT
 import static org.mule.extension.http.internal.HttpConnectorConstants.REMOTELY_CLOSED;
 import static org.mule.extension.http.internal.HttpConnectorConstants.RETRY_ATTEMPTS_PROPERTY;
 import static org.mule.extension.http.internal.HttpConnectorConstants.RETRY_ON_ALL_METHODS_PROPERTY;
+import static org.mule.extension.http.internal.request.EmptyDistributedTraceContextManager.isEmpty;
 import static org.mule.extension.http.internal.request.profiling.tracing.HttpRequestCurrentSpanCustomizer.getHttpRequesterCurrentSpanCustomizer;
 import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.addStatusCodeAttribute;
 import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.updateClientSpanStatus;
@@ -35,11 +40,17 @@ import org.mule.extension.http.api.error.HttpRequestFailedException;
 import org.mule.extension.http.api.notification.HttpRequestNotificationData;
 import org.mule.extension.http.api.notification.HttpResponseNotificationData;
 import org.mule.extension.http.api.request.HttpSendBodyMode;
+import org.mule.extension.http.api.request.authentication.DigestAuthentication;
 import org.mule.extension.http.api.request.authentication.HttpRequestAuthentication;
 import org.mule.extension.http.api.request.client.UriParameters;
+import org.mule.extension.http.api.request.coalescing.HttpRequestCoalescing;
+import org.mule.extension.http.api.request.retry.HttpRetryPolicy;
 import org.mule.extension.http.api.request.validator.ResponseValidator;
 import org.mule.extension.http.api.streaming.HttpStreamingType;
+import org.mule.extension.http.internal.request.client.BufferedHttpEntity;
+import org.mule.extension.http.internal.request.client.CircuitBreakerOpenException;
 import org.mule.extension.http.internal.request.client.HttpExtensionClient;
+import org.mule.extension.http.internal.request.client.RequestLimitExceededException;
 import org.mule.extension.http.internal.request.profiling.HttpRequestResponseProfilingDataProducerAdaptor;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.metadata.DataType;
@@ -47,6 +58,7 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
 import org.mule.runtime.api.transformation.TransformationService;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.IOUtils;
@@ -58,6 +70,7 @@ import org.mule.runtime.extension.api.runtime.streaming.StreamingHelper;
 import org.mule.runtime.http.api.client.auth.HttpAuthentication;
 import org.mule.runtime.http.api.domain.entity.HttpEntity;
 import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 import org.mule.sdk.api.runtime.source.DistributedTraceContextManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +79,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.URI;
 import java.nio.channels.UnresolvedAddressException;
 import java.util.HashSet;
 import java.util.List;
@@ -74,6 +88,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
@@ -148,12 +163,14 @@ public class HttpRequester {
                                                           authentication, injectedHeaders, requestCreator,
                                                           distributedTraceContextManager);
 
-    getHttpRequesterCurrentSpanCustomizer(httpRequester).customizeSpan(distributedTraceContextManager);
+    if (!isEmpty(distributedTraceContextManager)) {
+      getHttpRequesterCurrentSpanCustomizer(httpRequester).customizeSpan(distributedTraceContextManager);
+    }
 
     doRequestWithRetry(client, config, uri, method, streamingMode, sendBodyMode, followRedirects, authentication, resolvedTimeout,
                        responseValidator, transformationService, requestCreator, checkRetry, muleContext, scheduler,
                        notificationEmitter, streamingHelper, callback, httpRequester,
-                       RETRY_ATTEMPTS, injectedHeaders, distributedTraceContextManager);
+                       RETRY_ATTEMPTS, 0, injectedHeaders, distributedTraceContextManager);
   }
 
   public Result<InputStream, HttpResponseAttributes> doSyncRequest(HttpExtensionClient client, HttpRequesterConfig config,
@@ -196,18 +213,40 @@ public class HttpRequester {
                                   NotificationEmitter notificationEmitter,
                                   StreamingHelper streamingHelper,
                                   CompletionCallback<InputStream, HttpResponseAttributes> callback, HttpRequest httpRequest,
-                                  int retryCount, Map<String, List<String>> injectedHeaders,
+                                  int retryCount, int retryAttempt, Map<String, List<String>> injectedHeaders,
                                   DistributedTraceContextManager distributedTraceContextManager) {
     fireNotification(notificationEmitter, REQUEST_START, () -> HttpRequestNotificationData.from(httpRequest),
                      REQUEST_NOTIFICATION_DATA_TYPE);
 
-    client.send(httpRequest, responseTimeout, followRedirects, resolveAuthentication(authentication), sendBodyMode)
+    send(client, config, httpRequest, responseTimeout, followRedirects, authentication, sendBodyMode, scheduler)
         .whenComplete((response, exception) -> {
           if (response != null) {
             try {
               fireNotification(notificationEmitter, REQUEST_COMPLETE, () -> HttpResponseNotificationData.from(response),
                                RESPONSE_NOTIFICATION_DATA_TYPE);
 
+              long retryDelay = getResponseRetryDelay(config.getRetryPolicy(), response, retryAttempt, httpRequest);
+              if (retryDelay >= 0) {
+                try {
+                  scheduleRetry(scheduler, retryDelay,
+                                () -> doRequestWithRetry(client, config, uri, method, streamingMode, sendBodyMode,
+                                                         followRedirects, authentication, responseTimeout, responseValidator,
+                                                         transformationService, requestCreator, checkRetry, muleContext,
+                                                         scheduler, notificationEmitter, streamingHelper, callback, httpRequest,
+                                                         retryCount, retryAttempt + 1, injectedHeaders,
+                                                         distributedTraceContextManager));
+                  try {
+                    scheduler.submit(() -> consumeEntity(response.getEntity()));
+                  } catch (RejectedExecutionException e) {
+                    logger.debug("Body of the retried response from {} could not be consumed", httpRequest.getUri(), e);
+                  }
+                  return;
+                } catch (RejectedExecutionException e) {
+                  // the response is handled as if it wasn't retryable
+                  logger.warn("Retry of HTTP request to {} could not be scheduled: {}", httpRequest.getUri(), e.getMessage());
+                }
+              }
+
               HttpEntity entity = response.getEntity();
 
               Supplier<Object> resultInputStreamSupplier =
@@ -216,7 +255,7 @@ public class HttpRequester {
               Result<Object, HttpResponseAttributes> result = httpResponseToResult
                   .convert(config, muleContext, response, entity, resultInputStreamSupplier, httpRequest.getUri());
 
-              resendRequest(result, checkRetry, authentication, () -> {
+              resendRequest(httpRequest, result, checkRetry, authentication, () -> {
                 scheduler.submit(() -> consumePayload(result));
                 doRequest(client, config, uri, method, streamingMode, sendBodyMode, followRedirects,
                           authentication, responseTimeout, responseValidator, transformationService,
@@ -253,16 +292,32 @@ public class HttpRequester {
           } else {
             checkIfRemotelyClosed(exception, client.getDefaultUriParameters());
 
-            if (shouldRetryRemotelyClosed(exception, retryCount, httpRequest)) {
+            HttpRetryPolicy retryPolicy = config.getRetryPolicy();
+            if (retryPolicy == null && shouldRetryRemotelyClosed(exception, retryCount, httpRequest)) {
               doRequestWithRetry(client, config, uri, method, streamingMode, sendBodyMode, followRedirects, authentication,
                                  responseTimeout, responseValidator, transformationService, requestCreator, checkRetry,
                                  muleContext, scheduler, notificationEmitter, streamingHelper, callback, httpRequest,
-                                 retryCount - 1, injectedHeaders, distributedTraceContextManager);
+                                 retryCount - 1, retryAttempt, injectedHeaders, distributedTraceContextManager);
               return;
             }
 
+            long retryDelay = getExceptionRetryDelay(retryPolicy, exception, retryAttempt, httpRequest);
+            if (retryDelay >= 0) {
+              try {
+                scheduleRetry(scheduler, retryDelay,
+                              () -> doRequestWithRetry(client, config, uri, method, streamingMode, sendBodyMode, followRedirects,
+                                                       authentication, responseTimeout, responseValidator,
+                                                       transformationService, requestCreator, checkRetry, muleContext, scheduler,
+                                                       notificationEmitter, streamingHelper, callback, httpRequest, retryCount,
+                                                       retryAttempt + 1, injectedHeaders, distributedTraceContextManager));
+                return;
+              } catch (Exception e) {
+                logger.warn("Retry of HTTP request to {} could not be scheduled: {}", httpRequest.getUri(), e.getMessage());
+              }
+            }
+
             logger.error(getErrorMessage(httpRequest));
-            HttpError error = exception instanceof TimeoutException ? TIMEOUT : CONNECTIVITY;
+            HttpError error = getErrorForException(exception);
             callback.error(new HttpRequestFailedException(createStaticMessage(httpErrorMessageGenerator
                 .createFrom(httpRequest,
                             getExceptionMessage(exception))),
@@ -274,6 +329,12 @@ public class HttpRequester {
   private Supplier<Object> resultInputStreamSupplier(StreamingHelper streamingHelper, HttpEntity entity,
                                                      HttpRequestAuthentication authentication,
                                                      ResponseValidator responseValidator) {
+    if (entity instanceof BufferedHttpEntity) {
+      // the body is already in memory, possibly shared with other responses, so it's handed out without buffering it again
+      CursorStreamProvider bufferedProvider = ((BufferedHttpEntity) entity).newCursorProvider();
+      return bufferedProvider::openCursor;
+    }
+
     if (streamingHelper == null) {
       return entity::getContent;
     }
@@ -341,10 +402,10 @@ public class HttpRequester {
     return format("Error sending HTTP request to %s", httpRequest.getUri());
   }
 
-  private void resendRequest(Result result, boolean retry, HttpRequestAuthentication authentication, Runnable retryCallback,
-                             Runnable notRetryCallback) {
+  private void resendRequest(HttpRequest httpRequest, Result result, boolean retry, HttpRequestAuthentication authentication,
+                             Runnable retryCallback, Runnable notRetryCallback) {
     if (retry && authentication != null) {
-      authentication.retryIfShould(result, retryCallback, notRetryCallback);
+      authentication.retryIfShould(httpRequest, result, retryCallback, notRetryCallback);
     } else {
       notRetryCallback.run();
     }
@@ -360,8 +421,13 @@ public class HttpRequester {
     }
   }
 
-  private HttpAuthentication resolveAuthentication(HttpRequestAuthentication authentication) {
+  private HttpAuthentication resolveAuthentication(HttpRequestAuthentication authentication, HttpRequest httpRequest) {
     HttpAuthentication requestAuthentication = null;
+    if (authentication instanceof DigestAuthentication
+        && ((DigestAuthentication) authentication).answersChallenges(httpRequest.getUri())) {
+      // the challenges are answered by the authentication itself, instead of by the client for every request
+      return null;
+    }
     if (authentication instanceof HttpAuthentication) {
       requestAuthentication = (HttpAuthentication) authentication;
     }
@@ -394,6 +460,109 @@ public class HttpRequester {
     return shouldRetry;
   }
 
+  private long getResponseRetryDelay(HttpRetryPolicy retryPolicy, HttpResponse response, int retryAttempt,
+                                     HttpRequest httpRequest) {
+    if (retryPolicy == null || !retryPolicy.isRetryableStatusCode(response.getStatusCode())) {
+      return -1;
+    }
+
+    long retryDelay = getRetryDelay(retryPolicy, retryAttempt, httpRequest, response.getHeaderValue(RETRY_AFTER));
+    if (retryDelay >= 0) {
+      logger.warn("HTTP request to {} returned status code {}. Request will be retried in {} ms (retry {} of {}).",
+                  httpRequest.getUri(), response.getStatusCode(), retryDelay, retryAttempt + 1, retryPolicy.getMaxRetries());
+    }
+    return retryDelay;
+  }
+
+  private CompletableFuture<HttpResponse> send(HttpExtensionClient client, HttpRequesterConfig config, HttpRequest httpRequest,
+                                               int responseTimeout, boolean followRedirects,
+                                               HttpRequestAuthentication authentication, HttpSendBodyMode sendBodyMode,
+                                               Scheduler scheduler) {
+    HttpRequestCoalescing requestCoalescing = config.getRequestCoalescing();
+    if (requestCoalescing == null) {
+      return client.send(httpRequest, responseTimeout, followRedirects, resolveAuthentication(authentication, httpRequest),
+                         sendBodyMode);
+    }
+    return requestCoalescing.getCoalescer()
+        .send(httpRequest,
+              request -> client.send(request, responseTimeout, followRedirects, resolveAuthentication(authentication, request),
+                                     sendBodyMode),
+              scheduler);
+  }
+
+  private HttpError getErrorForException(Throwable exception) {
+    if (exception instanceof TimeoutException) {
+      return TIMEOUT;
+    }
+    if (exception instanceof RequestLimitExceededException) {
+      return REQUEST_LIMIT_EXCEEDED;
+    }
+    return exception instanceof CircuitBreakerOpenException ? CIRCUIT_OPEN : CONNECTIVITY;
+  }
+
+  private long getExceptionRetryDelay(HttpRetryPolicy retryPolicy, Throwable exception, int retryAttempt,
+                                      HttpRequest httpRequest) {
+    // requests rejected on the client side are not retried, that would only add more load to the limits that rejected them
+    if (retryPolicy == null || exception instanceof CircuitBreakerOpenException
+        || exception instanceof RequestLimitExceededException || !retryPolicy.isRetryableException(exception)) {
+      return -1;
+    }
+
+    long retryDelay = getRetryDelay(retryPolicy, retryAttempt, httpRequest, null);
+    if (retryDelay >= 0) {
+      logger.warn("Sending HTTP request to {} failed with `{}`. Request will be retried in {} ms (retry {} of {}).",
+                  httpRequest.getUri(), getExceptionMessage(exception), retryDelay, retryAttempt + 1,
+                  retryPolicy.getMaxRetries());
+    }
+    return retryDelay;
+  }
+
+  private long getRetryDelay(HttpRetryPolicy retryPolicy, int retryAttempt, HttpRequest httpRequest, String retryAfter) {
+    if (retryAttempt >= retryPolicy.getMaxRetries() || !supportsRetry(httpRequest.getMethod())) {
+      return -1;
+    }
+
+    if (!entitySupportRetry(httpRequest)) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Request to {} will not be retried because entity not support retry.", httpRequest.getUri());
+      }
+      return -1;
+    }
+
+    long retryDelay = retryPolicy.getRetryDelay(retryAttempt, retryAfter);
+    if (retryDelay < 0) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Request to {} will not be retried because the server asked to retry after '{}'.", httpRequest.getUri(),
+                     retryAfter);
+      }
+      return -1;
+    }
+
+    URI requestUri = httpRequest.getUri();
+    if (!retryPolicy.tryAcquireRetry(requestUri.getHost() + ":" + requestUri.getPort())) {
+      logger.warn("Request to {} will not be retried because the retry budget for the host is exhausted.", requestUri);
+      return -1;
+    }
+
+    return retryDelay;
+  }
+
+  private void scheduleRetry(Scheduler scheduler, long retryDelay, Runnable retry) {
+    if (retryDelay == 0) {
+      scheduler.submit(retry);
+    } else {
+      scheduler.schedule(retry, retryDelay, MILLISECONDS);
+    }
+  }
+
+  private void consumeEntity(HttpEntity entity) {
+    try {
+      IOUtils.toByteArray(entity.getContent());
+    } catch (Exception e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
   private boolean supportsRetry(String httpMethod) {
     return RETRY_ON_ALL_METHODS || IDEMPOTENT_METHODS.contains(httpMethod);
   }
@@ -7,10 +7,13 @@
 package org.mule.extension.http.internal.request;
 
 import static org.mule.extension.http.internal.HttpConnectorConstants.URL_CONFIGURATION;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 
 import org.mule.extension.http.api.request.HttpSendBodyMode;
 import org.mule.extension.http.api.request.builder.QueryParam;
 import org.mule.extension.http.api.request.builder.RequestHeader;
+import org.mule.extension.http.api.request.coalescing.HttpRequestCoalescing;
+import org.mule.extension.http.api.request.retry.HttpRetryPolicy;
 import org.mule.extension.http.api.streaming.HttpStreamingType;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -59,6 +62,12 @@ public class HttpRequesterConfig implements Initialisable, HttpRequesterCookieCo
     if (requestSettings.isEnableCookies()) {
       cookieManager = new CookieManager();
     }
+    if (requestSettings.getRetryPolicy() != null) {
+      initialiseIfNeeded(requestSettings.getRetryPolicy(), true, muleContext);
+    }
+    if (requestSettings.getRequestCoalescing() != null) {
+      initialiseIfNeeded(requestSettings.getRequestCoalescing(), true, muleContext);
+    }
   }
 
   public String getBasePath() {
@@ -89,6 +98,14 @@ public class HttpRequesterConfig implements Initialisable, HttpRequesterCookieCo
     return requestSettings.isPreserveHeadersCase();
   }
 
+  public HttpRetryPolicy getRetryPolicy() {
+    return requestSettings.getRetryPolicy();
+  }
+
+  public HttpRequestCoalescing getRequestCoalescing() {
+    return requestSettings.getRequestCoalescing();
+  }
+
   public Integer getResponseTimeout() {
     return responseSettings.getResponseTimeout();
   }
@@ -6,9 +6,14 @@
  */
 package org.mule.extension.http.internal.request;
 
+import static java.lang.Long.getLong;
 import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.extension.http.internal.HttpConnectorConstants.CLIENT_IDLE_EVICTION_TIME_PROPERTY;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.http.api.HttpService;
 import org.mule.runtime.http.api.client.HttpClient;
@@ -17,31 +22,58 @@ import org.mule.runtime.http.api.client.auth.HttpAuthentication;
 import org.mule.runtime.http.api.domain.message.request.HttpRequest;
 import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import javax.inject.Inject;
 
 /**
  * Manages {@link ShareableHttpClient ShareableHttpClients} across multiple configurations based on their name, meaning two
- * configurations spawning from the same prototype will receive the same {@link ShareableHttpClient}.
+ * configurations spawning from the same prototype will receive the same {@link ShareableHttpClient}. Configurations may also
+ * share a {@link ShareableHttpClient} with any other whose client settings are the same, see
+ * {@link #lookupOrCreate(String, Object, Supplier)}.
+ * <p>
+ * Clients that nobody has used for longer than the time set through the {@code mule.http.requester.clientIdleEvictionTime}
+ * system property, in milliseconds, are removed.
  *
  * @since 1.0
  */
 public class HttpRequesterConnectionManager implements Disposable {
 
+  private static final long DEFAULT_IDLE_EVICTION_TIME = MINUTES.toMillis(5);
+
   @Inject
   private HttpService httpService;
 
-  private Map<String, ShareableHttpClient> clients = new HashMap<>();
+  private final ConcurrentMap<String, ShareableHttpClient> clients = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Object, ShareableHttpClient> sharedClients = new ConcurrentHashMap<>();
+  private final long idleEvictionNanos;
+  private final LongSupplier nanoClock;
 
-  public HttpRequesterConnectionManager() {}
+  public HttpRequesterConnectionManager() {
+    this(null);
+  }
 
   public HttpRequesterConnectionManager(HttpService httpService) {
+    this(httpService, MILLISECONDS.toNanos(getLong(CLIENT_IDLE_EVICTION_TIME_PROPERTY, DEFAULT_IDLE_EVICTION_TIME)),
+         System::nanoTime);
+  }
+
+  /**
+   * @param httpService       the service clients are created with
+   * @param idleEvictionNanos time after which clients that nobody uses are removed
+   * @param nanoClock         provides the current time in nanoseconds
+   *
+   * @since 1.11
+   */
+  public HttpRequesterConnectionManager(HttpService httpService, long idleEvictionNanos, LongSupplier nanoClock) {
     this.httpService = httpService;
+    this.idleEvictionNanos = idleEvictionNanos;
+    this.nanoClock = nanoClock;
   }
 
   /**
@@ -66,10 +98,11 @@ public class HttpRequesterConnectionManager implements Disposable {
    * @deprecated use {@link #lookupOrCreate} instead.
    */
   @Deprecated
-  public synchronized ShareableHttpClient create(String configName, HttpClientConfiguration clientConfiguration) {
+  public ShareableHttpClient create(String configName, HttpClientConfiguration clientConfiguration) {
     checkArgument(!clients.containsKey(configName), format("There's an HttpClient available for %s already.", configName));
-    ShareableHttpClient client = new ShareableHttpClient(httpService.getClientFactory().create(clientConfiguration));
-    clients.put(configName, client);
+    ShareableHttpClient client = newClient(clientConfiguration);
+    checkArgument(clients.putIfAbsent(configName, client) == null,
+                  format("There's an HttpClient available for %s already.", configName));
     return client;
   }
 
@@ -82,15 +115,35 @@ public class HttpRequesterConnectionManager implements Disposable {
    *                       {@link ShareableHttpClient} is created.
    * @return the corresponding {@link ShareableHttpClient} if found or a new {@link ShareableHttpClient} otherwise.
    */
-  public synchronized ShareableHttpClient lookupOrCreate(String configName,
-                                                         Supplier<? extends HttpClientConfiguration> configSupplier) {
+  public ShareableHttpClient lookupOrCreate(String configName, Supplier<? extends HttpClientConfiguration> configSupplier) {
+    evictIdleClients();
+    return clients.computeIfAbsent(configName, name -> newClient(configSupplier.get()));
+  }
+
+  /**
+   * Same as {@link #lookupOrCreate(String, Supplier)}, but the created {@link ShareableHttpClient} is shared with all the
+   * configurations that pass an equal {@code sharingKey}, so that they use the same underlying client and its selectors and
+   * connection pools.
+   *
+   * @param configName     the name of the client to look for.
+   * @param sharingKey     identifies the client settings, configurations with equal keys get the same client.
+   * @param configSupplier a supplier from {@link HttpClientConfiguration}. It's only utilised if a new
+   *                       {@link ShareableHttpClient} is created.
+   * @return the corresponding {@link ShareableHttpClient} if found or a new {@link ShareableHttpClient} otherwise.
+   *
+   * @since 1.11
+   */
+  public ShareableHttpClient lookupOrCreate(String configName, Object sharingKey,
+                                            Supplier<? extends HttpClientConfiguration> configSupplier) {
+    evictIdleClients();
     return clients.computeIfAbsent(configName,
-                                   name -> new ShareableHttpClient(httpService.getClientFactory().create(configSupplier.get())));
+                                   name -> sharedClients.computeIfAbsent(sharingKey, key -> newClient(configSupplier.get())));
   }
 
   @Override
   public void dispose() {
     clients.clear();
+    sharedClients.clear();
   }
 
   /**
@@ -101,7 +154,20 @@ public class HttpRequesterConnectionManager implements Disposable {
    * @since 1.5.21
    */
   public void disposeClient(String configName) {
-    clients.remove(configName);
+    ShareableHttpClient client = clients.remove(configName);
+    if (client != null && !clients.containsValue(client)) {
+      sharedClients.values().remove(client);
+    }
+  }
+
+  private ShareableHttpClient newClient(HttpClientConfiguration configuration) {
+    return new ShareableHttpClient(httpService.getClientFactory().create(configuration), nanoClock);
+  }
+
+  private void evictIdleClients() {
+    // a client evicted right when it's being looked up is just created again
+    clients.values().removeIf(client -> client.getIdleTime() > idleEvictionNanos);
+    sharedClients.values().removeIf(client -> client.getIdleTime() > idleEvictionNanos);
   }
 
 
@@ -20,14 +20,20 @@ import static org.mule.runtime.http.api.HttpConstants.Protocol.HTTPS;
 
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.extension.http.api.request.HttpConnectivityValidator;
 import org.mule.extension.http.api.request.authentication.HttpRequestAuthentication;
+import org.mule.extension.http.api.request.cache.HttpResponseCacheConfig;
+import org.mule.extension.http.api.request.circuitbreaker.HttpCircuitBreakerConfig;
 import org.mule.extension.http.api.request.client.UriParameters;
+import org.mule.extension.http.api.request.limit.HttpRequestLimitsConfig;
+import org.mule.extension.http.api.request.loadbalancing.HttpLoadBalancingConfig;
 import org.mule.extension.http.api.request.proxy.HttpProxyConfig;
 import org.mule.extension.http.api.request.validator.ResponseValidatorTypedException;
+import org.mule.extension.http.api.request.warmup.HttpConnectionWarmUpConfig;
 import org.mule.extension.http.internal.request.client.DefaultUriParameters;
 import org.mule.extension.http.internal.request.client.HttpExtensionClient;
 import org.mule.extension.socket.api.socket.tcp.TcpClientSocketProperties;
@@ -114,6 +120,61 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpExten
   @Placement(tab = "Connectivity Test")
   private HttpConnectivityValidator connectivityTest;
 
+  /**
+   * Circuit breaker for the requests sent through this connection, with an independent circuit per target host and port.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Circuit Breaker")
+  private HttpCircuitBreakerConfig circuitBreaker;
+
+  /**
+   * Limits on the number of concurrent requests and the request rate of this connection.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Request Limits")
+  private HttpRequestLimitsConfig requestLimits;
+
+  /**
+   * In-memory cache for the responses to {@code GET} and {@code HEAD} requests sent through this connection.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Caching")
+  private HttpResponseCacheConfig responseCache;
+
+  /**
+   * Load balancing of the requests sent to the host and port of this connection across several endpoints.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Load Balancing")
+  private HttpLoadBalancingConfig loadBalancing;
+
+  /**
+   * Connections to establish as soon as the connection is created, and to keep from being closed for being idle.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = "Warm-up")
+  private HttpConnectionWarmUpConfig warmUp;
+
   @Inject
   private MuleContext muleContext;
 
@@ -164,6 +225,26 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpExten
     if (connectivityTest != null) {
       initialiseIfNeeded(connectivityTest, true, muleContext);
     }
+    if (circuitBreaker != null) {
+      initialiseIfNeeded(circuitBreaker, true, muleContext);
+    }
+    if (requestLimits != null) {
+      initialiseIfNeeded(requestLimits, true, muleContext);
+    }
+    if (responseCache != null) {
+      initialiseIfNeeded(responseCache, true, muleContext);
+    }
+    if (loadBalancing != null) {
+      if (protocol.equals(HTTPS) && loadBalancing.isResolvingHost()) {
+        // the certificates and SNI would be checked against the addresses instead of the host
+        throw new InitialisationException(createStaticMessage("Load balancing across the addresses of the host can't be used "
+            + "with protocol HTTPS, configure the endpoints by host name instead"), this);
+      }
+      initialiseIfNeeded(loadBalancing, true, muleContext);
+    }
+    if (warmUp != null) {
+      initialiseIfNeeded(warmUp, true, muleContext);
+    }
 
     verifyConnectionsParameters();
   }
@@ -173,6 +254,18 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpExten
     if (authentication != null) {
       disposeIfNeeded(authentication, LOGGER);
     }
+    if (requestLimits != null) {
+      disposeIfNeeded(requestLimits, LOGGER);
+    }
+    if (responseCache != null) {
+      disposeIfNeeded(responseCache, LOGGER);
+    }
+    if (loadBalancing != null) {
+      disposeIfNeeded(loadBalancing, LOGGER);
+    }
+    if (warmUp != null) {
+      disposeIfNeeded(warmUp, LOGGER);
+    }
     // MULE-18757: it's necessary to clean up the httpClient in case the app
     // is associated with a domain.
     connectionManager.disposeClient(getConfigurationId());
@@ -192,15 +285,23 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpExten
 
   @Override
   public HttpExtensionClient connect() throws ConnectionException {
-    ShareableHttpClient httpClient = connectionManager.lookupOrCreate(getConfigurationId(), this::getHttpClientConfiguration);
+    ShareableHttpClient httpClient = connectionParams.getShareHttpClient()
+        ? connectionManager.lookupOrCreate(getConfigurationId(), getHttpClientSharingKey(), this::getHttpClientConfiguration)
+        : connectionManager.lookupOrCreate(getConfigurationId(), this::getHttpClientConfiguration);
     UriParameters uriParameters = new DefaultUriParameters(connectionParams.getProtocol(), connectionParams.getHost(),
                                                            connectionParams.getPort());
-    HttpExtensionClient extensionClient = new HttpExtensionClient(httpClient, uriParameters, authentication);
+    HttpExtensionClient extensionClient = new HttpExtensionClient(httpClient, uriParameters, authentication, circuitBreaker,
+                                                                  requestLimits, responseCache, loadBalancing,
+                                                                  connectionParams.getStreamResponse());
     try {
       extensionClient.start();
     } catch (MuleException e) {
       throw new ConnectionException(e);
     }
+    if (warmUp != null) {
+      // not waited for, requests sent in the meantime just establish their own connections
+      warmUp.warmUp(extensionClient, connectionParams);
+    }
 
     return extensionClient;
   }
@@ -222,6 +323,16 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpExten
     return configuration;
   }
 
+  /**
+   * Everything in the {@link HttpClientConfiguration} but its name, which is only used to name the client threads.
+   */
+  private Object getHttpClientSharingKey() {
+    return asList(muleContext.getConfiguration().getId(), tlsContext, proxyConfig, connectionParams.getClientSocketProperties(),
+                  connectionParams.getMaxConnections(), connectionParams.getUsePersistentConnections(),
+                  connectionParams.getConnectionIdleTimeout(), connectionParams.getStreamResponse(),
+                  connectionParams.getResponseBufferSize());
+  }
+
   private String getConfigurationId() {
     return muleContext.getConfiguration().getId() + "_" + configName;
   }
@@ -240,6 +351,12 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpExten
 
   @Override
   public void disconnect(HttpExtensionClient httpClient) {
+    if (warmUp != null) {
+      warmUp.stop(httpClient);
+    }
+    if (connectivityTest != null) {
+      connectivityTest.forget(httpClient);
+    }
     try {
       httpClient.stop();
     } catch (MuleException e) {
@@ -267,8 +384,8 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpExten
 
   @Override
   public int hashCode() {
-    return Objects.hash(authentication, configName, connectionParams, connectivityTest, proxyConfig,
-                        tlsContext);
+    return Objects.hash(authentication, circuitBreaker, configName, connectionParams, connectivityTest, loadBalancing,
+                        proxyConfig, requestLimits, responseCache, tlsContext, warmUp);
   }
 
   @Override
@@ -284,11 +401,16 @@ public class HttpRequesterProvider implements CachedConnectionProvider<HttpExten
     }
     HttpRequesterProvider other = (HttpRequesterProvider) obj;
     return Objects.equals(authentication, other.authentication)
+        && Objects.equals(circuitBreaker, other.circuitBreaker)
         && Objects.equals(configName, other.configName)
         && Objects.equals(connectionParams, other.connectionParams)
         && Objects.equals(connectivityTest, other.connectivityTest)
+        && Objects.equals(loadBalancing, other.loadBalancing)
         && Objects.equals(proxyConfig, other.proxyConfig)
-        && Objects.equals(tlsContext, other.tlsContext);
+        && Objects.equals(requestLimits, other.requestLimits)
+        && Objects.equals(responseCache, other.responseCache)
+        && Objects.equals(tlsContext, other.tlsContext)
+        && Objects.equals(warmUp, other.warmUp);
   }
 
 
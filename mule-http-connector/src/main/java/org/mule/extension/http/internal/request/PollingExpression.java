@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static org.mule.extension.http.internal.request.ExpressionReferences.mayReference;
+import static org.mule.extension.http.internal.request.HttpPollingSource.ATTRIBUTES_PLACEHOLDER;
+import static org.mule.extension.http.internal.request.HttpPollingSource.ITEM_PLACEHOLDER;
+import static org.mule.extension.http.internal.request.HttpPollingSource.PARTITION_PLACEHOLDER;
+import static org.mule.extension.http.internal.request.HttpPollingSource.PAYLOAD_PLACEHOLDER;
+import static org.mule.extension.http.internal.request.HttpPollingSource.WATERMARK_PLACEHOLDER;
+import static org.mule.runtime.api.metadata.DataType.OBJECT;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.metadata.DataType.fromType;
+import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
+import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
+
+import org.mule.extension.http.api.HttpResponseAttributes;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.CompiledExpression;
+import org.mule.runtime.api.el.ExpressionLanguage;
+import org.mule.runtime.api.el.ExpressionLanguageSession;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+
+import java.io.Serializable;
+
+/**
+ * A value of the {@link HttpPollingSource} that may be an expression. Expressions are compiled once, and only the bindings they
+ * reference are bound when evaluating them. Values that aren't expressions are returned as they are.
+ *
+ * @since 1.11
+ */
+public final class PollingExpression {
+
+  private static final BindingContext COMPILATION_CONTEXT = BindingContext.builder()
+      .addBinding(PAYLOAD_PLACEHOLDER, new TypedValue<>(null, STRING))
+      .addBinding(ATTRIBUTES_PLACEHOLDER, new TypedValue<>(null, fromType(HttpResponseAttributes.class)))
+      .addBinding(WATERMARK_PLACEHOLDER, new TypedValue<>(null, OBJECT))
+      .addBinding(ITEM_PLACEHOLDER, new TypedValue<>(null, OBJECT))
+      .addBinding(PARTITION_PLACEHOLDER, new TypedValue<>(null, STRING))
+      .build();
+
+  private final String text;
+  private final boolean expression;
+  private final TypedValue<String> staticValue;
+  private final CompiledExpression compiled;
+  private final boolean bindsPayload;
+  private final boolean bindsAttributes;
+  private final boolean bindsWatermark;
+  private final boolean bindsItem;
+  private final boolean bindsPartition;
+
+  private PollingExpression(String text, boolean expression, CompiledExpression compiled) {
+    this.text = text;
+    this.expression = expression;
+    this.staticValue = expression ? null : TypedValue.of(text);
+    this.compiled = compiled;
+    this.bindsPayload = expression && mayReference(text, PAYLOAD_PLACEHOLDER);
+    this.bindsAttributes = expression && mayReference(text, ATTRIBUTES_PLACEHOLDER);
+    this.bindsWatermark = expression && mayReference(text, WATERMARK_PLACEHOLDER);
+    this.bindsItem = expression && mayReference(text, ITEM_PLACEHOLDER);
+    this.bindsPartition = expression && mayReference(text, PARTITION_PLACEHOLDER);
+  }
+
+  /**
+   * @param value              the value, which may be an expression
+   * @param expressionLanguage used to compile the value if it's an expression
+   * @return the value, compiled if it's an expression. Expressions that can't be compiled are evaluated from their text.
+   */
+  public static PollingExpression compile(String value, ExpressionLanguage expressionLanguage) {
+    if (!isExpression(value)) {
+      return new PollingExpression(value, false, null);
+    }
+
+    CompiledExpression compiled;
+    try {
+      compiled = expressionLanguage.compile(value, COMPILATION_CONTEXT);
+    } catch (RuntimeException e) {
+      // the error, if any, is reported by the evaluation of the expression text
+      compiled = null;
+    }
+    return new PollingExpression(value, true, compiled);
+  }
+
+  /**
+   * Evaluates the expression, binding only the given values it references.
+   *
+   * @param expectedOutputType the type the result is transformed to, or {@code null} to keep the one of the expression
+   * @param payload            the full response, or {@code null} if not available
+   * @param attributes         the attributes of the response, or {@code null} if not available
+   * @param watermark          the watermark of the current poll
+   * @param item               the current item, or {@code null} if not available
+   * @param partition          the partition being polled, or {@code null} if the source isn't partitioned
+   * @param expressionLanguage used to evaluate the expression
+   * @return the result of the expression, or the value as it is if it's not an expression
+   */
+  public TypedValue<?> evaluate(DataType expectedOutputType, TypedValue<String> payload, HttpResponseAttributes attributes,
+                                Serializable watermark, TypedValue<?> item, String partition,
+                                ExpressionLanguage expressionLanguage) {
+    if (!expression) {
+      return staticValue;
+    }
+
+    BindingContext.Builder builder = BindingContext.builder();
+    if (bindsPayload && payload != null) {
+      builder.addBinding(PAYLOAD_PLACEHOLDER, payload);
+    }
+    if (bindsAttributes && attributes != null) {
+      builder.addBinding(ATTRIBUTES_PLACEHOLDER, TypedValue.of(attributes));
+    }
+    if (bindsWatermark) {
+      builder.addBinding(WATERMARK_PLACEHOLDER, TypedValue.of(watermark));
+    }
+    if (bindsItem && item != null) {
+      builder.addBinding(ITEM_PLACEHOLDER, item);
+    }
+    if (bindsPartition && partition != null) {
+      builder.addBinding(PARTITION_PLACEHOLDER, TypedValue.of(partition));
+    }
+    BindingContext context = builder.build();
+
+    if (compiled == null) {
+      return expectedOutputType != null
+          ? expressionLanguage.evaluate(text, expectedOutputType, context)
+          : expressionLanguage.evaluate(text, context);
+    }
+    try (ExpressionLanguageSession session = expressionLanguage.openSession(context)) {
+      return expectedOutputType != null ? session.evaluate(compiled, expectedOutputType) : session.evaluate(compiled);
+    }
+  }
+
+  /**
+   * @return the value as it was configured
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * @return whether the value is an expression
+   */
+  public boolean isExpression() {
+    return expression;
+  }
+
+  /**
+   * @return whether the value is an expression that may reference the {@code payload}
+   */
+  public boolean referencesPayload() {
+    return bindsPayload;
+  }
+
+  static boolean isExpression(String value) {
+    String trim = value.trim();
+    return trim.startsWith(DEFAULT_EXPRESSION_PREFIX) && trim.endsWith(DEFAULT_EXPRESSION_POSTFIX);
+  }
+}
@@ -118,6 +118,18 @@ public final class RequestConnectionParams {
   @Placement(tab = ADVANCED_TAB, order = 6)
   private TcpClientSocketProperties clientSocketProperties;
 
+  /**
+   * Whether the underlying HTTP client, with its selectors and connection pools, is shared with the other requester
+   * configurations that have this option enabled and the same TLS, proxy, socket and connection settings.
+   *
+   * @since 1.11
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Expression(NOT_SUPPORTED)
+  @Placement(tab = ADVANCED_TAB, order = 7)
+  private boolean shareHttpClient;
+
   public HttpConstants.Protocol getProtocol() {
     return protocol;
   }
@@ -154,6 +166,10 @@ public final class RequestConnectionParams {
     return clientSocketProperties;
   }
 
+  public boolean getShareHttpClient() {
+    return shareHttpClient;
+  }
+
   public void setProtocol(HttpConstants.Protocol protocol) {
     this.protocol = protocol;
   }
@@ -190,10 +206,14 @@ public final class RequestConnectionParams {
     this.clientSocketProperties = clientSocketProperties;
   }
 
+  public void setShareHttpClient(boolean shareHttpClient) {
+    this.shareHttpClient = shareHttpClient;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(clientSocketProperties, connectionIdleTimeout, host, maxConnections, port, protocol, responseBufferSize,
-                        streamResponse, usePersistentConnections);
+                        shareHttpClient, streamResponse, usePersistentConnections);
   }
 
   @Override
@@ -214,6 +234,7 @@ public final class RequestConnectionParams {
         && Objects.equals(maxConnections, other.maxConnections)
         && Objects.equals(port, other.port) && protocol == other.protocol
         && responseBufferSize == other.responseBufferSize
+        && shareHttpClient == other.shareHttpClient
         && streamResponse == other.streamResponse
         && usePersistentConnections == other.usePersistentConnections;
   }
@@ -12,6 +12,8 @@ import static org.mule.runtime.extension.api.runtime.parameter.OutboundCorrelati
 import org.mule.extension.http.api.request.HttpSendBodyMode;
 import org.mule.extension.http.api.request.builder.QueryParam;
 import org.mule.extension.http.api.request.builder.RequestHeader;
+import org.mule.extension.http.api.request.coalescing.HttpRequestCoalescing;
+import org.mule.extension.http.api.request.retry.HttpRetryPolicy;
 import org.mule.extension.http.api.streaming.HttpStreamingType;
 import org.mule.runtime.extension.api.annotation.Expression;
 import org.mule.runtime.extension.api.annotation.param.NullSafe;
@@ -100,6 +102,24 @@ public final class RequestSettings {
   @Optional(defaultValue = "false")
   private boolean preserveHeadersCase = false;
 
+  /**
+   * Policy to retry requests that fail with a retryable status code or connectivity error. If not set, only requests whose
+   * connection was remotely closed are retried.
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  private HttpRetryPolicy retryPolicy;
+
+  /**
+   * If set, identical {@code GET} and {@code HEAD} requests in flight at the same time are sent only once and share the
+   * response.
+   */
+  @Parameter
+  @Optional
+  @Expression(NOT_SUPPORTED)
+  private HttpRequestCoalescing requestCoalescing;
+
   public List<RequestHeader> getDefaultHeaders() {
     return defaultHeaders;
   }
@@ -132,6 +152,14 @@ public final class RequestSettings {
     return preserveHeadersCase;
   }
 
+  public HttpRetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  public HttpRequestCoalescing getRequestCoalescing() {
+    return requestCoalescing;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -146,6 +174,8 @@ public final class RequestSettings {
     private List<QueryParam> defaultQueryParams;
     private OutboundCorrelationStrategy sendCorrelationId = AUTO;
     private boolean preserveHeadersCase = false;
+    private HttpRetryPolicy retryPolicy;
+    private HttpRequestCoalescing requestCoalescing;
 
     public Builder withFollowRedirects(boolean followRedirects) {
       this.followRedirects = followRedirects;
@@ -187,6 +217,16 @@ public final class RequestSettings {
       return this;
     }
 
+    public Builder withRetryPolicy(HttpRetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    public Builder withRequestCoalescing(HttpRequestCoalescing requestCoalescing) {
+      this.requestCoalescing = requestCoalescing;
+      return this;
+    }
+
     public RequestSettings build() {
       RequestSettings settings = new RequestSettings();
       settings.followRedirects = this.followRedirects;
@@ -197,6 +237,8 @@ public final class RequestSettings {
       settings.defaultQueryParams = this.defaultQueryParams;
       settings.sendCorrelationId = this.sendCorrelationId;
       settings.preserveHeadersCase = this.preserveHeadersCase;
+      settings.retryPolicy = this.retryPolicy;
+      settings.requestCoalescing = this.requestCoalescing;
       return settings;
     }
 
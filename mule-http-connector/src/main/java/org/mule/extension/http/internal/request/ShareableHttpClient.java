@@ -13,6 +13,8 @@ import org.mule.runtime.http.api.domain.message.request.HttpRequest;
 import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 /**
  * Wrapper implementation of an {@link HttpClient} that allows being shared by only configuring the client when first required and
@@ -20,31 +22,77 @@ import java.util.concurrent.CompletableFuture;
  */
 public class ShareableHttpClient {
 
-  private HttpClient delegate;
-  private Integer usageCount = new Integer(0);
+  private final HttpClient delegate;
+  private final LongSupplier nanoClock;
+  private final AtomicInteger usageCount = new AtomicInteger();
+  private volatile long idleSince;
 
   public ShareableHttpClient(HttpClient client) {
+    this(client, System::nanoTime);
+  }
+
+  /**
+   * @param client    the client to share
+   * @param nanoClock provides the current time in nanoseconds, to tell for how long the client has not been used
+   *
+   * @since 1.11
+   */
+  public ShareableHttpClient(HttpClient client, LongSupplier nanoClock) {
     delegate = client;
+    this.nanoClock = nanoClock;
+    idleSince = nanoClock.getAsLong();
   }
 
-  public synchronized void start() {
-    if (++usageCount == 1) {
-      try {
+  public void start() {
+    // only the transitions from and to not being used need to be serialized with the start and stop of the delegate
+    for (int count = usageCount.get(); count > 0; count = usageCount.get()) {
+      if (usageCount.compareAndSet(count, count + 1)) {
+        return;
+      }
+    }
+
+    synchronized (this) {
+      if (usageCount.get() == 0) {
         delegate.start();
-      } catch (Exception e) {
-        usageCount--;
-        throw e;
       }
+      usageCount.incrementAndGet();
     }
   }
 
-  public synchronized void stop() {
-    // In case this fails we do not want the usageCount to be reincremented
-    // as it will not be further used. If shouldn't be the case that more than
-    // two stops happen.
-    if (--usageCount == 0) {
-      delegate.stop();
+  public void stop() {
+    for (int count = usageCount.get(); count > 1; count = usageCount.get()) {
+      if (usageCount.compareAndSet(count, count - 1)) {
+        return;
+      }
     }
+
+    synchronized (this) {
+      // In case this fails we do not want the usageCount to be reincremented
+      // as it will not be further used. If shouldn't be the case that more than
+      // two stops happen.
+      if (usageCount.decrementAndGet() == 0) {
+        idleSince = nanoClock.getAsLong();
+        delegate.stop();
+      }
+    }
+  }
+
+  /**
+   * @return the number of users that started this client and have not stopped it yet
+   *
+   * @since 1.11
+   */
+  public int getUsageCount() {
+    return usageCount.get();
+  }
+
+  /**
+   * @return for how long in nanoseconds this client has not been used, or {@code 0} if it's in use
+   *
+   * @since 1.11
+   */
+  public long getIdleTime() {
+    return usageCount.get() > 0 ? 0 : nanoClock.getAsLong() - idleSince;
   }
 
   public CompletableFuture<HttpResponse> sendAsync(HttpRequest request, int responseTimeout, boolean followRedirects,
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.BitSet;
+
+/**
+ * Compiled form of a list of status codes and status code ranges such as {@code "200..299,304"}, backed by a {@link BitSet} so
+ * checking whether a status code belongs to it doesn't need any parsing or allocation.
+ *
+ * @since 1.11
+ */
+public final class StatusCodeRanges {
+
+  private static final String VALUES_SEPARATOR = ",";
+  private static final String RANGE_SEPARATOR = "\\.\\.";
+  private static final String RANGE_TOKEN = "..";
+
+  /**
+   * Highest status code that can be represented. Codes above it never belong to any range.
+   */
+  public static final int MAX_STATUS_CODE = 999;
+
+  private final BitSet codes;
+
+  private StatusCodeRanges(BitSet codes) {
+    this.codes = codes;
+  }
+
+  /**
+   * Parses a comma separated list of status codes and inclusive ranges (using {@code ..}). Spaces around values are ignored.
+   *
+   * @param values the status codes to parse
+   * @return the compiled {@link StatusCodeRanges}
+   * @throws NumberFormatException if any of the values is not a number
+   */
+  public static StatusCodeRanges parse(String values) {
+    BitSet codes = new BitSet(MAX_STATUS_CODE + 1);
+    if (values != null) {
+      for (String valuePart : values.split(VALUES_SEPARATOR)) {
+        if (valuePart.trim().isEmpty()) {
+          continue;
+        }
+        if (valuePart.contains(RANGE_TOKEN)) {
+          String[] limits = valuePart.split(RANGE_SEPARATOR);
+          int lower = max(parseInt(limits[0].trim()), 0);
+          int upper = min(parseInt(limits[1].trim()), MAX_STATUS_CODE);
+          if (lower <= upper) {
+            codes.set(lower, upper + 1);
+          }
+        } else {
+          int code = parseInt(valuePart.trim());
+          if (code >= 0 && code <= MAX_STATUS_CODE) {
+            codes.set(code);
+          }
+        }
+      }
+    }
+    return new StatusCodeRanges(codes);
+  }
+
+  /**
+   * @param statusCode the status code to check
+   * @return whether the given {@code statusCode} is part of these ranges
+   */
+  public boolean contains(int statusCode) {
+    return statusCode >= 0 && statusCode <= MAX_STATUS_CODE && codes.get(statusCode);
+  }
+
+  /**
+   * @return whether no status code belongs to these ranges
+   */
+  public boolean isEmpty() {
+    return codes.isEmpty();
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+
+import org.mule.extension.http.api.request.response.StreamingSplitMode;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a body into items as it's read, following a {@link StreamingSplitMode}, so that only the item being parsed is kept in
+ * memory. Items are not validated beyond what's needed to find where they end.
+ *
+ * @since 1.11
+ */
+public final class StreamingItemSplitter implements Closeable {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final DataType JSON_ITEM = DataType.builder().type(String.class).mediaType(APPLICATION_JSON).build();
+
+  private final StreamingSplitMode mode;
+  private final Reader reader;
+  private final MediaType mediaType;
+
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private int position;
+  private int limit;
+
+  private boolean started;
+  private boolean finished;
+  private List<String> csvHeaders;
+  private String csvHeaderLine;
+
+  /**
+   * @param mode      how to split the body
+   * @param reader    the body
+   * @param mediaType the media type of the body, used for the CSV items
+   */
+  public StreamingItemSplitter(StreamingSplitMode mode, Reader reader, MediaType mediaType) {
+    this.mode = mode;
+    this.reader = reader;
+    this.mediaType = mediaType;
+  }
+
+  /**
+   * Reads the body up to the end of the next item.
+   *
+   * @return the next item, or {@code null} if there are no more
+   * @throws IOException if the body can't be read or is malformed
+   */
+  public SplitItem next() throws IOException {
+    if (finished) {
+      return null;
+    }
+    switch (mode) {
+      case JSON_ARRAY:
+        return nextJsonElement();
+      case NDJSON:
+        return nextJsonLine();
+      case CSV:
+        return nextCsvRecord();
+      default:
+        throw new IllegalStateException("Unsupported streaming split mode " + mode);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private SplitItem nextJsonElement() throws IOException {
+    int c = skipWhitespace();
+    if (!started) {
+      started = true;
+      if (c != '[') {
+        throw malformed("a JSON array was expected");
+      }
+      c = skipWhitespace();
+      if (c == ']') {
+        finished = true;
+        return null;
+      }
+    }
+
+    StringBuilder element = new StringBuilder();
+    int depth = 0;
+    boolean inString = false;
+    boolean escaped = false;
+    while (true) {
+      if (c == -1) {
+        throw malformed("the JSON array is not closed");
+      }
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (c == '\\') {
+          escaped = true;
+        } else if (c == '"') {
+          inString = false;
+        }
+      } else if (depth == 0 && (c == ',' || c == ']')) {
+        // the separator is consumed here, so the next call starts at the next element
+        finished = c == ']';
+        break;
+      } else if (c == '"') {
+        inString = true;
+      } else if (c == '{' || c == '[') {
+        depth++;
+      } else if ((c == '}' || c == ']') && --depth < 0) {
+        throw malformed("unbalanced '" + (char) c + "'");
+      }
+      element.append((char) c);
+      c = read();
+    }
+
+    String text = element.toString().trim();
+    if (text.isEmpty()) {
+      throw malformed("empty element in the JSON array");
+    }
+    return jsonItem(text);
+  }
+
+  private SplitItem nextJsonLine() throws IOException {
+    StringBuilder line = new StringBuilder();
+    while (true) {
+      int c = read();
+      if (c == -1) {
+        finished = true;
+        String text = line.toString().trim();
+        return text.isEmpty() ? null : jsonItem(text);
+      }
+      if (c == '\n') {
+        String text = line.toString().trim();
+        if (!text.isEmpty()) {
+          return jsonItem(text);
+        }
+        line.setLength(0);
+      } else {
+        line.append((char) c);
+      }
+    }
+  }
+
+  private SplitItem nextCsvRecord() throws IOException {
+    if (csvHeaders == null) {
+      StringBuilder rawHeader = new StringBuilder();
+      csvHeaders = nextCsvFields(rawHeader);
+      csvHeaderLine = rawHeader.toString();
+      if (csvHeaders == null) {
+        finished = true;
+        return null;
+      }
+    }
+
+    StringBuilder raw = new StringBuilder();
+    List<String> fields;
+    do {
+      raw.setLength(0);
+      fields = nextCsvFields(raw);
+      if (fields == null) {
+        finished = true;
+        return null;
+      }
+      // blank lines are not records
+    } while (raw.length() == 0);
+
+    Map<String, String> record = new LinkedHashMap<>();
+    for (int i = 0; i < fields.size(); ++i) {
+      record.put(i < csvHeaders.size() ? csvHeaders.get(i) : "column_" + i, fields.get(i));
+    }
+    return new SplitItem(csvHeaderLine + "\n" + raw, mediaType, TypedValue.of(record));
+  }
+
+  /**
+   * Reads a CSV record, as defined by RFC 4180, appending its text to {@code raw}.
+   *
+   * @return the fields of the record, or {@code null} if the body has ended
+   */
+  private List<String> nextCsvFields(StringBuilder raw) throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (c != -1) {
+      if (quoted) {
+        raw.append((char) c);
+        if (c == '"') {
+          c = read();
+          if (c == '"') {
+            // escaped quote
+            field.append('"');
+            raw.append('"');
+          } else {
+            quoted = false;
+            continue;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.length() == 0) {
+        quoted = true;
+        raw.append('"');
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+        raw.append(',');
+      } else if (c == '\n') {
+        break;
+      } else if (c == '\r') {
+        if (read() != '\n') {
+          unread();
+        }
+        break;
+      } else {
+        field.append((char) c);
+        raw.append((char) c);
+      }
+      c = read();
+    }
+    if (quoted) {
+      throw malformed("unterminated quoted CSV field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private static SplitItem jsonItem(String text) {
+    return new SplitItem(text, APPLICATION_JSON, new TypedValue<>(text, JSON_ITEM));
+  }
+
+  private int skipWhitespace() throws IOException {
+    int c = read();
+    while (c != -1 && Character.isWhitespace(c)) {
+      c = read();
+    }
+    return c;
+  }
+
+  private int read() throws IOException {
+    if (position == limit) {
+      int read = reader.read(buffer, 0, buffer.length);
+      if (read <= 0) {
+        // unread() must not step back into the previous chunk
+        position = limit = 0;
+        return -1;
+      }
+      position = 0;
+      limit = read;
+    }
+    return buffer[position++];
+  }
+
+  /**
+   * Steps back the last character returned by {@link #read()}, which must not have been the end of the body.
+   */
+  private void unread() {
+    if (position > 0) {
+      position--;
+    }
+  }
+
+  private static IOException malformed(String reason) {
+    return new IOException("Malformed response body, " + reason);
+  }
+
+  /**
+   * An item of the body.
+   */
+  public static final class SplitItem {
+
+    private final String text;
+    private final MediaType mediaType;
+    private final TypedValue<?> value;
+
+    SplitItem(String text, MediaType mediaType, TypedValue<?> value) {
+      this.text = text;
+      this.mediaType = mediaType;
+      this.value = value;
+    }
+
+    /**
+     * @return the item as it's handed to the flow
+     */
+    public String getText() {
+      return text;
+    }
+
+    /**
+     * @return the media type of {@link #getText()}
+     */
+    public MediaType getMediaType() {
+      return mediaType;
+    }
+
+    /**
+     * @return the item as it's bound to the id and watermark expressions
+     */
+    public TypedValue<?> getValue() {
+      return value;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe token bucket. It holds up to {@code capacity} tokens and refills them continuously at {@code tokensPerSecond}.
+ * Refilling is lazy, computed from the elapsed time every time the bucket is accessed, so no timer is needed.
+ *
+ * @since 1.11
+ */
+public final class TokenBucket {
+
+  private static final long NANOS_PER_SECOND = SECONDS.toNanos(1);
+
+  private final double capacity;
+  private final double tokensPerNano;
+  private final LongSupplier nanoClock;
+
+  private double tokens;
+  private long lastRefill;
+
+  public TokenBucket(double capacity, double tokensPerSecond) {
+    this(capacity, tokensPerSecond, System::nanoTime);
+  }
+
+  public TokenBucket(double capacity, double tokensPerSecond, LongSupplier nanoClock) {
+    checkArgument(capacity > 0, "Token bucket capacity must be greater than 0");
+    checkArgument(tokensPerSecond >= 0, "Token bucket refill rate can't be negative");
+    this.capacity = capacity;
+    this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+    this.nanoClock = nanoClock;
+    this.tokens = capacity;
+    this.lastRefill = nanoClock.getAsLong();
+  }
+
+  /**
+   * Takes a token from the bucket if there is one available.
+   *
+   * @return whether a token was taken
+   */
+  public synchronized boolean tryAcquire() {
+    refill();
+    if (tokens >= 1) {
+      tokens -= 1;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Calculates how long it will take for a token to be available, without taking it.
+   *
+   * @return the time in milliseconds until a token can be acquired, {@code 0} if one is available right now or
+   *         {@link Long#MAX_VALUE} if the bucket never refills.
+   */
+  public synchronized long millisUntilAvailable() {
+    refill();
+    if (tokens >= 1) {
+      return 0;
+    }
+    if (tokensPerNano == 0) {
+      return Long.MAX_VALUE;
+    }
+    return NANOSECONDS.toMillis((long) ceil((1 - tokens) / tokensPerNano)) + 1;
+  }
+
+  private void refill() {
+    long now = nanoClock.getAsLong();
+    long elapsed = now - lastRefill;
+    if (elapsed > 0) {
+      tokens = min(capacity, tokens + elapsed * tokensPerNano);
+      lastRefill = now;
+    }
+  }
+}
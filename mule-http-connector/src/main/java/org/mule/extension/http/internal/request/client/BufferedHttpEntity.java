@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.lang.Math.min;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.of;
+
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.http.api.domain.entity.HttpEntity;
+import org.mule.runtime.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.runtime.http.api.domain.entity.multipart.HttpPart;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * {@link HttpEntity} for a response body that was fully read into memory and may be shared by several responses, like the ones
+ * served from the response cache or by coalesced requests. The content is never copied: each response gets its own
+ * {@link CursorStreamProvider} over it through {@link #newCursorProvider()}.
+ *
+ * @since 1.11
+ */
+public final class BufferedHttpEntity implements HttpEntity {
+
+  // bodies are buffered into arrays, bigger ones could never be buffered regardless of the configured limits
+  private static final long MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+  private final byte[] content;
+
+  public BufferedHttpEntity(byte[] content) {
+    this.content = content;
+  }
+
+  /**
+   * @return a new repeatable provider over the content of this entity
+   */
+  public CursorStreamProvider newCursorProvider() {
+    return new ByteArrayCursorStreamProvider(content);
+  }
+
+  @Override
+  public boolean isStreaming() {
+    return false;
+  }
+
+  @Override
+  public boolean isComposed() {
+    return false;
+  }
+
+  @Override
+  public InputStream getContent() {
+    return new ByteArrayInputStream(content);
+  }
+
+  @Override
+  public byte[] getBytes() {
+    return content;
+  }
+
+  @Override
+  public Collection<HttpPart> getParts() {
+    return emptyList();
+  }
+
+  @Override
+  public Optional<Long> getLength() {
+    return of((long) content.length);
+  }
+
+  /**
+   * Reads the content until its end or until one byte more than {@code maxSize} was read, leaving the rest of it unread, so
+   * callers can tell whether the whole content fits without reading all of it.
+   *
+   * @param content the content to read
+   * @param maxSize the maximum size in bytes of the content to buffer
+   * @return the bytes read, more than {@code maxSize} if the content is bigger
+   */
+  static byte[] readAtMost(InputStream content, long maxSize) throws IOException {
+    long limit = min(maxSize, MAX_ARRAY_SIZE - 1) + 1;
+    ByteArrayOutputStream read = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int count = 0;
+    while (read.size() < limit && count != -1) {
+      count = content.read(buffer, 0, (int) min(buffer.length, limit - read.size()));
+      if (count > 0) {
+        read.write(buffer, 0, count);
+      }
+    }
+    return read.toByteArray();
+  }
+
+  /**
+   * @param read   the bytes already read from {@code rest}, as returned by {@link #readAtMost(InputStream, long)}
+   * @param rest   the content, after the bytes already read
+   * @param length the length of the whole content, if known
+   * @return a streamed entity with the whole content, replaying the bytes already read
+   */
+  static HttpEntity replaying(byte[] read, InputStream rest, Optional<Long> length) {
+    InputStream replay = new SequenceInputStream(new ByteArrayInputStream(read), rest);
+    return length.map(value -> new InputStreamHttpEntity(replay, value)).orElseGet(() -> new InputStreamHttpEntity(replay));
+  }
+}
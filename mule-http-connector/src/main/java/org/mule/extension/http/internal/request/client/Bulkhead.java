@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.extension.http.internal.request.TokenBucket;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent asynchronous tasks and, optionally, the rate at which they are started. Tasks that can't start
+ * right away wait in a bounded queue, without blocking the submitting thread, until capacity frees up or their wait timeout
+ * elapses. Waiting tasks are started on the given scheduler.
+ *
+ * @since 1.11
+ */
+public final class Bulkhead {
+
+  private final int maxConcurrent;
+  private final int maxQueueSize;
+  private final long maxWaitNanos;
+  private final TokenBucket rateLimit;
+  private final ScheduledExecutorService scheduler;
+
+  private final Deque<Pending<?>> queue = new ArrayDeque<>();
+  private int active;
+  private ScheduledFuture<?> scheduledDrain;
+
+  /**
+   * @param maxConcurrent maximum number of tasks running at the same time, or a non positive value for no limit
+   * @param maxQueueSize  maximum number of tasks waiting to start
+   * @param maxWaitNanos  maximum time a task may wait to start
+   * @param rateLimit     bucket a token is taken from to start each task, or {@code null} for no rate limit
+   * @param scheduler     used to start the waiting tasks and to time them out
+   */
+  public Bulkhead(int maxConcurrent, int maxQueueSize, long maxWaitNanos, TokenBucket rateLimit,
+                  ScheduledExecutorService scheduler) {
+    this.maxConcurrent = maxConcurrent;
+    this.maxQueueSize = maxQueueSize;
+    this.maxWaitNanos = maxWaitNanos;
+    this.rateLimit = rateLimit;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Starts the task if the limits allow it or queues it otherwise.
+   *
+   * @param task starts the asynchronous task
+   * @return a future completed with the outcome of the task, or with a {@link RequestLimitExceededException} if it could not be
+   *         started
+   */
+  public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+    Pending<T> pending;
+    synchronized (this) {
+      if (queue.isEmpty() && hasConcurrencyAvailable() && (rateLimit == null || rateLimit.tryAcquire())) {
+        active++;
+        pending = null;
+      } else if (queue.size() >= maxQueueSize) {
+        return failed(format("Request limits exceeded: %d requests are already waiting to be sent", queue.size()));
+      } else {
+        pending = new Pending<>(task);
+        queue.add(pending);
+        scheduleDrainIfRateLimited();
+      }
+    }
+
+    if (pending == null) {
+      return start(task);
+    }
+
+    pending.timeout = scheduler.schedule(() -> expire(pending), maxWaitNanos, NANOSECONDS);
+    return pending.result;
+  }
+
+  public synchronized int getActiveCount() {
+    return active;
+  }
+
+  public synchronized int getQueueSize() {
+    return queue.size();
+  }
+
+  private <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> task) {
+    CompletableFuture<T> future;
+    try {
+      future = task.get();
+    } catch (RuntimeException e) {
+      release();
+      throw e;
+    }
+    future.whenComplete((result, exception) -> release());
+    // the original future is returned so callers keep seeing the unwrapped failure cause
+    return future;
+  }
+
+  private <T> void startQueued(Pending<T> pending) {
+    try {
+      start(pending.task).whenComplete((result, exception) -> {
+        if (exception != null) {
+          pending.result.completeExceptionally(unwrap(exception));
+        } else {
+          pending.result.complete(result);
+        }
+      });
+    } catch (RuntimeException e) {
+      pending.result.completeExceptionally(e);
+    }
+  }
+
+  private void release() {
+    synchronized (this) {
+      active--;
+    }
+    drain();
+  }
+
+  private void drain() {
+    while (true) {
+      Pending<?> next;
+      synchronized (this) {
+        if (queue.isEmpty() || !hasConcurrencyAvailable()) {
+          return;
+        }
+        if (rateLimit != null && !rateLimit.tryAcquire()) {
+          scheduleDrainIfRateLimited();
+          return;
+        }
+        next = queue.poll();
+        active++;
+      }
+
+      if (next.timeout != null) {
+        next.timeout.cancel(false);
+      }
+      Pending<?> toStart = next;
+      try {
+        scheduler.execute(() -> startQueued(toStart));
+      } catch (RuntimeException e) {
+        release();
+        toStart.result.completeExceptionally(e);
+      }
+    }
+  }
+
+  private void expire(Pending<?> pending) {
+    boolean removed;
+    synchronized (this) {
+      removed = queue.remove(pending);
+    }
+    if (removed) {
+      pending.result.completeExceptionally(new RequestLimitExceededException(format("Request limits exceeded: request waited %d ms without being sent",
+                                                                                    NANOSECONDS.toMillis(maxWaitNanos))));
+    }
+  }
+
+  private boolean hasConcurrencyAvailable() {
+    return maxConcurrent <= 0 || active < maxConcurrent;
+  }
+
+  /**
+   * Must be called holding the lock. When the queue is only held back by the rate limit, nothing else would drain it, so a drain
+   * is scheduled for when the next token is available.
+   */
+  private void scheduleDrainIfRateLimited() {
+    if (rateLimit == null || !hasConcurrencyAvailable() || (scheduledDrain != null && !scheduledDrain.isDone())) {
+      return;
+    }
+    long delay = rateLimit.millisUntilAvailable();
+    if (delay != Long.MAX_VALUE) {
+      scheduledDrain = scheduler.schedule(this::scheduledDrain, delay, MILLISECONDS);
+    }
+  }
+
+  private void scheduledDrain() {
+    synchronized (this) {
+      scheduledDrain = null;
+    }
+    drain();
+  }
+
+  private static Throwable unwrap(Throwable exception) {
+    return exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+  }
+
+  private static <T> CompletableFuture<T> failed(String message) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(new RequestLimitExceededException(message));
+    return future;
+  }
+
+  private static final class Pending<T> {
+
+    private final Supplier<CompletableFuture<T>> task;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private volatile ScheduledFuture<?> timeout;
+
+    private Pending(Supplier<CompletableFuture<T>> task) {
+      this.task = task;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.lang.Math.min;
+
+import org.mule.runtime.api.streaming.CursorProvider;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+
+import java.io.IOException;
+
+/**
+ * {@link CursorStreamProvider} over a byte array that is already in memory. Cursors read the array directly, so any number of
+ * them can be opened, by one or many providers over the same array, without copying it. The array must not be modified.
+ *
+ * @since 1.11
+ */
+public final class ByteArrayCursorStreamProvider implements CursorStreamProvider {
+
+  private final byte[] content;
+  private volatile boolean closed;
+
+  public ByteArrayCursorStreamProvider(byte[] content) {
+    this.content = content;
+  }
+
+  @Override
+  public CursorStream openCursor() {
+    if (closed) {
+      throw new IllegalStateException("Cannot open a new cursor on a closed stream provider");
+    }
+    return new ByteArrayCursorStream();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  @Override
+  public void releaseResources() {
+    // nothing to release, the content is only referenced
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  private final class ByteArrayCursorStream extends CursorStream {
+
+    private int position;
+    private boolean released;
+
+    @Override
+    public int read() throws IOException {
+      checkNotReleased();
+      return position < content.length ? content[position++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      checkNotReleased();
+      if (len == 0) {
+        return 0;
+      }
+      if (position >= content.length) {
+        return -1;
+      }
+      int read = min(len, content.length - position);
+      System.arraycopy(content, position, b, off, read);
+      position += read;
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      checkNotReleased();
+      int skipped = (int) min(n < 0 ? 0 : n, content.length - position);
+      position += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return released ? 0 : content.length - position;
+    }
+
+    @Override
+    public long getPosition() {
+      return position;
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+      checkNotReleased();
+      if (position < 0) {
+        throw new IOException("Cannot seek to a negative position");
+      }
+      this.position = (int) min(position, content.length);
+    }
+
+    @Override
+    public void release() {
+      released = true;
+    }
+
+    @Override
+    public boolean isReleased() {
+      return released;
+    }
+
+    @Override
+    public void close() {
+      release();
+    }
+
+    @Override
+    public CursorProvider getProvider() {
+      return ByteArrayCursorStreamProvider.this;
+    }
+
+    private void checkNotReleased() throws IOException {
+      if (released) {
+        throw new IOException("Cursor is released");
+      }
+    }
+  }
+}
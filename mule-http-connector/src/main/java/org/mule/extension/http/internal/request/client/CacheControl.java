@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.util.Locale.ROOT;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Directives of the {@code Cache-Control} headers of a message.
+ *
+ * @since 1.11
+ */
+final class CacheControl {
+
+  static final String STALE_WHILE_REVALIDATE = "stale-while-revalidate";
+
+  private static final CacheControl NONE = new CacheControl(new HashMap<>());
+
+  private final Map<String, String> directives;
+
+  private CacheControl(Map<String, String> directives) {
+    this.directives = directives;
+  }
+
+  /**
+   * @param headerValues the values of all the {@code Cache-Control} headers of the message
+   * @return the parsed directives, with their names in lower case
+   */
+  static CacheControl parse(Collection<String> headerValues) {
+    if (headerValues == null || headerValues.isEmpty()) {
+      return NONE;
+    }
+
+    Map<String, String> directives = new HashMap<>();
+    for (String headerValue : headerValues) {
+      for (String directive : headerValue.split(",")) {
+        int equalsIndex = directive.indexOf('=');
+        String name = (equalsIndex < 0 ? directive : directive.substring(0, equalsIndex)).trim().toLowerCase(ROOT);
+        if (name.isEmpty()) {
+          continue;
+        }
+        String value = equalsIndex < 0 ? null : unquote(directive.substring(equalsIndex + 1).trim());
+        directives.putIfAbsent(name, value);
+      }
+    }
+    return new CacheControl(directives);
+  }
+
+  boolean has(String directive) {
+    return directives.containsKey(directive);
+  }
+
+  /**
+   * @return the value of the directive in seconds, or {@code -1} if it is missing or not a valid number of seconds
+   */
+  long getSeconds(String directive) {
+    String value = directives.get(directive);
+    if (value == null) {
+      return -1;
+    }
+    try {
+      long seconds = Long.parseLong(value);
+      return seconds < 0 ? -1 : seconds;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static String unquote(String value) {
+    if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+      return value.substring(1, value.length() - 1);
+    }
+    return value;
+  }
+}
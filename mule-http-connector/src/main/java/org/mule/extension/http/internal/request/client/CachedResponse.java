@@ -0,0 +1,221 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.lang.Math.max;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Locale.ROOT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.extension.http.api.HttpHeaders.Names.AGE;
+import static org.mule.extension.http.api.HttpHeaders.Names.CACHE_CONTROL;
+import static org.mule.extension.http.api.HttpHeaders.Names.CONTENT_LENGTH;
+import static org.mule.extension.http.api.HttpHeaders.Names.DATE;
+import static org.mule.extension.http.api.HttpHeaders.Names.ETAG;
+import static org.mule.extension.http.api.HttpHeaders.Names.EXPIRES;
+import static org.mule.extension.http.api.HttpHeaders.Names.LAST_MODIFIED;
+import static org.mule.extension.http.api.HttpHeaders.Values.MAX_AGE;
+import static org.mule.extension.http.api.HttpHeaders.Values.MUST_REVALIDATE;
+import static org.mule.extension.http.api.HttpHeaders.Values.NO_CACHE;
+import static org.mule.extension.http.internal.request.client.CacheControl.STALE_WHILE_REVALIDATE;
+
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+import org.mule.runtime.http.api.domain.message.response.HttpResponseBuilder;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A response stored in the {@link HttpResponseCache}, with the freshness information from RFC 7234 section 4.2.
+ *
+ * @since 1.11
+ */
+final class CachedResponse {
+
+  private final String primaryKey;
+  private final int statusCode;
+  private final String reasonPhrase;
+  private final List<String[]> headers;
+  private final byte[] body;
+  private final long responseTime;
+  private final long initialAge;
+  private final long freshnessLifetime;
+  private final long staleWhileRevalidate;
+  private final String etag;
+  private final String lastModified;
+  private final long size;
+  private final AtomicBoolean revalidating = new AtomicBoolean();
+
+  CachedResponse(String primaryKey, int statusCode, String reasonPhrase, List<String[]> headers, byte[] body,
+                 long requestTime, long responseTime) {
+    this.primaryKey = primaryKey;
+    this.statusCode = statusCode;
+    this.reasonPhrase = reasonPhrase;
+    this.headers = headers;
+    this.body = body;
+    this.responseTime = responseTime;
+
+    CacheControl cacheControl = CacheControl.parse(getHeaderValues(CACHE_CONTROL));
+    Long dateValue = parseDate(getHeaderValue(DATE));
+    long date = dateValue != null ? dateValue : responseTime;
+    long apparentAge = max(0, responseTime - date);
+    long ageValue = SECONDS.toMillis(max(0, parseLong(getHeaderValue(AGE))));
+    this.initialAge = max(apparentAge, ageValue + (responseTime - requestTime));
+
+    if (cacheControl.has(NO_CACHE)) {
+      this.freshnessLifetime = 0;
+    } else if (cacheControl.getSeconds(MAX_AGE) >= 0) {
+      this.freshnessLifetime = SECONDS.toMillis(cacheControl.getSeconds(MAX_AGE));
+    } else if (getHeaderValue(EXPIRES) != null) {
+      // RFC 7234 section 5.3: invalid dates, like "0", represent a time in the past
+      Long expires = parseDate(getHeaderValue(EXPIRES));
+      this.freshnessLifetime = expires != null ? max(0, expires - date) : 0;
+    } else {
+      // no heuristic freshness, responses without explicit freshness are revalidated on every use
+      this.freshnessLifetime = 0;
+    }
+    this.staleWhileRevalidate = cacheControl.has(MUST_REVALIDATE) || cacheControl.getSeconds(STALE_WHILE_REVALIDATE) < 0
+        ? 0
+        : SECONDS.toMillis(cacheControl.getSeconds(STALE_WHILE_REVALIDATE));
+
+    this.etag = getHeaderValue(ETAG);
+    this.lastModified = getHeaderValue(LAST_MODIFIED);
+
+    long headersSize = 0;
+    for (String[] header : headers) {
+      headersSize += header[0].length() + header[1].length();
+    }
+    this.size = body.length + headersSize;
+  }
+
+  /**
+   * Creates the entry resulting of the revalidation of this one, with the headers of the {@code 304 Not Modified} response
+   * replacing the stored ones.
+   */
+  CachedResponse revalidated(HttpResponse notModified, long requestTime, long responseTime) {
+    Set<String> updatedNames = new HashSet<>();
+    List<String[]> updatedHeaders = new ArrayList<>();
+    for (String name : notModified.getHeaderNames()) {
+      if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        continue;
+      }
+      updatedNames.add(name.toLowerCase(ROOT));
+      for (String value : notModified.getHeaderValues(name)) {
+        updatedHeaders.add(new String[] {name, value});
+      }
+    }
+    for (String[] header : headers) {
+      if (!updatedNames.contains(header[0].toLowerCase(ROOT))) {
+        updatedHeaders.add(header);
+      }
+    }
+    return new CachedResponse(primaryKey, statusCode, reasonPhrase, updatedHeaders, body, requestTime, responseTime);
+  }
+
+  /**
+   * Builds a response for this entry, with its own cursor over the stored body.
+   */
+  HttpResponse toResponse(long now) {
+    HttpResponseBuilder builder = HttpResponse.builder().statusCode(statusCode).reasonPhrase(reasonPhrase);
+    for (String[] header : headers) {
+      if (!AGE.equalsIgnoreCase(header[0])) {
+        builder.addHeader(header[0], header[1]);
+      }
+    }
+    builder.addHeader(AGE, Long.toString(MILLISECONDS.toSeconds(getCurrentAge(now))));
+    return builder.entity(new BufferedHttpEntity(body)).build();
+  }
+
+  boolean isFresh(long now) {
+    return freshnessLifetime > getCurrentAge(now);
+  }
+
+  boolean isStaleWhileRevalidateAllowed(long now) {
+    return freshnessLifetime + staleWhileRevalidate > getCurrentAge(now);
+  }
+
+  boolean hasValidators() {
+    return etag != null || lastModified != null;
+  }
+
+  /**
+   * @return whether the caller is the one that has to revalidate this entry in the background
+   */
+  boolean startRevalidation() {
+    return revalidating.compareAndSet(false, true);
+  }
+
+  void endRevalidation() {
+    revalidating.set(false);
+  }
+
+  String getPrimaryKey() {
+    return primaryKey;
+  }
+
+  String getEtag() {
+    return etag;
+  }
+
+  String getLastModified() {
+    return lastModified;
+  }
+
+  long getSize() {
+    return size;
+  }
+
+  String getHeaderValue(String name) {
+    for (String[] header : headers) {
+      if (header[0].equalsIgnoreCase(name)) {
+        return header[1];
+      }
+    }
+    return null;
+  }
+
+  private List<String> getHeaderValues(String name) {
+    List<String> values = new ArrayList<>();
+    for (String[] header : headers) {
+      if (header[0].equalsIgnoreCase(name)) {
+        values.add(header[1]);
+      }
+    }
+    return values;
+  }
+
+  private long getCurrentAge(long now) {
+    return initialAge + max(0, now - responseTime);
+  }
+
+  private static Long parseDate(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return ZonedDateTime.parse(value.trim(), RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private static long parseLong(String value) {
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static org.mule.extension.http.internal.request.client.CircuitBreaker.State.CLOSED;
+import static org.mule.extension.http.internal.request.client.CircuitBreaker.State.HALF_OPEN;
+import static org.mule.extension.http.internal.request.client.CircuitBreaker.State.OPEN;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count based circuit breaker for a single target. The outcome of the last {@code slidingWindowSize} calls is kept and, once at
+ * least {@code minimumNumberOfCalls} were recorded, the circuit opens if the percentage of failed or slow calls reaches its
+ * threshold. While open, calls are rejected until {@code waitDurationInOpenState} elapses; then a limited number of probe calls
+ * is let through (half open) and their outcome decides whether the circuit closes again or goes back to open.
+ *
+ * @since 1.11
+ */
+public final class CircuitBreaker {
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  /**
+   * Receives the state transitions of a {@link CircuitBreaker}.
+   */
+  @FunctionalInterface
+  public interface StateListener {
+
+    void onStateChange(String name, State from, State to);
+  }
+
+  private final String name;
+  private final int failureRateThreshold;
+  private final int slowCallRateThreshold;
+  private final long slowCallDurationNanos;
+  private final int minimumNumberOfCalls;
+  private final long waitDurationInOpenStateNanos;
+  private final int permittedCallsInHalfOpenState;
+  private final LongSupplier nanoClock;
+  private final StateListener stateListener;
+
+  private final boolean[] failedCalls;
+  private final boolean[] slowCalls;
+  private int windowIndex;
+  private int windowCount;
+  private int failedCount;
+  private int slowCount;
+
+  private State state = CLOSED;
+  private long openedAt;
+  private int halfOpenPermitted;
+
+  public CircuitBreaker(String name, int failureRateThreshold, int slowCallRateThreshold, long slowCallDurationNanos,
+                        int slidingWindowSize, int minimumNumberOfCalls, long waitDurationInOpenStateNanos,
+                        int permittedCallsInHalfOpenState, LongSupplier nanoClock, StateListener stateListener) {
+    this.name = name;
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowCallRateThreshold = slowCallRateThreshold;
+    this.slowCallDurationNanos = slowCallDurationNanos;
+    this.minimumNumberOfCalls = minimumNumberOfCalls;
+    this.waitDurationInOpenStateNanos = waitDurationInOpenStateNanos;
+    this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+    this.nanoClock = nanoClock;
+    this.stateListener = stateListener;
+    this.failedCalls = new boolean[slidingWindowSize];
+    this.slowCalls = new boolean[slidingWindowSize];
+  }
+
+  /**
+   * Checks whether a call may be performed, moving from open to half open if the wait duration elapsed.
+   *
+   * @return whether the call is permitted
+   */
+  public boolean tryAcquirePermission() {
+    State from;
+    State to;
+    boolean permitted;
+    synchronized (this) {
+      from = state;
+      if (state == OPEN && nanoClock.getAsLong() - openedAt >= waitDurationInOpenStateNanos) {
+        transitionTo(HALF_OPEN);
+      }
+
+      if (state == CLOSED) {
+        permitted = true;
+      } else if (state == HALF_OPEN && halfOpenPermitted < permittedCallsInHalfOpenState) {
+        halfOpenPermitted++;
+        permitted = true;
+      } else {
+        permitted = false;
+      }
+      to = state;
+    }
+    notifyIfChanged(from, to);
+    return permitted;
+  }
+
+  /**
+   * Records the outcome of a permitted call.
+   *
+   * @param durationNanos how long the call took
+   * @param failed        whether the call failed
+   */
+  public void onResult(long durationNanos, boolean failed) {
+    State from;
+    State to;
+    synchronized (this) {
+      from = state;
+      if (state == OPEN) {
+        // late outcome of a call permitted before the circuit opened
+        return;
+      }
+
+      record(failed, durationNanos >= slowCallDurationNanos);
+
+      if (state == HALF_OPEN) {
+        if (windowCount >= permittedCallsInHalfOpenState) {
+          transitionTo(thresholdsExceeded() ? OPEN : CLOSED);
+        }
+      } else if (windowCount >= minimumNumberOfCalls && thresholdsExceeded()) {
+        transitionTo(OPEN);
+      }
+      to = state;
+    }
+    notifyIfChanged(from, to);
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  private void record(boolean failed, boolean slow) {
+    if (windowCount == failedCalls.length) {
+      if (failedCalls[windowIndex]) {
+        failedCount--;
+      }
+      if (slowCalls[windowIndex]) {
+        slowCount--;
+      }
+    } else {
+      windowCount++;
+    }
+
+    failedCalls[windowIndex] = failed;
+    slowCalls[windowIndex] = slow;
+    if (failed) {
+      failedCount++;
+    }
+    if (slow) {
+      slowCount++;
+    }
+    windowIndex = (windowIndex + 1) % failedCalls.length;
+  }
+
+  private boolean thresholdsExceeded() {
+    return failedCount * 100 >= failureRateThreshold * windowCount || slowCount * 100 >= slowCallRateThreshold * windowCount;
+  }
+
+  private void transitionTo(State newState) {
+    state = newState;
+    resetWindow();
+    if (newState == OPEN) {
+      openedAt = nanoClock.getAsLong();
+    } else if (newState == HALF_OPEN) {
+      halfOpenPermitted = 0;
+    }
+  }
+
+  private void resetWindow() {
+    windowIndex = 0;
+    windowCount = 0;
+    failedCount = 0;
+    slowCount = 0;
+  }
+
+  private void notifyIfChanged(State from, State to) {
+    if (from != to && stateListener != null) {
+      stateListener.onStateChange(name, from, to);
+    }
+  }
+}
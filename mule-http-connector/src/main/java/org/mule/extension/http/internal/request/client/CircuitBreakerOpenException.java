@@ -0,0 +1,23 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import java.io.IOException;
+
+/**
+ * Signals that a request was not sent because the circuit breaker of its target is open.
+ *
+ * @since 1.11
+ */
+public final class CircuitBreakerOpenException extends IOException {
+
+  private static final long serialVersionUID = -1739318212427530231L;
+
+  public CircuitBreakerOpenException(String message) {
+    super(message);
+  }
+}
@@ -6,20 +6,30 @@
  */
 package org.mule.extension.http.internal.request.client;
 
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static org.mule.extension.http.api.HttpHeaders.Names.HOST;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 
 import org.mule.extension.http.api.request.HttpSendBodyMode;
 import org.mule.extension.http.api.request.authentication.HttpRequestAuthentication;
+import org.mule.extension.http.api.request.cache.HttpResponseCacheConfig;
+import org.mule.extension.http.api.request.circuitbreaker.HttpCircuitBreakerConfig;
 import org.mule.extension.http.api.request.client.UriParameters;
+import org.mule.extension.http.api.request.limit.HttpRequestLimitsConfig;
+import org.mule.extension.http.api.request.loadbalancing.HttpLoadBalancingConfig;
 import org.mule.extension.http.internal.request.ShareableHttpClient;
+import org.mule.extension.http.internal.request.client.LoadBalancer.Endpoint;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.http.api.client.auth.HttpAuthentication;
 import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.request.HttpRequestBuilder;
 import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 
+import java.net.URI;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -33,12 +43,37 @@ public class HttpExtensionClient implements Startable, Stoppable {
   private final HttpRequestAuthentication authentication;
   private final ShareableHttpClient httpClient;
   private final UriParameters uriParameters;
+  private final HttpCircuitBreakerConfig circuitBreaker;
+  private final HttpRequestLimitsConfig requestLimits;
+  private final HttpResponseCacheConfig responseCache;
+  private final HttpLoadBalancingConfig loadBalancing;
+  private final boolean streamResponse;
 
   public HttpExtensionClient(ShareableHttpClient httpClient, UriParameters uriParameters,
                              HttpRequestAuthentication authentication) {
+    this(httpClient, uriParameters, authentication, null, null, null, null, false);
+  }
+
+  /**
+   * @param circuitBreaker the circuit breaker to apply to the sent requests, or {@code null} for none
+   * @param requestLimits  the concurrency and rate limits to apply to the sent requests, or {@code null} for none
+   * @param responseCache  the cache to serve responses from, or {@code null} for none
+   * @param loadBalancing  the load balancing of the requests to the default host and port, or {@code null} for none
+   * @param streamResponse whether the client streams the responses while they are received, instead of buffering them
+   * @since 1.11
+   */
+  public HttpExtensionClient(ShareableHttpClient httpClient, UriParameters uriParameters,
+                             HttpRequestAuthentication authentication, HttpCircuitBreakerConfig circuitBreaker,
+                             HttpRequestLimitsConfig requestLimits, HttpResponseCacheConfig responseCache,
+                             HttpLoadBalancingConfig loadBalancing, boolean streamResponse) {
     this.httpClient = httpClient;
     this.uriParameters = uriParameters;
     this.authentication = authentication;
+    this.circuitBreaker = circuitBreaker;
+    this.requestLimits = requestLimits;
+    this.responseCache = responseCache;
+    this.loadBalancing = loadBalancing;
+    this.streamResponse = streamResponse;
   }
 
   /**
@@ -52,6 +87,14 @@ public class HttpExtensionClient implements Startable, Stoppable {
     return authentication;
   }
 
+  /**
+   * @return whether the responses are streamed while they are received, instead of being buffered
+   * @since 1.11
+   */
+  public boolean isStreamResponse() {
+    return streamResponse;
+  }
+
   @Override
   public void start() throws MuleException {
     httpClient.start();
@@ -61,6 +104,10 @@ public class HttpExtensionClient implements Startable, Stoppable {
       httpClient.stop();
       throw e;
     }
+    if (loadBalancing != null && uriParameters.getHost() != null) {
+      // starts resolving the endpoints, so they are ready by the first request
+      loadBalancing.getLoadBalancer(uriParameters.getHost().trim(), uriParameters.getPort());
+    }
   }
 
   @Override
@@ -72,6 +119,120 @@ public class HttpExtensionClient implements Startable, Stoppable {
   public CompletableFuture<HttpResponse> send(HttpRequest request, int responseTimeout, boolean followRedirects,
                                               HttpAuthentication authentication,
                                               HttpSendBodyMode sendBodyMode) {
+    HttpResponseCache cache = responseCache != null ? responseCache.getCache() : null;
+    if (cache == null) {
+      return sendLimited(request, responseTimeout, followRedirects, authentication, sendBodyMode);
+    }
+    return cache.send(request, toSend -> sendLimited(toSend, responseTimeout, followRedirects, authentication, sendBodyMode));
+  }
+
+  /**
+   * Sends the request straight through the underlying client, without the response cache, request limits, load balancing nor
+   * circuit breaker, for requests that are not part of the traffic of the application.
+   *
+   * @since 1.11
+   */
+  public CompletableFuture<HttpResponse> sendDirectly(HttpRequest request, int responseTimeout, boolean followRedirects,
+                                                      HttpAuthentication authentication, HttpSendBodyMode sendBodyMode) {
     return httpClient.sendAsync(request, responseTimeout, followRedirects, authentication, sendBodyMode);
   }
+
+  private CompletableFuture<HttpResponse> sendLimited(HttpRequest request, int responseTimeout, boolean followRedirects,
+                                                      HttpAuthentication authentication, HttpSendBodyMode sendBodyMode) {
+    Bulkhead bulkhead = requestLimits != null ? requestLimits.getBulkhead() : null;
+    if (bulkhead == null) {
+      return doSend(request, responseTimeout, followRedirects, authentication, sendBodyMode);
+    }
+    return bulkhead.submit(() -> doSend(request, responseTimeout, followRedirects, authentication, sendBodyMode));
+  }
+
+  private CompletableFuture<HttpResponse> doSend(HttpRequest request, int responseTimeout, boolean followRedirects,
+                                                 HttpAuthentication authentication, HttpSendBodyMode sendBodyMode) {
+    LoadBalancer loadBalancer = getLoadBalancer(request.getUri());
+    Endpoint endpoint = loadBalancer != null ? loadBalancer.select() : null;
+    if (endpoint == null) {
+      return sendToTarget(request, responseTimeout, followRedirects, authentication, sendBodyMode);
+    }
+
+    final long start = nanoTime();
+    CompletableFuture<HttpResponse> future;
+    try {
+      future = sendToTarget(toEndpoint(request, endpoint, loadBalancer.getHostHeader()), responseTimeout, followRedirects,
+                            authentication, sendBodyMode);
+    } catch (RuntimeException e) {
+      loadBalancer.onResult(endpoint, nanoTime() - start, true);
+      throw e;
+    }
+    future.whenComplete((response, exception) -> loadBalancer
+        .onResult(endpoint, nanoTime() - start, exception != null || response.getStatusCode() >= 500));
+    return future;
+  }
+
+  private CompletableFuture<HttpResponse> sendToTarget(HttpRequest request, int responseTimeout, boolean followRedirects,
+                                                       HttpAuthentication authentication, HttpSendBodyMode sendBodyMode) {
+    if (circuitBreaker == null) {
+      return httpClient.sendAsync(request, responseTimeout, followRedirects, authentication, sendBodyMode);
+    }
+
+    URI uri = request.getUri();
+    CircuitBreaker targetCircuitBreaker = circuitBreaker.getCircuitBreaker(uri.getHost() + ":" + uri.getPort());
+    if (!targetCircuitBreaker.tryAcquirePermission()) {
+      CompletableFuture<HttpResponse> rejected = new CompletableFuture<>();
+      rejected.completeExceptionally(new CircuitBreakerOpenException(format("Circuit breaker for '%s' is %s, request to '%s' was not sent",
+                                                                            targetCircuitBreaker.getName(),
+                                                                            targetCircuitBreaker.getState(), uri)));
+      return rejected;
+    }
+
+    final long start = nanoTime();
+    CompletableFuture<HttpResponse> future =
+        httpClient.sendAsync(request, responseTimeout, followRedirects, authentication, sendBodyMode);
+    // the original future is returned so callers keep seeing the unwrapped failure cause
+    future.whenComplete((response, exception) -> targetCircuitBreaker
+        .onResult(nanoTime() - start, exception != null || circuitBreaker.isFailureStatusCode(response.getStatusCode())));
+    return future;
+  }
+
+  private LoadBalancer getLoadBalancer(URI uri) {
+    // only the requests to the host and port of the connection are balanced across its endpoints
+    if (loadBalancing == null || uriParameters.getHost() == null || !uriParameters.getHost().trim().equalsIgnoreCase(uri.getHost())
+        || getPort(uri) != uriParameters.getPort()) {
+      return null;
+    }
+    return loadBalancing.getLoadBalancer(uriParameters.getHost().trim(), uriParameters.getPort());
+  }
+
+  private static int getPort(URI uri) {
+    if (uri.getPort() != -1) {
+      return uri.getPort();
+    }
+    return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+  }
+
+  private static HttpRequest toEndpoint(HttpRequest request, Endpoint endpoint, String hostHeader) {
+    URI uri = request.getUri();
+    String host = endpoint.getHost().indexOf(':') != -1 ? "[" + endpoint.getHost() + "]" : endpoint.getHost();
+    StringBuilder endpointUri = new StringBuilder(uri.getScheme()).append("://").append(host).append(':')
+        .append(endpoint.getPort());
+    if (uri.getRawPath() != null) {
+      endpointUri.append(uri.getRawPath());
+    }
+    if (uri.getRawQuery() != null) {
+      endpointUri.append('?').append(uri.getRawQuery());
+    }
+
+    HttpRequestBuilder builder = HttpRequest.builder()
+        .uri(endpointUri.toString())
+        .method(request.getMethod())
+        .entity(request.getEntity());
+    for (String name : request.getHeaderNames()) {
+      for (String value : request.getHeaderValues(name)) {
+        builder.addHeader(name, value);
+      }
+    }
+    if (hostHeader != null && request.getHeaderValue(HOST) == null) {
+      builder.addHeader(HOST, hostHeader);
+    }
+    return builder.build();
+  }
 }
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.sort;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Locale.ROOT;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.mule.extension.http.api.HttpHeaders.Names.AUTHORIZATION;
+import static org.mule.extension.http.api.HttpHeaders.Names.CACHE_CONTROL;
+import static org.mule.extension.http.api.HttpHeaders.Names.ETAG;
+import static org.mule.extension.http.api.HttpHeaders.Names.EXPIRES;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_MATCH;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_MODIFIED_SINCE;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_NONE_MATCH;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_RANGE;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_UNMODIFIED_SINCE;
+import static org.mule.extension.http.api.HttpHeaders.Names.LAST_MODIFIED;
+import static org.mule.extension.http.api.HttpHeaders.Names.RANGE;
+import static org.mule.extension.http.api.HttpHeaders.Names.VARY;
+import static org.mule.extension.http.api.HttpHeaders.Values.MAX_AGE;
+import static org.mule.extension.http.api.HttpHeaders.Values.NO_CACHE;
+import static org.mule.extension.http.api.HttpHeaders.Values.NO_STORE;
+import static org.mule.extension.http.internal.request.client.BufferedHttpEntity.readAtMost;
+import static org.mule.extension.http.internal.request.client.BufferedHttpEntity.replaying;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.runtime.http.api.domain.entity.HttpEntity;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.request.HttpRequestBuilder;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+import org.mule.runtime.http.api.domain.message.response.HttpResponseBuilder;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Private in-memory HTTP cache, following RFC 7234, for the {@code GET} and {@code HEAD} requests sent through a client.
+ * <p>
+ * Fresh responses are served from memory. Stale ones are revalidated with {@code If-None-Match}/{@code If-Modified-Since}, and
+ * served from memory again when the server answers {@code 304 Not Modified}. Stale responses within their
+ * {@code stale-while-revalidate} window are served right away while they are revalidated in the background. Responses without
+ * explicit freshness are stored only if they have validators, and then revalidated on every use.
+ * <p>
+ * The cache is bounded by the total size of the stored responses, evicting the least recently used ones. Stored bodies are never
+ * copied when served: every response gets a {@link BufferedHttpEntity} over the same array. Bodies are buffered only up to the
+ * maximum entry size, larger ones are handed to the caller as a stream and not stored.
+ *
+ * @since 1.11
+ */
+public final class HttpResponseCache {
+
+  private static final Logger LOGGER = getLogger(HttpResponseCache.class);
+
+  private static final String GET = "GET";
+  private static final String HEAD = "HEAD";
+  private static final Set<String> INVALIDATING_METHODS = unmodifiableSet(new HashSet<>(asList("POST", "PUT", "DELETE", "PATCH")));
+  // RFC 7231 section 6.1, plus 308 from RFC 7538
+  private static final Set<Integer> CACHEABLE_STATUS_CODES =
+      unmodifiableSet(new HashSet<>(asList(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501)));
+  private static final int NOT_MODIFIED = 304;
+
+  private final long maxSize;
+  private final long maxEntrySize;
+  private final Executor bufferingExecutor;
+  private final LongSupplier clock;
+
+  private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, List<String>> varyHeaderNames = new HashMap<>();
+  private long size;
+
+  /**
+   * @param maxSize           maximum total size in bytes of the stored responses
+   * @param maxEntrySize      maximum size in bytes of a single stored response body
+   * @param bufferingExecutor used to read the body of streamed responses that will be stored, and to discard the body of
+   *                          background revalidations
+   * @param clock             source of the current time in milliseconds
+   */
+  public HttpResponseCache(long maxSize, long maxEntrySize, Executor bufferingExecutor, LongSupplier clock) {
+    this.maxSize = maxSize;
+    this.maxEntrySize = maxEntrySize;
+    this.bufferingExecutor = bufferingExecutor;
+    this.clock = clock;
+  }
+
+  /**
+   * Serves the request from the cache when possible, sending it, or a conditional request to revalidate the stored response,
+   * through the {@code sender} otherwise.
+   *
+   * @param request the request to serve
+   * @param sender  sends requests to the server
+   * @return a future completed with the response, either from the server or from the cache
+   */
+  public CompletableFuture<HttpResponse> send(HttpRequest request, Function<HttpRequest, CompletableFuture<HttpResponse>> sender) {
+    String method = request.getMethod().toUpperCase(ROOT);
+    if (!GET.equals(method) && !HEAD.equals(method)) {
+      CompletableFuture<HttpResponse> future = sender.apply(request);
+      if (INVALIDATING_METHODS.contains(method)) {
+        // RFC 7234 section 4.4
+        future.thenAccept(response -> {
+          if (response.getStatusCode() < 400) {
+            invalidate(request);
+          }
+        });
+      }
+      return future;
+    }
+
+    CacheControl requestCacheControl = CacheControl.parse(request.getHeaderValues(CACHE_CONTROL));
+    if (requestCacheControl.has(NO_STORE) || !isCacheableRequest(request)) {
+      return sender.apply(request);
+    }
+
+    String primaryKey = method + " " + request.getUri();
+    CachedResponse cached = lookup(primaryKey, request);
+    long now = clock.getAsLong();
+    if (cached != null && !requestCacheControl.has(NO_CACHE)) {
+      if (cached.isFresh(now)) {
+        return completedFuture(cached.toResponse(now));
+      }
+      if (cached.isStaleWhileRevalidateAllowed(now) && cached.hasValidators()) {
+        if (cached.startRevalidation()) {
+          revalidateInBackground(cached, request, sender);
+        }
+        return completedFuture(cached.toResponse(now));
+      }
+    }
+
+    if (cached != null && cached.hasValidators()) {
+      return revalidate(cached, request, sender);
+    }
+    return fetch(primaryKey, request, sender);
+  }
+
+  /**
+   * @return the total size in bytes of the stored responses
+   */
+  public long getSize() {
+    synchronized (entries) {
+      return size;
+    }
+  }
+
+  private CompletableFuture<HttpResponse> fetch(String primaryKey, HttpRequest request,
+                                                Function<HttpRequest, CompletableFuture<HttpResponse>> sender) {
+    long requestTime = clock.getAsLong();
+    CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+    sender.apply(request).whenComplete((response, exception) -> {
+      if (exception != null) {
+        result.completeExceptionally(unwrap(exception));
+      } else {
+        store(primaryKey, request, response, requestTime, result);
+      }
+    });
+    return result;
+  }
+
+  private CompletableFuture<HttpResponse> revalidate(CachedResponse cached, HttpRequest request,
+                                                     Function<HttpRequest, CompletableFuture<HttpResponse>> sender) {
+    long requestTime = clock.getAsLong();
+    CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+    sender.apply(conditionalRequest(request, cached)).whenComplete((response, exception) -> {
+      if (exception != null) {
+        result.completeExceptionally(unwrap(exception));
+      } else if (response.getStatusCode() == NOT_MODIFIED) {
+        long responseTime = clock.getAsLong();
+        CachedResponse revalidated = cached.revalidated(response, requestTime, responseTime);
+        replace(cached, revalidated);
+        result.complete(revalidated.toResponse(responseTime));
+      } else {
+        store(cached.getPrimaryKey(), request, response, requestTime, result);
+      }
+    });
+    return result;
+  }
+
+  private void revalidateInBackground(CachedResponse cached, HttpRequest request,
+                                      Function<HttpRequest, CompletableFuture<HttpResponse>> sender) {
+    CompletableFuture<HttpResponse> revalidation;
+    try {
+      revalidation = revalidate(cached, request, sender);
+    } catch (RuntimeException e) {
+      cached.endRevalidation();
+      LOGGER.warn("Background revalidation of '{}' could not be started: {}", cached.getPrimaryKey(), e.getMessage());
+      return;
+    }
+    revalidation.whenComplete((response, exception) -> {
+      cached.endRevalidation();
+      if (exception != null) {
+        LOGGER.warn("Background revalidation of '{}' failed: {}", cached.getPrimaryKey(), exception.getMessage());
+      } else if (!(response.getEntity() instanceof BufferedHttpEntity)) {
+        // nobody is going to read this response, its body was not stored
+        bufferingExecutor.execute(() -> discard(response.getEntity()));
+      }
+    });
+  }
+
+  private void store(String primaryKey, HttpRequest request, HttpResponse response, long requestTime,
+                     CompletableFuture<HttpResponse> result) {
+    if (!isStorable(response)) {
+      result.complete(response);
+      return;
+    }
+
+    HttpEntity entity = response.getEntity();
+    if (entity.isStreaming()) {
+      try {
+        bufferingExecutor.execute(() -> doStore(primaryKey, request, response, requestTime, result));
+      } catch (RuntimeException e) {
+        result.complete(response);
+      }
+    } else {
+      doStore(primaryKey, request, response, requestTime, result);
+    }
+  }
+
+  private void doStore(String primaryKey, HttpRequest request, HttpResponse response, long requestTime,
+                       CompletableFuture<HttpResponse> result) {
+    InputStream content = null;
+    byte[] body;
+    try {
+      content = response.getEntity().getContent();
+      body = readAtMost(content, maxEntrySize);
+    } catch (Exception e) {
+      IOUtils.closeQuietly(content);
+      result.completeExceptionally(unwrap(e));
+      return;
+    }
+
+    if (body.length > maxEntrySize) {
+      // too big to be stored, the caller reads what was already buffered followed by the rest of the body
+      result.complete(toUncachedResponse(response, replaying(body, content, response.getEntity().getLength())));
+      return;
+    }
+    IOUtils.closeQuietly(content);
+
+    long responseTime = clock.getAsLong();
+    List<String[]> headers = new ArrayList<>();
+    for (String name : response.getHeaderNames()) {
+      for (String value : response.getHeaderValues(name)) {
+        headers.add(new String[] {name, value});
+      }
+    }
+
+    CachedResponse cached =
+        new CachedResponse(primaryKey, response.getStatusCode(), response.getReasonPhrase(), headers, body, requestTime,
+                           responseTime);
+    if (cached.getSize() <= maxSize) {
+      List<String> varyNames = getVaryHeaderNames(response);
+      synchronized (entries) {
+        varyHeaderNames.put(primaryKey, varyNames);
+        put(primaryKey + secondaryKey(request, varyNames), cached);
+      }
+    }
+    result.complete(toUncachedResponse(response, new BufferedHttpEntity(body)));
+  }
+
+  private CachedResponse lookup(String primaryKey, HttpRequest request) {
+    synchronized (entries) {
+      List<String> varyNames = varyHeaderNames.get(primaryKey);
+      return varyNames == null ? null : entries.get(primaryKey + secondaryKey(request, varyNames));
+    }
+  }
+
+  private void replace(CachedResponse previous, CachedResponse updated) {
+    synchronized (entries) {
+      for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+        if (entry.getValue() == previous) {
+          put(entry.getKey(), updated);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Must be called holding the lock on {@link #entries}.
+   */
+  private void put(String key, CachedResponse cached) {
+    CachedResponse previous = entries.put(key, cached);
+    if (previous != null) {
+      size -= previous.getSize();
+    }
+    size += cached.getSize();
+
+    Iterator<CachedResponse> eldest = entries.values().iterator();
+    while (size > maxSize && eldest.hasNext()) {
+      CachedResponse evicted = eldest.next();
+      eldest.remove();
+      size -= evicted.getSize();
+      // other variants of the evicted one become unreachable, they will be evicted in turn
+      if (evicted != cached) {
+        varyHeaderNames.remove(evicted.getPrimaryKey());
+      }
+    }
+  }
+
+  private void invalidate(HttpRequest request) {
+    Set<String> primaryKeys = new HashSet<>(asList(GET + " " + request.getUri(), HEAD + " " + request.getUri()));
+    synchronized (entries) {
+      Iterator<CachedResponse> iterator = entries.values().iterator();
+      while (iterator.hasNext()) {
+        CachedResponse cached = iterator.next();
+        if (primaryKeys.contains(cached.getPrimaryKey())) {
+          iterator.remove();
+          size -= cached.getSize();
+        }
+      }
+      varyHeaderNames.keySet().removeAll(primaryKeys);
+    }
+  }
+
+  private boolean isStorable(HttpResponse response) {
+    if (!CACHEABLE_STATUS_CODES.contains(response.getStatusCode())) {
+      return false;
+    }
+    CacheControl cacheControl = CacheControl.parse(response.getHeaderValues(CACHE_CONTROL));
+    if (cacheControl.has(NO_STORE)) {
+      return false;
+    }
+    for (String vary : response.getHeaderValues(VARY)) {
+      if (vary.trim().equals("*")) {
+        return false;
+      }
+    }
+    // without explicit freshness nor validators a stored response could never be used
+    boolean explicitFreshness = !cacheControl.has(NO_CACHE)
+        && (cacheControl.getSeconds(MAX_AGE) > 0 || response.getHeaderValue(EXPIRES) != null);
+    boolean validators = response.getHeaderValue(ETAG) != null || response.getHeaderValue(LAST_MODIFIED) != null;
+    if (!explicitFreshness && !validators) {
+      return false;
+    }
+    return response.getEntity().getLength().map(length -> length <= maxEntrySize).orElse(true);
+  }
+
+  /**
+   * Requests with credentials are not served from the cache, nor are the ones the caller already made conditional or partial.
+   */
+  private static boolean isCacheableRequest(HttpRequest request) {
+    return request.getHeaderValue(AUTHORIZATION) == null
+        && request.getHeaderValue(IF_NONE_MATCH) == null
+        && request.getHeaderValue(IF_MODIFIED_SINCE) == null
+        && request.getHeaderValue(IF_MATCH) == null
+        && request.getHeaderValue(IF_UNMODIFIED_SINCE) == null
+        && request.getHeaderValue(RANGE) == null
+        && request.getHeaderValue(IF_RANGE) == null;
+  }
+
+  private static HttpRequest conditionalRequest(HttpRequest request, CachedResponse cached) {
+    HttpRequestBuilder builder = HttpRequest.builder()
+        .uri(request.getUri().toString())
+        .method(request.getMethod())
+        .entity(request.getEntity());
+    for (String name : request.getHeaderNames()) {
+      for (String value : request.getHeaderValues(name)) {
+        builder.addHeader(name, value);
+      }
+    }
+    if (cached.getEtag() != null) {
+      builder.addHeader(IF_NONE_MATCH, cached.getEtag());
+    }
+    if (cached.getLastModified() != null) {
+      builder.addHeader(IF_MODIFIED_SINCE, cached.getLastModified());
+    }
+    return builder.build();
+  }
+
+  private static HttpResponse toUncachedResponse(HttpResponse response, HttpEntity entity) {
+    HttpResponseBuilder builder = HttpResponse.builder()
+        .statusCode(response.getStatusCode())
+        .reasonPhrase(response.getReasonPhrase());
+    for (String name : response.getHeaderNames()) {
+      for (String value : response.getHeaderValues(name)) {
+        builder.addHeader(name, value);
+      }
+    }
+    return builder.entity(entity).build();
+  }
+
+  private static List<String> getVaryHeaderNames(HttpResponse response) {
+    Collection<String> varyValues = response.getHeaderValues(VARY);
+    if (varyValues.isEmpty()) {
+      return emptyList();
+    }
+    List<String> names = new ArrayList<>();
+    for (String varyValue : varyValues) {
+      for (String name : varyValue.split(",")) {
+        String trimmed = name.trim().toLowerCase(ROOT);
+        if (!trimmed.isEmpty() && !names.contains(trimmed)) {
+          names.add(trimmed);
+        }
+      }
+    }
+    sort(names);
+    return names;
+  }
+
+  private static String secondaryKey(HttpRequest request, List<String> varyNames) {
+    if (varyNames.isEmpty()) {
+      return "";
+    }
+    StringBuilder key = new StringBuilder();
+    for (String name : varyNames) {
+      key.append('\n').append(name).append(':').append(request.getHeaderValues(name));
+    }
+    return key.toString();
+  }
+
+  private static void discard(HttpEntity entity) {
+    try (InputStream content = entity.getContent()) {
+      IOUtils.toByteArray(content);
+    } catch (Exception e) {
+      LOGGER.debug("Error discarding the body of a revalidation response", e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable exception) {
+    return exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.extension.http.api.request.loadbalancing.LoadBalancingStrategy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Spreads the requests towards a service across its endpoints, following a {@link LoadBalancingStrategy}. Endpoints that fail
+ * several consecutive requests are ejected for a while, unless all of them are, in which case all are used.
+ * <p>
+ * The endpoints are obtained from a resolver, which is called again once the refresh interval elapses. Resolutions happen on the
+ * given executor, unless {@link #resolve()} is called: until the first one completes no endpoint is selected, so requests are
+ * sent to the configured host, and afterwards the previous endpoints keep being used while they are refreshed. Endpoints that
+ * are still present after a refresh keep their statistics.
+ *
+ * @since 1.11
+ */
+public final class LoadBalancer {
+
+  private static final Logger LOGGER = getLogger(LoadBalancer.class);
+
+  private static final double EWMA_WEIGHT = 0.3;
+
+  private final String name;
+  private final LoadBalancingStrategy strategy;
+  private final Callable<List<Endpoint>> resolver;
+  private final long refreshIntervalNanos;
+  private final String hostHeader;
+  private final int maxConsecutiveFailures;
+  private final long ejectionTimeNanos;
+  private final Executor refreshExecutor;
+  private final LongSupplier nanoClock;
+
+  private final AtomicInteger nextIndex = new AtomicInteger();
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private volatile List<Endpoint> endpoints;
+  private volatile long resolvedAt;
+
+  /**
+   * @param name                   name of the balanced service, for logging
+   * @param strategy               how to choose the endpoint of each request
+   * @param resolver               provides the endpoints of the service
+   * @param refreshIntervalNanos   time after which the endpoints are resolved again
+   * @param hostHeader             value for the {@code Host} header of the requests sent to the endpoints, or {@code null} to
+   *                               use the endpoint host
+   * @param maxConsecutiveFailures number of consecutive failed requests after which an endpoint is ejected, or a non positive
+   *                               value to never eject endpoints
+   * @param ejectionTimeNanos      time an ejected endpoint is not used for
+   * @param refreshExecutor        used to resolve the endpoints again
+   * @param nanoClock              provides the current time in nanoseconds
+   */
+  public LoadBalancer(String name, LoadBalancingStrategy strategy, Callable<List<Endpoint>> resolver,
+                      long refreshIntervalNanos, String hostHeader, int maxConsecutiveFailures, long ejectionTimeNanos,
+                      Executor refreshExecutor, LongSupplier nanoClock) {
+    this.name = name;
+    this.strategy = strategy;
+    this.resolver = resolver;
+    this.refreshIntervalNanos = refreshIntervalNanos;
+    this.hostHeader = hostHeader;
+    this.maxConsecutiveFailures = maxConsecutiveFailures;
+    this.ejectionTimeNanos = ejectionTimeNanos;
+    this.refreshExecutor = refreshExecutor;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Chooses the endpoint for a request and counts the request as in flight towards it. Callers must report the outcome of the
+   * request through {@link #onResult(Endpoint, long, boolean)}.
+   *
+   * @return the chosen endpoint, or {@code null} if no endpoints could be resolved
+   */
+  public Endpoint select() {
+    List<Endpoint> candidates = getEndpoints();
+    if (candidates.isEmpty()) {
+      return null;
+    }
+
+    long now = nanoClock.getAsLong();
+    List<Endpoint> available = new ArrayList<>(candidates.size());
+    for (Endpoint endpoint : candidates) {
+      if (!endpoint.isEjected(now)) {
+        available.add(endpoint);
+      }
+    }
+    if (available.isEmpty()) {
+      // better to try the ejected endpoints than to fail every request
+      available = candidates;
+    }
+
+    Endpoint selected;
+    switch (strategy) {
+      case LEAST_OUTSTANDING_REQUESTS:
+        selected = leastOutstanding(available);
+        break;
+      case POWER_OF_TWO_CHOICES:
+        selected = powerOfTwoChoices(available);
+        break;
+      default:
+        selected = available.get(nextIndex(available.size()));
+    }
+    selected.outstanding.incrementAndGet();
+    return selected;
+  }
+
+  /**
+   * Records the outcome of a request sent to an endpoint returned by {@link #select()}.
+   *
+   * @param endpoint     the endpoint the request was sent to
+   * @param latencyNanos time the request took, only recorded for successful requests
+   * @param failed       whether the request failed
+   */
+  public void onResult(Endpoint endpoint, long latencyNanos, boolean failed) {
+    endpoint.outstanding.decrementAndGet();
+    if (!failed) {
+      // failures are not sampled, as fast failures would make a failing endpoint look like the fastest one
+      endpoint.recordLatency(latencyNanos);
+      endpoint.consecutiveFailures.set(0);
+    } else if (maxConsecutiveFailures > 0 && endpoint.consecutiveFailures.incrementAndGet() >= maxConsecutiveFailures) {
+      endpoint.consecutiveFailures.set(0);
+      endpoint.ejectedUntil = nanoClock.getAsLong() + ejectionTimeNanos;
+      LOGGER.warn("Endpoint '{}' of '{}' failed {} consecutive requests, it won't be used for {} ms.", endpoint, name,
+                  maxConsecutiveFailures, NANOSECONDS.toMillis(ejectionTimeNanos));
+    }
+  }
+
+  /**
+   * @return value for the {@code Host} header of the requests sent to the endpoints, or {@code null} to use the endpoint host
+   */
+  public String getHostHeader() {
+    return hostHeader;
+  }
+
+  /**
+   * @return the endpoints currently known, none until they are first resolved
+   */
+  public List<Endpoint> getEndpoints() {
+    List<Endpoint> current = endpoints;
+    if (current == null || nanoClock.getAsLong() - resolvedAt >= refreshIntervalNanos) {
+      resolveInBackground();
+    }
+    return current != null ? current : emptyList();
+  }
+
+  /**
+   * Resolves the endpoints on the calling thread, for resolvers that don't block.
+   */
+  public synchronized void resolve() {
+    refresh();
+  }
+
+  /**
+   * Resolves the endpoints on the refresh executor, unless they are already being resolved.
+   */
+  public void resolveInBackground() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(() -> {
+        try {
+          resolve();
+        } finally {
+          refreshing.set(false);
+        }
+      });
+    } catch (RuntimeException e) {
+      refreshing.set(false);
+      LOGGER.warn("Endpoints of '{}' could not be resolved: {}", name, e.getMessage());
+    }
+  }
+
+  private void refresh() {
+    List<Endpoint> previous = endpoints;
+    try {
+      Map<String, Endpoint> known = new HashMap<>();
+      if (previous != null) {
+        for (Endpoint endpoint : previous) {
+          known.put(endpoint.toString(), endpoint);
+        }
+      }
+      List<Endpoint> resolved = new ArrayList<>();
+      for (Endpoint endpoint : resolver.call()) {
+        // keep the statistics of the endpoints that were already known
+        Endpoint existing = known.get(endpoint.toString());
+        resolved.add(existing != null ? existing : endpoint);
+      }
+      if (resolved.isEmpty() && previous != null) {
+        LOGGER.warn("No endpoints found for '{}', keeping the previous ones", name);
+      } else {
+        endpoints = unmodifiableList(resolved);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Endpoints of '{}' could not be resolved: {}", name, e.getMessage());
+      if (previous == null) {
+        endpoints = emptyList();
+      }
+    }
+    resolvedAt = nanoClock.getAsLong();
+  }
+
+  private Endpoint leastOutstanding(List<Endpoint> available) {
+    // start from a rotating position so that ties are spread across the endpoints
+    int start = nextIndex(available.size());
+    Endpoint selected = null;
+    for (int i = 0; i < available.size(); i++) {
+      Endpoint endpoint = available.get((start + i) % available.size());
+      if (selected == null || endpoint.outstanding.get() < selected.outstanding.get()) {
+        selected = endpoint;
+      }
+    }
+    return selected;
+  }
+
+  private static Endpoint powerOfTwoChoices(List<Endpoint> available) {
+    if (available.size() == 1) {
+      return available.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(available.size());
+    int second = random.nextInt(available.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    Endpoint a = available.get(first);
+    Endpoint b = available.get(second);
+    return a.getLoad() <= b.getLoad() ? a : b;
+  }
+
+  private int nextIndex(int size) {
+    return (nextIndex.getAndIncrement() & Integer.MAX_VALUE) % size;
+  }
+
+  /**
+   * An endpoint requests can be sent to, with the statistics used to choose among them.
+   */
+  public static final class Endpoint {
+
+    private final String host;
+    private final int port;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntil;
+    private double latencyEwma;
+
+    public Endpoint(String host, int port) {
+      this.host = host;
+      this.port = port;
+    }
+
+    public String getHost() {
+      return host;
+    }
+
+    public int getPort() {
+      return port;
+    }
+
+    /**
+     * @return the number of requests in flight towards this endpoint
+     */
+    public int getOutstanding() {
+      return outstanding.get();
+    }
+
+    /**
+     * @return the exponentially weighted moving average of the latency of this endpoint, in nanoseconds
+     */
+    public synchronized double getLatencyEwma() {
+      return latencyEwma;
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+      latencyEwma = latencyEwma == 0 ? latencyNanos : latencyEwma + EWMA_WEIGHT * (latencyNanos - latencyEwma);
+    }
+
+    private double getLoad() {
+      // endpoints without measured latency are preferred until they have some
+      return (getLatencyEwma() + 1) * (outstanding.get() + 1);
+    }
+
+    private boolean isEjected(long now) {
+      long until = ejectedUntil;
+      return until != 0 && now - until < 0;
+    }
+
+    @Override
+    public String toString() {
+      return host + ":" + port;
+    }
+  }
+}
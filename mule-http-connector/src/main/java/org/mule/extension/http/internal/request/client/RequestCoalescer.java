@@ -0,0 +1,233 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.util.Locale.ROOT;
+import static org.mule.extension.http.internal.request.client.BufferedHttpEntity.readAtMost;
+import static org.mule.extension.http.internal.request.client.BufferedHttpEntity.replaying;
+
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.runtime.http.api.domain.entity.HttpEntity;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+import org.mule.runtime.http.api.domain.message.response.HttpResponseBuilder;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Single-flight coalescing of identical concurrent {@code GET} and {@code HEAD} requests. The first request for a key (method,
+ * URI and the values of the key headers) is sent, and the ones arriving while it is in flight wait for its response instead of
+ * being sent too. When some request waited for it, the response body is read into memory once and every caller gets its own
+ * response, with its own cursor over the shared body. Bodies bigger than the maximum buffered size are streamed to the first
+ * caller instead, and the waiting requests are sent on their own.
+ *
+ * @since 1.11
+ */
+public final class RequestCoalescer {
+
+  private final List<String> keyHeaders;
+  private final long maxBufferedSize;
+  private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * @param keyHeaders      names of the headers whose values must match for requests to be coalesced
+   * @param maxBufferedSize maximum size in bytes of a response body to be read into memory and shared
+   */
+  public RequestCoalescer(List<String> keyHeaders, long maxBufferedSize) {
+    this.keyHeaders = keyHeaders;
+    this.maxBufferedSize = maxBufferedSize;
+  }
+
+  /**
+   * Sends the request through the {@code sender}, unless an identical one is already in flight.
+   *
+   * @param request           the request to send
+   * @param sender            sends the request to the server
+   * @param bufferingExecutor used to read streamed response bodies into memory
+   * @return a future completed with a response exclusive to this caller
+   */
+  public CompletableFuture<HttpResponse> send(HttpRequest request, Function<HttpRequest, CompletableFuture<HttpResponse>> sender,
+                                              Executor bufferingExecutor) {
+    if (!isCoalescible(request)) {
+      return sender.apply(request);
+    }
+
+    String key = key(request);
+    Flight flight = new Flight(key);
+    Flight leader = inFlight.putIfAbsent(key, flight);
+    if (leader != null && leader.join()) {
+      return follow(leader, request, sender);
+    }
+    if (leader != null) {
+      // the response of the one in flight just arrived and can no longer be shared
+      return sender.apply(request);
+    }
+
+    CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+    try {
+      sender.apply(request).whenComplete((response, exception) -> {
+        boolean followed = flight.close();
+        if (exception != null) {
+          flight.shared.completeExceptionally(unwrap(exception));
+          result.completeExceptionally(unwrap(exception));
+        } else if (!followed) {
+          result.complete(response);
+        } else if (response.getEntity().isStreaming()) {
+          try {
+            bufferingExecutor.execute(() -> buffer(flight, response, result));
+          } catch (RuntimeException e) {
+            // the followers send their own requests, the leader reads its response as it is
+            flight.shared.complete(null);
+            result.complete(response);
+          }
+        } else {
+          buffer(flight, response, result);
+        }
+      });
+    } catch (RuntimeException e) {
+      flight.close();
+      flight.shared.completeExceptionally(e);
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * @return the number of distinct requests currently in flight
+   */
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  private CompletableFuture<HttpResponse> follow(Flight leader, HttpRequest request,
+                                                 Function<HttpRequest, CompletableFuture<HttpResponse>> sender) {
+    CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+    leader.shared.whenComplete((response, exception) -> {
+      if (exception != null) {
+        result.completeExceptionally(unwrap(exception));
+      } else if (response != null) {
+        result.complete(copy(response));
+      } else {
+        // the response could not be shared, this request is sent on its own
+        try {
+          sender.apply(request).whenComplete((own, ownException) -> {
+            if (ownException != null) {
+              result.completeExceptionally(unwrap(ownException));
+            } else {
+              result.complete(own);
+            }
+          });
+        } catch (RuntimeException e) {
+          result.completeExceptionally(e);
+        }
+      }
+    });
+    return result;
+  }
+
+  private void buffer(Flight flight, HttpResponse response, CompletableFuture<HttpResponse> result) {
+    InputStream content = null;
+    byte[] body;
+    try {
+      content = response.getEntity().getContent();
+      body = readAtMost(content, maxBufferedSize);
+    } catch (Exception e) {
+      IOUtils.closeQuietly(content);
+      flight.shared.completeExceptionally(unwrap(e));
+      result.completeExceptionally(unwrap(e));
+      return;
+    }
+
+    if (body.length > maxBufferedSize) {
+      flight.shared.complete(null);
+      result.complete(copy(response, replaying(body, content, response.getEntity().getLength())));
+      return;
+    }
+    IOUtils.closeQuietly(content);
+    HttpResponse shared = copy(response, new BufferedHttpEntity(body));
+    flight.shared.complete(shared);
+    result.complete(copy(shared));
+  }
+
+  private String key(HttpRequest request) {
+    StringBuilder key = new StringBuilder(request.getMethod().toUpperCase(ROOT)).append(' ').append(request.getUri());
+    for (String header : keyHeaders) {
+      key.append('\n').append(header).append(':').append(request.getHeaderValues(header));
+    }
+    return key.toString();
+  }
+
+  private static boolean isCoalescible(HttpRequest request) {
+    String method = request.getMethod().toUpperCase(ROOT);
+    return ("GET".equals(method) || "HEAD".equals(method))
+        && request.getEntity().getLength().map(length -> length == 0).orElse(false);
+  }
+
+  private static HttpResponse copy(HttpResponse shared) {
+    return copy(shared, new BufferedHttpEntity(((BufferedHttpEntity) shared.getEntity()).getBytes()));
+  }
+
+  private static HttpResponse copy(HttpResponse response, HttpEntity entity) {
+    HttpResponseBuilder builder = HttpResponse.builder()
+        .statusCode(response.getStatusCode())
+        .reasonPhrase(response.getReasonPhrase());
+    for (String name : response.getHeaderNames()) {
+      for (String value : response.getHeaderValues(name)) {
+        builder.addHeader(name, value);
+      }
+    }
+    return builder.entity(entity).build();
+  }
+
+  private static Throwable unwrap(Throwable exception) {
+    return exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+  }
+
+  /**
+   * A request in flight and the requests waiting for its response.
+   */
+  private final class Flight {
+
+    private final String key;
+    // completed with the response to share, or with null when the waiting requests have to be sent on their own
+    private final CompletableFuture<HttpResponse> shared = new CompletableFuture<>();
+    private boolean followed;
+    private boolean closed;
+
+    private Flight(String key) {
+      this.key = key;
+    }
+
+    /**
+     * @return whether the caller will get the response of this flight, false if it already arrived
+     */
+    synchronized boolean join() {
+      if (!closed) {
+        followed = true;
+      }
+      return !closed;
+    }
+
+    /**
+     * Stops accepting requests, removing this flight so requests arriving from now on are sent again.
+     *
+     * @return whether some request is waiting for the response of this flight
+     */
+    synchronized boolean close() {
+      closed = true;
+      inFlight.remove(key, this);
+      return followed;
+    }
+  }
+}
@@ -7,6 +7,8 @@
 package org.mule.extension.http.internal.request.profiling.tracing;
 
 import static java.lang.String.valueOf;
+import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.toUpperCaseMethod;
+import static org.mule.extension.http.internal.request.profiling.tracing.HttpSpanUtils.toUpperCaseScheme;
 import static org.mule.runtime.http.api.domain.HttpProtocol.HTTP_0_9;
 import static org.mule.runtime.http.api.domain.HttpProtocol.HTTP_1_0;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -32,6 +34,9 @@ public class HttpRequestCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
   public static final String NET_PEER_PORT = "net.peer.port";
   public static final String NET_PEER_NAME = "net.peer.name";
   private static final String SPAN_KIND_NAME = "CLIENT";
+  private static final String HTTPS = "https";
+  private static final String DEFAULT_HTTP_PORT = "80";
+  private static final String DEFAULT_HTTPS_PORT = "443";
 
   public static final String PROTOCOL_VERSION_0_9 = "0.9";
   public static final String PROTOCOL_VERSION_1_0 = "1.0";
@@ -55,13 +60,11 @@ public class HttpRequestCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
     super.customizeSpan(distributedTraceContextManager);
 
     try {
-      distributedTraceContextManager.addCurrentSpanAttribute(HTTP_URL, getURI().toString());
-      if (getURI().getPort() == -1) {
-        distributedTraceContextManager.addCurrentSpanAttribute(NET_PEER_PORT, valueOf(getURI().toURL().getDefaultPort()));
-      } else {
-        distributedTraceContextManager.addCurrentSpanAttribute(NET_PEER_PORT, valueOf(getURI().getPort()));
-      }
-      distributedTraceContextManager.addCurrentSpanAttribute(NET_PEER_NAME, getURI().getHost());
+      URI uri = getURI();
+      // default ports are resolved from the scheme, without building a URL for each request
+      distributedTraceContextManager.addCurrentSpanAttribute(HTTP_URL, uri.toString());
+      distributedTraceContextManager.addCurrentSpanAttribute(NET_PEER_PORT, getPort(uri));
+      distributedTraceContextManager.addCurrentSpanAttribute(NET_PEER_NAME, uri.getHost());
     } catch (Throwable e) {
       LOGGER.warn("Error on setting the request span attributes", e);
     }
@@ -69,12 +72,12 @@ public class HttpRequestCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
 
   @Override
   public String getProtocol() {
-    return httpRequest.getUri().getScheme().toUpperCase();
+    return toUpperCaseScheme(httpRequest.getUri().getScheme());
   }
 
   @Override
   public String getMethod() {
-    return httpRequest.getMethod().toUpperCase();
+    return toUpperCaseMethod(httpRequest.getMethod());
   }
 
   @Override
@@ -92,6 +95,13 @@ public class HttpRequestCurrentSpanCustomizer extends HttpCurrentSpanCustomizer
     return SPAN_KIND_NAME;
   }
 
+  private static String getPort(URI uri) {
+    if (uri.getPort() != -1) {
+      return valueOf(uri.getPort());
+    }
+    return HTTPS.equalsIgnoreCase(uri.getScheme()) ? DEFAULT_HTTPS_PORT : DEFAULT_HTTP_PORT;
+  }
+
   private static String getHttpProtocolVersionFrom(HttpProtocol protocol) {
     if (protocol == null) {
       return null;
@@ -7,9 +7,19 @@
 package org.mule.extension.http.internal.request.profiling.tracing;
 
 import static java.lang.String.valueOf;
+import static java.lang.System.getProperty;
+import static java.util.Collections.emptyMap;
+import static java.util.Locale.ROOT;
+import static org.mule.extension.http.internal.HttpConnectorConstants.TRACE_PROPAGATION_HEADERS_PROPERTY;
 
+import org.mule.runtime.api.util.MultiMap;
 import org.mule.sdk.api.runtime.source.DistributedTraceContextManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 
 /**
@@ -24,8 +34,84 @@ public class HttpSpanUtils {
   public static final String ERROR_STATUS = "ERROR";
   public static final String UNSET_STATUS = "UNSET";
 
+  // W3C trace context and baggage, and B3 in its single and multiple header forms
+  private static final String DEFAULT_PROPAGATION_HEADERS =
+      "traceparent,tracestate,baggage,b3,x-b3-traceid,x-b3-spanid,x-b3-parentspanid,x-b3-sampled,x-b3-flags";
+  private static final List<String> PROPAGATION_HEADERS =
+      parseHeaderNames(getProperty(TRACE_PROPAGATION_HEADERS_PROPERTY, DEFAULT_PROPAGATION_HEADERS));
+  private static final Map<String, String> METHODS = upperCaseNames("GET", "HEAD", "POST", "PUT", "DELETE", "CONNECT", "OPTIONS",
+                                                                     "TRACE", "PATCH");
+  private static final Map<String, String> SCHEMES = upperCaseNames("HTTP", "HTTPS");
+
   private HttpSpanUtils() {}
 
+  /**
+   * @param method the method of a request
+   * @return the method in upper case, the same instance for the standard methods
+   * @since 1.11
+   */
+  public static String toUpperCaseMethod(String method) {
+    String upperCase = METHODS.get(method);
+    return upperCase != null ? upperCase : method.toUpperCase(ROOT);
+  }
+
+  /**
+   * @param method the method of a request
+   * @return whether it's a standard method in upper case
+   * @since 1.11
+   */
+  public static boolean isStandardMethod(String method) {
+    return method.equals(METHODS.get(method));
+  }
+
+  /**
+   * @param scheme the scheme of a request
+   * @return the scheme in upper case, the same instance for {@code http} and {@code https}
+   * @since 1.11
+   */
+  public static String toUpperCaseScheme(String scheme) {
+    String upperCase = SCHEMES.get(scheme);
+    return upperCase != null ? upperCase : scheme.toUpperCase(ROOT);
+  }
+
+  /**
+   * @param headers the headers of a request
+   * @return the headers that propagate the trace context, which are the only ones the trace context is extracted from
+   * @since 1.11
+   */
+  public static Map<String, String> getTracePropagationHeaders(MultiMap<String, String> headers) {
+    Map<String, String> propagationHeaders = null;
+    for (String name : PROPAGATION_HEADERS) {
+      String value = headers.get(name);
+      if (value != null) {
+        if (propagationHeaders == null) {
+          propagationHeaders = new HashMap<>(4);
+        }
+        propagationHeaders.put(name, value);
+      }
+    }
+    return propagationHeaders != null ? propagationHeaders : emptyMap();
+  }
+
+  private static Map<String, String> upperCaseNames(String... names) {
+    Map<String, String> upperCaseNames = new HashMap<>();
+    for (String name : names) {
+      upperCaseNames.put(name, name);
+      upperCaseNames.put(name.toLowerCase(ROOT), name);
+    }
+    return upperCaseNames;
+  }
+
+  private static List<String> parseHeaderNames(String names) {
+    List<String> parsed = new ArrayList<>();
+    for (String name : names.split(",")) {
+      if (!name.trim().isEmpty()) {
+        parsed.add(name.trim().toLowerCase(ROOT));
+      }
+    }
+    return parsed;
+  }
+
   /**
    * Adds the status code attribute.
    *
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.error;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mule.extension.http.api.error.HttpError.GATEWAY_TIMEOUT;
+import static org.mule.extension.http.api.error.HttpError.NOT_FOUND;
+import static org.mule.extension.http.api.error.HttpError.NOT_MODIFIED;
+import static org.mule.extension.http.api.error.HttpError.getErrorByCode;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class HttpErrorTestCase {
+
+  @Test
+  public void errorByCode() {
+    assertThat(getErrorByCode(304), is(of(NOT_MODIFIED)));
+    assertThat(getErrorByCode(404), is(of(NOT_FOUND)));
+    assertThat(getErrorByCode(504), is(of(GATEWAY_TIMEOUT)));
+  }
+
+  @Test
+  public void noErrorForStatusWithoutError() {
+    assertThat(getErrorByCode(200), is(empty()));
+    assertThat(getErrorByCode(418), is(empty()));
+  }
+
+  @Test
+  public void noErrorForUnknownStatus() {
+    assertThat(getErrorByCode(-1), is(empty()));
+    assertThat(getErrorByCode(799), is(empty()));
+    assertThat(getErrorByCode(1000), is(empty()));
+  }
+}
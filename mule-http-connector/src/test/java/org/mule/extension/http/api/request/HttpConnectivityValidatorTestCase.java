@@ -6,16 +6,155 @@
  */
 package org.mule.extension.http.api.request;
 
-import org.junit.Test;
+import static org.mule.runtime.http.api.HttpConstants.Protocol.HTTP;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+import org.mule.extension.http.api.HttpResponseAttributes;
+import org.mule.extension.http.internal.request.RequestConnectionParams;
+import org.mule.extension.http.internal.request.client.HttpExtensionClient;
+import org.mule.runtime.api.util.MultiMap;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
 
+import io.qameta.allure.Feature;
 import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class HttpConnectivityValidatorTestCase extends AbstractMuleTestCase {
+
+  private static final long TTL = 1000;
+
+  private long now;
+  private final List<CompletableFuture<Result<Object, HttpResponseAttributes>>> sent = new ArrayList<>();
+  private int blockingSent;
+  private Result<Object, HttpResponseAttributes> immediateResponse;
+  private final HttpExtensionClient client = mock(HttpExtensionClient.class);
+  private final RequestConnectionParams connectionParams = new RequestConnectionParams();
+  private final HttpConnectivityValidator validator = new HttpConnectivityValidator() {
 
-public class HttpConnectivityValidatorTestCase {
+    @Override
+    protected Result<Object, HttpResponseAttributes> sendRequest(HttpExtensionClient client, HttpRequest request)
+        throws InterruptedException, ExecutionException {
+      blockingSent++;
+      return super.sendRequest(client, request);
+    }
+
+    @Override
+    protected CompletableFuture<Result<Object, HttpResponseAttributes>> sendRequestAsync(HttpExtensionClient client,
+                                                                                        HttpRequest request) {
+      CompletableFuture<Result<Object, HttpResponseAttributes>> response = new CompletableFuture<>();
+      sent.add(response);
+      if (immediateResponse != null) {
+        response.complete(immediateResponse);
+      }
+      return response;
+    }
+  };
+
+  @Before
+  public void setUp() throws Exception {
+    connectionParams.setProtocol(HTTP);
+    connectionParams.setHost("localhost");
+    connectionParams.setPort(8081);
+    setField("resultCacheTtl", TTL);
+    setField("nanoClock", (LongSupplier) () -> MILLISECONDS.toNanos(now));
+    validator.initialise();
+  }
 
   @Test
   public void simpleEqualsContract() {
     EqualsVerifier.simple().forClass(HttpConnectivityValidator.class)
-        .withIgnoredFields("requestBuilder", "defaultStatusCodeValidator", "expressionManager", "muleContext")
+        .withIgnoredFields("requestBuilder", "defaultStatusCodeValidator", "expressionManager", "muleContext",
+                           "validations", "nanoClock")
         .verify();
   }
+
+  @Test
+  public void concurrentValidationsShareTheRequest() throws Exception {
+    CompletableFuture<Void> first = validator.validateAsync(client, connectionParams);
+    CompletableFuture<Void> second = validator.validateAsync(client, connectionParams);
+    assertThat(sent.size(), is(1));
+    assertThat(first.isDone(), is(false));
+
+    sent.get(0).complete(ok());
+    first.get();
+    second.get();
+  }
+
+  @Test
+  public void successfulValidationIsReusedUntilTtlExpires() throws Exception {
+    validator.validateAsync(client, connectionParams);
+    sent.get(0).complete(ok());
+
+    now += TTL - 1;
+    assertThat(validator.validateAsync(client, connectionParams).isDone(), is(true));
+    assertThat(sent.size(), is(1));
+
+    now += 1;
+    validator.validateAsync(client, connectionParams);
+    assertThat(sent.size(), is(2));
+  }
+
+  @Test
+  public void failedValidationIsNotReused() throws Exception {
+    IOException failure = new IOException("Connection refused");
+    CompletableFuture<Void> first = validator.validateAsync(client, connectionParams);
+    sent.get(0).completeExceptionally(failure);
+    assertFailedWith(first, failure);
+
+    CompletableFuture<Void> second = validator.validateAsync(client, connectionParams);
+    assertThat(sent.size(), is(2));
+    sent.get(1).complete(ok());
+    second.get();
+  }
+
+  @Test
+  public void blockingValidationSendsThroughSendRequest() throws Exception {
+    immediateResponse = ok();
+    validator.validate(client, connectionParams);
+    assertThat(blockingSent, is(1));
+
+    now += TTL;
+    validator.validateAsync(client, connectionParams).get();
+    assertThat(blockingSent, is(1));
+    assertThat(sent.size(), is(2));
+  }
+
+  private static Result<Object, HttpResponseAttributes> ok() {
+    return Result.<Object, HttpResponseAttributes>builder().attributes(new HttpResponseAttributes(200, "OK", new MultiMap<>()))
+        .build();
+  }
+
+  private static void assertFailedWith(CompletableFuture<Void> future, Throwable expected) throws Exception {
+    try {
+      future.get();
+      throw new AssertionError("Validation did not fail");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), sameInstance(expected));
+    }
+  }
+
+  private void setField(String name, Object value) throws Exception {
+    Field field = HttpConnectivityValidator.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(validator, value);
+  }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.authentication;
+
+import static org.mule.extension.http.api.HttpHeaders.Names.WWW_AUTHENTICATE;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.extension.http.api.HttpResponseAttributes;
+import org.mule.runtime.api.util.MultiMap;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.qameta.allure.Feature;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class DigestAuthenticationTestCase extends AbstractMuleTestCase {
+
+  private static final URI REQUEST_URI = URI.create("http://localhost:8081/dir/index.html");
+  private static final String CHALLENGE = "Digest realm=\"testrealm@host.com\", nonce=\"dcd98b7102dd2f0e8b11d0f600bfb0c093\"";
+
+  private final DigestAuthentication authentication = new DigestAuthentication();
+  private final HttpRequest request = mock(HttpRequest.class);
+
+  @Before
+  public void setUp() throws Exception {
+    setField(DigestAuthentication.class, "cacheChallenges", true);
+    setField(UsernamePasswordAuthentication.class, "username", "Mufasa");
+    setField(UsernamePasswordAuthentication.class, "password", "Circle Of Life");
+    when(request.getUri()).thenReturn(REQUEST_URI);
+  }
+
+  @Test
+  public void supportedChallengesAreAnswered() {
+    assertThat(retryIfShould(CHALLENGE + ", qop=\"auth\""), is(true));
+    assertThat(authentication.answersChallenges(REQUEST_URI), is(true));
+  }
+
+  @Test
+  public void unsupportedChallengesFallBackToTheClient() {
+    assertThat(retryIfShould(CHALLENGE + ", qop=\"auth-int\""), is(true));
+    assertThat(authentication.answersChallenges(REQUEST_URI), is(false));
+    assertThat(authentication.answersChallenges(URI.create("http://otherhost:8081/")), is(true));
+  }
+
+  private boolean retryIfShould(String challenge) {
+    MultiMap<String, String> headers = new MultiMap<>();
+    headers.put(WWW_AUTHENTICATE, challenge);
+    Result<Object, HttpResponseAttributes> result =
+        Result.<Object, HttpResponseAttributes>builder().attributes(new HttpResponseAttributes(401, "Unauthorized", headers))
+            .build();
+
+    AtomicBoolean retried = new AtomicBoolean();
+    authentication.retryIfShould(request, result, () -> retried.set(true), () -> retried.set(false));
+    return retried.get();
+  }
+
+  private void setField(Class<?> type, String name, Object value) throws Exception {
+    Field field = type.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(authentication, value);
+  }
+}
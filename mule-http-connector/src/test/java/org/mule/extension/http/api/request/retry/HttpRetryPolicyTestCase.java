@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.retry;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+import static org.mule.test.http.AllureConstants.HttpFeature.HttpStory.RETRY_POLICY;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+@Story(RETRY_POLICY)
+public class HttpRetryPolicyTestCase {
+
+  private HttpRetryPolicy retryPolicy;
+
+  @Before
+  public void setUp() throws Exception {
+    retryPolicy = new HttpRetryPolicy();
+    retryPolicy.setJitter(0);
+    retryPolicy.initialise();
+  }
+
+  @Test
+  public void simpleEqualsContract() {
+    EqualsVerifier.simple().forClass(HttpRetryPolicy.class)
+        .withIgnoredFields("compiledRetryStatusCodes", "budgets")
+        .verify();
+  }
+
+  @Test
+  public void defaultRetryableStatusCodes() {
+    assertThat(retryPolicy.isRetryableStatusCode(429), is(true));
+    assertThat(retryPolicy.isRetryableStatusCode(503), is(true));
+    assertThat(retryPolicy.isRetryableStatusCode(500), is(false));
+    assertThat(retryPolicy.isRetryableStatusCode(200), is(false));
+  }
+
+  @Test
+  public void statusCodeRanges() throws Exception {
+    retryPolicy.setRetryStatusCodes("408, 500..599");
+    retryPolicy.initialise();
+    assertThat(retryPolicy.isRetryableStatusCode(408), is(true));
+    assertThat(retryPolicy.isRetryableStatusCode(500), is(true));
+    assertThat(retryPolicy.isRetryableStatusCode(599), is(true));
+    assertThat(retryPolicy.isRetryableStatusCode(429), is(false));
+  }
+
+  @Test
+  public void retryableExceptions() {
+    retryPolicy.setRetryOnTimeout(false);
+    assertThat(retryPolicy.isRetryableException(new TimeoutException()), is(false));
+    assertThat(retryPolicy.isRetryableException(new IOException("Remotely closed")), is(true));
+  }
+
+  @Test
+  public void exponentialBackoffIsCapped() {
+    retryPolicy.setMaxBackoff(500);
+    assertThat(retryPolicy.getRetryDelay(0, null), is(100L));
+    assertThat(retryPolicy.getRetryDelay(1, null), is(200L));
+    assertThat(retryPolicy.getRetryDelay(2, null), is(400L));
+    assertThat(retryPolicy.getRetryDelay(3, null), is(500L));
+  }
+
+  @Test
+  public void jitterReducesBackoff() throws Exception {
+    retryPolicy.setJitter(1);
+    retryPolicy.initialise();
+    for (int i = 0; i < 100; ++i) {
+      assertThat(retryPolicy.getRetryDelay(2, null), lessThanOrEqualTo(400L));
+    }
+  }
+
+  @Test
+  public void retryAfterIsHonoured() {
+    assertThat(retryPolicy.getRetryDelay(0, "2"), is(SECONDS.toMillis(2)));
+  }
+
+  @Test
+  public void retryAfterLongerThanMaxBackoffIsNotRetried() {
+    assertThat(retryPolicy.getRetryDelay(0, "3600"), is(-1L));
+  }
+
+  @Test
+  public void invalidRetryAfterFallsBackToBackoff() {
+    assertThat(retryPolicy.getRetryDelay(0, "soon"), is(100L));
+  }
+
+  @Test
+  public void retryAfterIgnoredWhenNotHonoured() {
+    retryPolicy.setHonourRetryAfter(false);
+    assertThat(retryPolicy.getRetryDelay(0, "3600"), is(100L));
+  }
+
+  @Test
+  public void retryBudgetIsPerHost() throws Exception {
+    retryPolicy.setRetryBudget(2);
+    retryPolicy.setRetryBudgetRefillPerSecond(0);
+    retryPolicy.initialise();
+
+    assertThat(retryPolicy.tryAcquireRetry("host1:80"), is(true));
+    assertThat(retryPolicy.tryAcquireRetry("host1:80"), is(true));
+    assertThat(retryPolicy.tryAcquireRetry("host1:80"), is(false));
+    assertThat(retryPolicy.tryAcquireRetry("host2:80"), is(true));
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.validator;
+
+import static org.mule.extension.http.api.request.validator.ExpressionResponseValidator.referencesPayload;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class ExpressionResponseValidatorTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void statusAndHeadersOnlyDontReferencePayload() {
+    assertThat(referencesPayload("#[attributes.statusCode == 200]"), is(false));
+    assertThat(referencesPayload("#[attributes.headers.payload != null and mediaType.primaryType == 'application']"),
+               is(false));
+    assertThat(referencesPayload("#[attributes.headers['x-payloadSize'] as Number < 100]"), is(false));
+  }
+
+  @Test
+  public void payloadIsReferenced() {
+    assertThat(referencesPayload("#[payload.status == 'OK']"), is(true));
+    assertThat(referencesPayload("#[attributes.statusCode == 200 and !isEmpty(payload)]"), is(true));
+    assertThat(referencesPayload("#[payload]"), is(true));
+  }
+
+  @Test
+  public void unknownExpressionMayReferencePayload() {
+    assertThat(referencesPayload(null), is(true));
+  }
+}
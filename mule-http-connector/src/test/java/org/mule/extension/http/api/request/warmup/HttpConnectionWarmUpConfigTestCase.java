@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.api.request.warmup;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.http.api.HttpConstants.Protocol.HTTPS;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import org.mule.extension.http.internal.request.RequestConnectionParams;
+import org.mule.extension.http.internal.request.client.DefaultUriParameters;
+import org.mule.extension.http.internal.request.client.HttpExtensionClient;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.qameta.allure.Feature;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class HttpConnectionWarmUpConfigTestCase {
+
+  private final List<HttpRequest> sent = new ArrayList<>();
+  private final List<CompletableFuture<HttpResponse>> responses = new ArrayList<>();
+  private final HttpExtensionClient client = mock(HttpExtensionClient.class);
+  private final RequestConnectionParams connectionParams = new RequestConnectionParams();
+  private final HttpConnectionWarmUpConfig warmUp = new HttpConnectionWarmUpConfig();
+
+  @Before
+  public void setUp() {
+    when(client.getDefaultUriParameters()).thenReturn(new DefaultUriParameters(HTTPS, "localhost", 8443));
+    when(client.sendDirectly(any(), anyInt(), anyBoolean(), any(), any())).thenAnswer(invocation -> {
+      sent.add(invocation.getArgument(0));
+      CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+      responses.add(response);
+      return response;
+    });
+  }
+
+  @Test
+  public void simpleEqualsContract() {
+    EqualsVerifier.simple().forClass(HttpConnectionWarmUpConfig.class)
+        .withIgnoredFields("schedulerService", "scheduler", "keepWarmTasks")
+        .verify();
+  }
+
+  @Test
+  public void sendsConcurrentRequests() {
+    warmUp.setConnections(3);
+    CompletableFuture<Void> warmedUp = warmUp.warmUp(client, connectionParams);
+
+    assertThat(sent.size(), is(3));
+    for (HttpRequest request : sent) {
+      assertThat(request.getMethod(), is("HEAD"));
+      assertThat(request.getUri().toString(), is("https://localhost:8443/"));
+    }
+    assertThat(warmedUp.isDone(), is(false));
+    verify(client, never()).send(any(), anyInt(), anyBoolean(), any(), any());
+
+    responses.get(0).complete(HttpResponse.builder().statusCode(200).build());
+    responses.get(1).complete(HttpResponse.builder().statusCode(404).build());
+    responses.get(2).completeExceptionally(new IllegalStateException("Connection refused"));
+    assertThat(warmedUp.isDone(), is(true));
+    assertThat(warmedUp.isCompletedExceptionally(), is(false));
+  }
+
+  @Test
+  public void nothingSentWithoutHost() {
+    when(client.getDefaultUriParameters()).thenReturn(new DefaultUriParameters(HTTPS, null, 8443));
+    assertThat(warmUp.warmUp(client, connectionParams).isDone(), is(true));
+    verify(client, never()).sendDirectly(any(), anyInt(), anyBoolean(), any(), any());
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal;
+
+import static org.mule.extension.http.internal.ByteRange.parse;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.qameta.allure.Feature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(HTTP_EXTENSION)
+public class ByteRangeTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void rangesAreClampedToTheResource() {
+    assertThat(contentRanges("bytes=0-9, 90-200, -20", 100), contains("bytes 0-9/100", "bytes 80-99/100"));
+    assertThat(contentRanges("bytes=50-", 100), contains("bytes 50-99/100"));
+    assertThat(contentRanges("bytes=-5", 100), contains("bytes 95-99/100"));
+  }
+
+  @Test
+  public void overlappingAndAdjacentRangesAreMerged() {
+    assertThat(contentRanges("bytes=50-59, 0-9, 5-14, 15-19", 100), contains("bytes 0-19/100", "bytes 50-59/100"));
+  }
+
+  @Test
+  public void rangesAsBigAsTheResourceAreIgnored() {
+    assertThat(parse("bytes=-500", 100).isPresent(), is(false));
+    assertThat(parse("bytes=0-49, 50-", 100).isPresent(), is(false));
+    assertThat(parse("bytes=0-,0-,0-,0-,0-,0-,0-,0-,0-,0-,0-,0-,0-,0-,0-,0-", 100).isPresent(), is(false));
+  }
+
+  @Test
+  public void rangesOutOfTheResourceAreNotSatisfiable() {
+    assertThat(parse("bytes=100-", 100).get(), is(empty()));
+    assertThat(parse("bytes=-0", 100).get(), is(empty()));
+    assertThat(parse("bytes=0-", 0).get(), is(empty()));
+  }
+
+  @Test
+  public void invalidHeadersAreIgnored() {
+    assertThat(parse("items=0-9", 100).isPresent(), is(false));
+    assertThat(parse("bytes=9-0", 100).isPresent(), is(false));
+    assertThat(parse("bytes=a-b", 100).isPresent(), is(false));
+    assertThat(parse("bytes=5", 100).isPresent(), is(false));
+    assertThat(parse("bytes=0-+9", 100).isPresent(), is(false));
+    assertThat(parse("bytes=0-0,1-1,2-2,3-3,4-4,5-5,6-6,7-7,8-8,9-9,10-10,11-11,12-12,13-13,14-14,15-15,16-16", 100)
+        .isPresent(), is(false));
+  }
+
+  @Test
+  public void rangesAreReadFromTheFileOrTheContent() throws IOException {
+    byte[] content = "0123456789".getBytes(US_ASCII);
+    Path file = Files.write(folder.getRoot().toPath().resolve("digits.txt"), content);
+    List<ByteRange> ranges = parse("bytes=1-2,-3", content.length).get();
+
+    for (byte[] cached : new byte[][] {null, content}) {
+      ByteRangeInputStream stream = new ByteRangeInputStream(file, cached);
+      stream.addBytes("[".getBytes(US_ASCII)).addRange(ranges.get(0)).addBytes("|".getBytes(US_ASCII))
+          .addRange(ranges.get(1)).addBytes("]".getBytes(US_ASCII));
+
+      assertThat(stream.getLength(), is(8L));
+      try (InputStream read = stream) {
+        assertThat(IOUtils.toString(read), is("[12|789]"));
+      }
+    }
+  }
+
+  private static List<String> contentRanges(String header, long length) {
+    return parse(header, length).get().stream().map(range -> range.toContentRange(length)).collect(Collectors.toList());
+  }
+}
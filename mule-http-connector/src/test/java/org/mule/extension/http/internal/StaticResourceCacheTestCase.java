@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal;
+
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.extension.http.internal.StaticResourceCache.Resource;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import io.qameta.allure.Feature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(HTTP_EXTENSION)
+public class StaticResourceCacheTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final StaticResourceCache cache = new StaticResourceCache(40);
+
+  @Test
+  public void unchangedFileIsReadOnce() throws IOException {
+    Path file = write("index.html", "<html/>");
+
+    Resource resource = read(file);
+
+    assertThat(new String(resource.getContent(), UTF_8), is("<html/>"));
+    assertThat(resource.getMediaType().getPrimaryType(), is("text"));
+    assertThat(read(file), is(sameInstance(resource)));
+  }
+
+  @Test
+  public void validatorsAreAvailableWithoutReadingTheFile() throws IOException {
+    Path file = write("logo.svg", "<svg/>");
+    Files.setLastModifiedTime(file, FileTime.fromMillis(1445412480000L));
+
+    Resource resource = cache.get(file);
+
+    assertThat(resource.hasContent(), is(false));
+    assertThat(resource.getEntityTag(), is("\"6-150894c2400\""));
+    assertThat(resource.getHttpDate(), is("Wed, 21 Oct 2015 07:28:00 GMT"));
+    assertThat(cache.getSize(), is(0L));
+  }
+
+  @Test
+  public void encodedVariantKeepsTheMediaTypeOfTheOriginal() throws IOException {
+    Path file = write("index.html", "<html/>");
+    Path encoded = write("index.html.gz", "compressed");
+
+    Resource variant = cache.getEncoded(encoded, cache.get(file));
+
+    assertThat(variant.getMediaType().getPrimaryType(), is("text"));
+    assertThat(variant.getLength(), is(10L));
+  }
+
+  @Test
+  public void modifiedFileIsReadAgain() throws IOException {
+    Path file = write("app.js", "one");
+    Resource resource = read(file);
+
+    write("app.js", "two");
+    Files.setLastModifiedTime(file, FileTime.fromMillis(resource.getLastModified() + 1000));
+
+    Resource modified = read(file);
+    assertThat(modified, is(not(sameInstance(resource))));
+    assertThat(new String(modified.getContent(), UTF_8), is("two"));
+  }
+
+  @Test
+  public void leastRecentlyUsedFilesAreEvicted() throws IOException {
+    Path first = write("first.css", "0123456789");
+    Path second = write("second.css", "0123456789");
+    Path third = write("third.css", "0123456789");
+    Path fourth = write("fourth.css", "0123456789");
+    Path fifth = write("fifth.css", "0123456789");
+
+    Resource firstResource = read(first);
+    Resource secondResource = read(second);
+    read(third);
+    read(fourth);
+    read(first);
+    read(fifth);
+
+    assertThat(cache.getSize(), is(40L));
+    assertThat(read(first), is(sameInstance(firstResource)));
+    assertThat(read(second), is(not(sameInstance(secondResource))));
+  }
+
+  @Test
+  public void bigFilesAreNotRead() throws IOException {
+    Path file = write("big.bin", "01234567890");
+
+    Resource resource = read(file);
+
+    assertThat(resource.hasContent(), is(false));
+    assertThat(resource.getLength(), is(11L));
+    assertThat(cache.getSize(), is(0L));
+  }
+
+  private Resource read(Path file) throws IOException {
+    return cache.load(file, cache.get(file));
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return Files.write(folder.getRoot().toPath().resolve(name), content.getBytes(UTF_8));
+  }
+}
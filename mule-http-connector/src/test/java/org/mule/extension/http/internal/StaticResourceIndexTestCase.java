@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal;
+
+import static org.mule.extension.http.internal.StaticResourceIndex.MAX_INDEXES;
+import static org.mule.extension.http.internal.StaticResourceIndex.normalize;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.qameta.allure.Feature;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(HTTP_EXTENSION)
+public class StaticResourceIndexTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final Object owner = new Object();
+
+  @After
+  public void tearDown() {
+    StaticResourceIndex.release(owner);
+  }
+
+  @Test
+  public void pathsAreNormalized() {
+    assertThat(normalize(""), is("/"));
+    assertThat(normalize("/css//./app.css"), is("/css/app.css"));
+    assertThat(normalize("/css/../js/"), is("/js"));
+    assertThat(normalize("/css/../../etc/passwd"), is(nullValue()));
+  }
+
+  @Test
+  public void filesAreFound() throws IOException {
+    Path file = write("pages/about.html", "<html/>");
+
+    StaticResourceIndex.Entry entry = index().find("/pages/about.html", "index.html");
+
+    assertThat(entry.getPath(), is(file.toAbsolutePath().normalize()));
+  }
+
+  @Test
+  public void directoriesResolveTheDefaultFile() throws IOException {
+    Path file = write("docs/index.html", "<html/>");
+
+    assertThat(index().find("/docs/", "index.html").getPath(), is(file.toAbsolutePath().normalize()));
+    assertThat(index().find("/docs", "index.html").getPath(), is(file.toAbsolutePath().normalize()));
+    assertThat(index().find("/docs", "missing.html"), is(nullValue()));
+  }
+
+  @Test
+  public void missingAndOutsidePathsAreNotFound() throws IOException {
+    write("index.html", "<html/>");
+
+    assertThat(index().find("/wp-login.php", "index.html"), is(nullValue()));
+    assertThat(index().find("/../index.html", "index.html"), is(nullValue()));
+  }
+
+  @Test
+  public void variantsAreFound() throws IOException {
+    write("app.js", "one");
+    Path variant = write("app.js.gz", "compressed");
+
+    StaticResourceIndex.Entry entry = index().find("/app.js", "index.html");
+
+    assertThat(index().findVariant(entry, ".gz").getPath(), is(variant.toAbsolutePath().normalize()));
+    assertThat(index().findVariant(entry, ".br"), is(nullValue()));
+  }
+
+  @Test
+  public void indexesAreBuiltByTheExecutor() throws IOException {
+    write("index.html", "<html/>");
+    List<Runnable> tasks = new ArrayList<>();
+    String basePath = folder.getRoot().getAbsolutePath();
+
+    assertThat(StaticResourceIndex.of(basePath, owner, tasks::add), is(nullValue()));
+    assertThat(StaticResourceIndex.of(basePath, owner, tasks::add), is(nullValue()));
+    assertThat(tasks.size(), is(1));
+
+    tasks.get(0).run();
+    assertThat(StaticResourceIndex.of(basePath, owner, tasks::add), is(notNullValue()));
+  }
+
+  @Test
+  public void indexesAreBounded() throws IOException {
+    for (int i = 0; i < MAX_INDEXES; ++i) {
+      assertThat(index(folder.newFolder()), is(notNullValue()));
+    }
+    assertThat(index(folder.newFolder()), is(nullValue()));
+  }
+
+  @Test
+  public void indexesAreSharedUntilEveryOwnerReleasesThem() throws IOException {
+    write("index.html", "<html/>");
+    Object other = new Object();
+    String basePath = folder.getRoot().getAbsolutePath();
+    StaticResourceIndex index = index();
+
+    try {
+      assertThat(StaticResourceIndex.of(basePath, other, Runnable::run), is(sameInstance(index)));
+      StaticResourceIndex.release(owner);
+      assertThat(StaticResourceIndex.of(basePath, other, Runnable::run), is(sameInstance(index)));
+    } finally {
+      StaticResourceIndex.release(other);
+    }
+    assertThat(index(), is(not(sameInstance(index))));
+  }
+
+  private StaticResourceIndex index() {
+    return index(folder.getRoot());
+  }
+
+  private StaticResourceIndex index(File basePath) {
+    return StaticResourceIndex.of(basePath.getAbsolutePath(), owner, Runnable::run);
+  }
+
+  private Path write(String name, String content) throws IOException {
+    Path file = folder.getRoot().toPath().resolve(name);
+    Files.createDirectories(file.getParent());
+    return Files.write(file, content.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal;
+
+import static org.mule.extension.http.internal.StaticResourceLoader.acceptsGzip;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class StaticResourceLoaderTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void gzipIsAccepted() {
+    assertThat(acceptsGzip(singletonList("gzip, deflate, br")), is(true));
+    assertThat(acceptsGzip(singletonList("deflate;q=1.0, GZIP;q=0.5")), is(true));
+    assertThat(acceptsGzip(asList("br", "x-gzip")), is(true));
+    assertThat(acceptsGzip(singletonList("*")), is(true));
+  }
+
+  @Test
+  public void gzipIsNotAccepted() {
+    assertThat(acceptsGzip(null), is(false));
+    assertThat(acceptsGzip(singletonList("identity")), is(false));
+    assertThat(acceptsGzip(singletonList("gzip;q=0")), is(false));
+    assertThat(acceptsGzip(singletonList("*, gzip;q=0.0")), is(false));
+    assertThat(acceptsGzip(singletonList("gzip;q=invalid")), is(false));
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static org.mule.extension.http.internal.request.DigestChallenge.parse;
+import static org.mule.extension.http.internal.request.DigestChallenge.parseParams;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static java.util.Collections.singletonList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.Map;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class DigestChallengeTestCase extends AbstractMuleTestCase {
+
+  // examples of RFC 2617 and RFC 7616
+  private static final String MD5_CHALLENGE = "Digest realm=\"testrealm@host.com\", qop=\"auth,auth-int\", "
+      + "nonce=\"dcd98b7102dd2f0e8b11d0f600bfb0c093\", opaque=\"5ccc069c403ebaf9f0171e9517f40e41\"";
+  private static final String SHA_256_CHALLENGE = "Digest realm=\"http-auth@example.org\", qop=\"auth, auth-int\", "
+      + "algorithm=SHA-256, nonce=\"7ypf/xlj9XXwfDPEoM4URrv/xwf94BcCAzFZH4GiTo0v\", "
+      + "opaque=\"FQhe/qaU925kfnzjCev0ciny7QMkPqMAFRtzCUYo5tdS\"";
+
+  @Test
+  public void md5Response() {
+    DigestChallenge challenge = parse(singletonList(MD5_CHALLENGE), "Mufasa", "Circle Of Life");
+
+    assertThat(challenge.authorize("GET", "/dir/index.html", "0a4f113b"),
+               is("Digest username=\"Mufasa\", realm=\"testrealm@host.com\", nonce=\"dcd98b7102dd2f0e8b11d0f600bfb0c093\", "
+                   + "uri=\"/dir/index.html\", response=\"6629fae49393a05397450978507c4ef1\", "
+                   + "opaque=\"5ccc069c403ebaf9f0171e9517f40e41\", qop=auth, nc=00000001, cnonce=\"0a4f113b\""));
+  }
+
+  @Test
+  public void sha256Response() {
+    DigestChallenge challenge = parse(singletonList(SHA_256_CHALLENGE), "Mufasa", "Circle of Life");
+
+    assertThat(challenge.authorize("GET", "/dir/index.html", "f2/wE4q74E6zIJEtWaHKaf5wv/H5QzzpXusqGemxURZJ"),
+               containsString("response=\"753927fa0e85d155564e2e272a28d1802ca10daf4496794697cf8db5856cb6c1\""));
+  }
+
+  @Test
+  public void nonceCountIncrements() {
+    DigestChallenge challenge = parse(singletonList(MD5_CHALLENGE), "Mufasa", "Circle Of Life");
+
+    challenge.authorize("GET", "/dir/index.html");
+    String second = challenge.authorize("GET", "/dir/index.html");
+
+    assertThat(second, containsString("nc=00000002"));
+    assertThat(second, not(containsString("cnonce=\"0a4f113b\"")));
+  }
+
+  @Test
+  public void digestAmongOtherChallenges() {
+    Map<String, String> params = parseParams("Basic realm=\"basic\", Digest realm=\"a \\\"quoted\\\" realm\", nonce=abc, "
+        + "Negotiate token==");
+
+    assertThat(params, hasEntry("realm", "a \"quoted\" realm"));
+    assertThat(params, hasEntry("nonce", "abc"));
+    assertThat(params.size(), is(2));
+  }
+
+  @Test
+  public void unsupportedChallenges() {
+    assertThat(parse(singletonList("Basic realm=\"basic\""), "user", "password"), is(nullValue()));
+    assertThat(parse(singletonList("Digest realm=\"r\", nonce=\"n\", qop=\"auth-int\""), "user", "password"), is(nullValue()));
+    assertThat(parse(singletonList("Digest realm=\"r\", nonce=\"n\", algorithm=SHA-512-256"), "user", "password"),
+               is(nullValue()));
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static org.mule.extension.http.internal.request.HttpPollingSourceUtils.getNextLink;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class HttpPollingSourceUtilsTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void nextLinkAmongOthers() {
+    assertThat(getNextLink(singletonList("<https://api.example.com/items?page=1>; rel=\"prev\", "
+        + "<https://api.example.com/items?page=3&fields=a,b>; rel=\"next\", <https://api.example.com/items?page=9>; rel=last")),
+               is(of("https://api.example.com/items?page=3&fields=a,b")));
+  }
+
+  @Test
+  public void nextLinkInSeveralHeaders() {
+    assertThat(getNextLink(asList("</items?page=1>; rel=first", "</items?page=2>; title=\"Next; page\"; REL=\"next last\"")),
+               is(of("/items?page=2")));
+  }
+
+  @Test
+  public void noNextLink() {
+    assertThat(getNextLink(singletonList("</items?page=1>; rel=\"prev\"; title=\"next\"")), is(empty()));
+    assertThat(getNextLink(singletonList("</items?page=1>; rel=\"nextpage\"")), is(empty()));
+    assertThat(getNextLink(emptyList()), is(empty()));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.extension.http.api.HttpResponseAttributes;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.ExpressionLanguage;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import io.qameta.allure.Feature;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+@Feature(HTTP_EXTENSION)
+public class PollingExpressionTestCase extends AbstractMuleTestCase {
+
+  private final ExpressionLanguage expressionLanguage = mock(ExpressionLanguage.class);
+
+  @Before
+  public void setUp() {
+    // evaluated from the text, so that the bindings can be captured
+    when(expressionLanguage.compile(anyString(), any(BindingContext.class))).thenThrow(new IllegalStateException());
+    when(expressionLanguage.evaluate(anyString(), any(DataType.class), any(BindingContext.class)))
+        .thenReturn(TypedValue.of("result"));
+  }
+
+  @Test
+  public void staticValueIsNotEvaluated() {
+    PollingExpression value = PollingExpression.compile("static", expressionLanguage);
+
+    assertThat(value.isExpression(), is(false));
+    assertThat(value.evaluate(STRING, TypedValue.of("payload"), null, "watermark", null, null, expressionLanguage).getValue(),
+               is("static"));
+    verify(expressionLanguage, never()).compile(anyString(), any(BindingContext.class));
+  }
+
+  @Test
+  public void onlyReferencedBindingsAreBound() {
+    PollingExpression expression = PollingExpression.compile("#[item.id ++ watermark]", expressionLanguage);
+
+    assertThat(expression.referencesPayload(), is(false));
+    expression.evaluate(STRING, TypedValue.of("payload"), mock(HttpResponseAttributes.class), "watermark",
+                        TypedValue.of("item"), null, expressionLanguage);
+
+    ArgumentCaptor<BindingContext> context = ArgumentCaptor.forClass(BindingContext.class);
+    verify(expressionLanguage).evaluate(eq("#[item.id ++ watermark]"), eq(STRING), context.capture());
+    assertThat(context.getValue().identifiers(), containsInAnyOrder("item", "watermark"));
+  }
+
+  @Test
+  public void payloadIsBoundWhenReferenced() {
+    PollingExpression expression = PollingExpression.compile(" #[payload.total] ", expressionLanguage);
+
+    assertThat(expression.referencesPayload(), is(true));
+    expression.evaluate(STRING, TypedValue.of("payload"), null, "watermark", TypedValue.of("item"), null,
+                        expressionLanguage);
+
+    ArgumentCaptor<BindingContext> context = ArgumentCaptor.forClass(BindingContext.class);
+    verify(expressionLanguage).evaluate(anyString(), eq(STRING), context.capture());
+    assertThat(context.getValue().identifiers(), containsInAnyOrder("payload"));
+  }
+
+  @Test
+  public void partitionIsBoundWhenReferenced() {
+    PollingExpression expression = PollingExpression.compile("#[partition]", expressionLanguage);
+
+    expression.evaluate(STRING, null, null, "watermark", null, "eu-west", expressionLanguage);
+
+    ArgumentCaptor<BindingContext> context = ArgumentCaptor.forClass(BindingContext.class);
+    verify(expressionLanguage).evaluate(anyString(), eq(STRING), context.capture());
+    assertThat(context.getValue().identifiers(), containsInAnyOrder("partition"));
+  }
+}
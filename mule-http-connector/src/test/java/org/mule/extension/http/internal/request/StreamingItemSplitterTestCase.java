@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request;
+
+import static org.mule.extension.http.api.request.response.StreamingSplitMode.CSV;
+import static org.mule.extension.http.api.request.response.StreamingSplitMode.JSON_ARRAY;
+import static org.mule.extension.http.api.request.response.StreamingSplitMode.NDJSON;
+import static org.mule.runtime.api.metadata.MediaType.parse;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.mule.extension.http.api.request.response.StreamingSplitMode;
+import org.mule.extension.http.internal.request.StreamingItemSplitter.SplitItem;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class StreamingItemSplitterTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void jsonArray() throws IOException {
+    assertThat(texts(JSON_ARRAY, " [ {\"a\": [1, 2]}, \"x,]\\\"\" ,3,{\"b\":{}} ] "),
+               contains("{\"a\": [1, 2]}", "\"x,]\\\"\"", "3", "{\"b\":{}}"));
+  }
+
+  @Test
+  public void emptyJsonArray() throws IOException {
+    assertThat(texts(JSON_ARRAY, "[ ]"), is(empty()));
+  }
+
+  @Test(expected = IOException.class)
+  public void notJsonArray() throws IOException {
+    texts(JSON_ARRAY, "{\"a\": 1}");
+  }
+
+  @Test(expected = IOException.class)
+  public void unclosedJsonArray() throws IOException {
+    texts(JSON_ARRAY, "[1, {\"a\": 2}");
+  }
+
+  @Test
+  public void ndjson() throws IOException {
+    assertThat(texts(NDJSON, "{\"a\":1}\r\n\n  \n{\"a\":2}\n{\"a\":3}"), contains("{\"a\":1}", "{\"a\":2}", "{\"a\":3}"));
+  }
+
+  @Test
+  public void csv() throws IOException {
+    StreamingItemSplitter splitter =
+        new StreamingItemSplitter(CSV, new StringReader("id,name\r\n1,\"Doe, \"\"J\"\"\"\r\n\r\n2,\"multi\nline\"\r\n"),
+                                  parse("text/csv"));
+
+    SplitItem first = splitter.next();
+    assertThat(first.getText(), is("id,name\n1,\"Doe, \"\"J\"\"\""));
+    Map<String, String> firstRecord = (Map<String, String>) first.getValue().getValue();
+    assertThat(firstRecord.get("id"), is("1"));
+    assertThat(firstRecord.get("name"), is("Doe, \"J\""));
+
+    SplitItem second = splitter.next();
+    Map<String, String> secondRecord = (Map<String, String>) second.getValue().getValue();
+    assertThat(secondRecord.get("name"), is("multi\nline"));
+
+    assertThat(splitter.next(), is(nullValue()));
+  }
+
+  @Test
+  public void itemsSpanningSeveralReads() throws IOException {
+    StringBuilder body = new StringBuilder("[");
+    for (int i = 0; i < 2000; ++i) {
+      body.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"padding\":\"0123456789\"}");
+    }
+    assertThat(texts(JSON_ARRAY, body.append("]").toString()).size(), is(2000));
+  }
+
+  private static List<String> texts(StreamingSplitMode mode, String body) throws IOException {
+    List<String> texts = new ArrayList<>();
+    try (StreamingItemSplitter splitter = new StreamingItemSplitter(mode, new StringReader(body), parse("text/plain"))) {
+      SplitItem item;
+      while ((item = splitter.next()) != null) {
+        texts.add(item.getText());
+      }
+    }
+    return texts;
+  }
+}
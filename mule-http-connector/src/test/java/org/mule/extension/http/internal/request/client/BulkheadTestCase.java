@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import org.mule.extension.http.internal.request.TokenBucket;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import io.qameta.allure.Feature;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class BulkheadTestCase {
+
+  private ScheduledExecutorService scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler = newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void queuedTaskStartsWhenCapacityFrees() throws Exception {
+    Bulkhead bulkhead = new Bulkhead(1, 1, SECONDS.toNanos(10), null, scheduler);
+    CompletableFuture<String> first = new CompletableFuture<>();
+
+    CompletableFuture<String> firstResult = bulkhead.submit(() -> first);
+    CompletableFuture<String> secondResult = bulkhead.submit(() -> CompletableFuture.completedFuture("second"));
+
+    assertThat(bulkhead.getActiveCount(), is(1));
+    assertThat(bulkhead.getQueueSize(), is(1));
+    assertThat(secondResult.isDone(), is(false));
+
+    first.complete("first");
+    assertThat(firstResult.get(5, SECONDS), is("first"));
+    assertThat(secondResult.get(5, SECONDS), is("second"));
+  }
+
+  @Test
+  public void rejectsWhenQueueIsFull() {
+    Bulkhead bulkhead = new Bulkhead(1, 0, SECONDS.toNanos(10), null, scheduler);
+    bulkhead.submit(CompletableFuture::new);
+
+    assertRejected(bulkhead.submit(() -> CompletableFuture.completedFuture("rejected")));
+  }
+
+  @Test
+  public void rejectsWhenWaitTimeElapses() {
+    Bulkhead bulkhead = new Bulkhead(1, 1, MILLISECONDS.toNanos(50), null, scheduler);
+    bulkhead.submit(CompletableFuture::new);
+
+    assertRejected(bulkhead.submit(() -> CompletableFuture.completedFuture("expired")));
+    assertThat(bulkhead.getQueueSize(), is(0));
+  }
+
+  @Test
+  public void failuresReleaseCapacity() throws Exception {
+    Bulkhead bulkhead = new Bulkhead(1, 0, SECONDS.toNanos(10), null, scheduler);
+    CompletableFuture<String> failing = new CompletableFuture<>();
+    bulkhead.submit(() -> failing);
+    failing.completeExceptionally(new IllegalStateException());
+
+    assertThat(bulkhead.getActiveCount(), is(0));
+    assertThat(bulkhead.submit(() -> CompletableFuture.completedFuture("ok")).get(5, SECONDS), is("ok"));
+  }
+
+  @Test
+  public void rateLimitedTaskStartsWhenTokenIsAvailable() throws Exception {
+    Bulkhead bulkhead = new Bulkhead(-1, 1, SECONDS.toNanos(10), new TokenBucket(1, 20), scheduler);
+
+    assertThat(bulkhead.submit(() -> CompletableFuture.completedFuture("first")).get(5, SECONDS), is("first"));
+    CompletableFuture<String> second = bulkhead.submit(() -> CompletableFuture.completedFuture("second"));
+    assertThat(bulkhead.getQueueSize(), is(1));
+    assertThat(second.get(5, SECONDS), is("second"));
+  }
+
+  private void assertRejected(CompletableFuture<String> future) {
+    try {
+      future.get(5, SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(RequestLimitExceededException.class));
+      return;
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+    throw new AssertionError("Task was not rejected");
+  }
+}
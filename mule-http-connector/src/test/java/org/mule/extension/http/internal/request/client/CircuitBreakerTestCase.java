@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mule.extension.http.internal.request.client.CircuitBreaker.State.CLOSED;
+import static org.mule.extension.http.internal.request.client.CircuitBreaker.State.HALF_OPEN;
+import static org.mule.extension.http.internal.request.client.CircuitBreaker.State.OPEN;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import org.mule.extension.http.internal.request.client.CircuitBreaker.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.qameta.allure.Feature;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class CircuitBreakerTestCase {
+
+  private static final long SLOW_CALL_DURATION = 1000;
+  private static final long WAIT_DURATION = 5000;
+
+  private long now;
+  private final List<State> transitions = new ArrayList<>();
+  private CircuitBreaker circuitBreaker;
+
+  @Before
+  public void setUp() {
+    circuitBreaker = new CircuitBreaker("localhost:8081", 50, 100, SLOW_CALL_DURATION, 10, 4, WAIT_DURATION, 2,
+                                        () -> now, (name, from, to) -> transitions.add(to));
+  }
+
+  @Test
+  public void staysClosedBelowMinimumNumberOfCalls() {
+    recordCalls(3, true);
+    assertThat(circuitBreaker.getState(), is(CLOSED));
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+  }
+
+  @Test
+  public void opensWhenFailureRateIsReached() {
+    recordCalls(2, false);
+    recordCalls(2, true);
+    assertThat(circuitBreaker.getState(), is(OPEN));
+    assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    assertThat(transitions, contains(OPEN));
+  }
+
+  @Test
+  public void opensWhenSlowCallRateIsReached() {
+    for (int i = 0; i < 4; ++i) {
+      circuitBreaker.onResult(SLOW_CALL_DURATION, false);
+    }
+    assertThat(circuitBreaker.getState(), is(OPEN));
+  }
+
+  @Test
+  public void onlyOutcomesInTheSlidingWindowAreConsidered() {
+    CircuitBreaker windowed = new CircuitBreaker("windowed", 50, 100, SLOW_CALL_DURATION, 4, 4, WAIT_DURATION, 2, () -> now,
+                                                 null);
+    for (int i = 0; i < 4; ++i) {
+      windowed.onResult(0, false);
+    }
+    windowed.onResult(0, true);
+    assertThat(windowed.getState(), is(CLOSED));
+
+    // 2 failures out of the last 4 calls, though only 2 out of the 6 recorded ones
+    windowed.onResult(0, true);
+    assertThat(windowed.getState(), is(OPEN));
+  }
+
+  @Test
+  public void halfOpenAfterWaitDurationLimitsProbes() {
+    recordCalls(4, true);
+    now += WAIT_DURATION;
+
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    assertThat(circuitBreaker.getState(), is(HALF_OPEN));
+    assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+  }
+
+  @Test
+  public void successfulProbesCloseTheCircuit() {
+    recordCalls(4, true);
+    now += WAIT_DURATION;
+    circuitBreaker.tryAcquirePermission();
+    circuitBreaker.tryAcquirePermission();
+    recordCalls(2, false);
+
+    assertThat(circuitBreaker.getState(), is(CLOSED));
+    assertThat(transitions, contains(OPEN, HALF_OPEN, CLOSED));
+  }
+
+  @Test
+  public void failedProbesReopenTheCircuit() {
+    recordCalls(4, true);
+    now += WAIT_DURATION;
+    circuitBreaker.tryAcquirePermission();
+    circuitBreaker.tryAcquirePermission();
+    recordCalls(1, false);
+    recordCalls(1, true);
+
+    assertThat(circuitBreaker.getState(), is(OPEN));
+    assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    assertThat(transitions, contains(OPEN, HALF_OPEN, OPEN));
+  }
+
+  private void recordCalls(int count, boolean failed) {
+    for (int i = 0; i < count; ++i) {
+      circuitBreaker.onResult(0, failed);
+    }
+  }
+}
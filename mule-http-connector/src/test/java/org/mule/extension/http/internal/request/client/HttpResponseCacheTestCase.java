@@ -0,0 +1,250 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mule.extension.http.api.HttpHeaders.Names.ACCEPT_LANGUAGE;
+import static org.mule.extension.http.api.HttpHeaders.Names.AUTHORIZATION;
+import static org.mule.extension.http.api.HttpHeaders.Names.CACHE_CONTROL;
+import static org.mule.extension.http.api.HttpHeaders.Names.ETAG;
+import static org.mule.extension.http.api.HttpHeaders.Names.IF_NONE_MATCH;
+import static org.mule.extension.http.api.HttpHeaders.Names.VARY;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.runtime.http.api.domain.entity.ByteArrayHttpEntity;
+import org.mule.runtime.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+import org.mule.runtime.http.api.domain.message.response.HttpResponseBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import io.qameta.allure.Feature;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class HttpResponseCacheTestCase {
+
+  private static final String URI = "http://localhost:8081/currencies";
+
+  private long now;
+  private final List<HttpRequest> sentRequests = new ArrayList<>();
+  private final Queue<HttpResponse> responses = new LinkedList<>();
+  private HttpResponseCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new HttpResponseCache(1024, 512, Runnable::run, () -> now);
+  }
+
+  @Test
+  public void freshResponseIsServedFromCache() throws Exception {
+    responses.add(response(200, "rates", CACHE_CONTROL, "max-age=60"));
+
+    assertThat(body(send(get())), is("rates"));
+    now += SECONDS.toMillis(30);
+    HttpResponse cached = send(get());
+
+    assertThat(body(cached), is("rates"));
+    assertThat(cached.getEntity(), instanceOf(BufferedHttpEntity.class));
+    assertThat(cached.getHeaderValue("Age"), is("30"));
+    assertThat(sentRequests.size(), is(1));
+  }
+
+  @Test
+  public void staleResponseIsRevalidated() throws Exception {
+    responses.add(response(200, "rates", CACHE_CONTROL, "max-age=60", ETAG, "\"v1\""));
+    responses.add(response(304, "", CACHE_CONTROL, "max-age=60"));
+
+    send(get());
+    now += SECONDS.toMillis(61);
+    HttpResponse revalidated = send(get());
+
+    assertThat(revalidated.getStatusCode(), is(200));
+    assertThat(body(revalidated), is("rates"));
+    assertThat(sentRequests.get(1).getHeaderValue(IF_NONE_MATCH), is("\"v1\""));
+
+    now += SECONDS.toMillis(30);
+    send(get());
+    assertThat(sentRequests.size(), is(2));
+  }
+
+  @Test
+  public void changedResponseReplacesStoredOne() throws Exception {
+    responses.add(response(200, "rates", CACHE_CONTROL, "no-cache", ETAG, "\"v1\""));
+    responses.add(response(200, "new rates", CACHE_CONTROL, "no-cache", ETAG, "\"v2\""));
+    responses.add(response(304, ""));
+
+    send(get());
+    assertThat(body(send(get())), is("new rates"));
+    assertThat(body(send(get())), is("new rates"));
+    assertThat(sentRequests.get(2).getHeaderValue(IF_NONE_MATCH), is("\"v2\""));
+  }
+
+  @Test
+  public void staleWhileRevalidateServesStoredResponse() throws Exception {
+    responses.add(response(200, "rates", CACHE_CONTROL, "max-age=60, stale-while-revalidate=30", ETAG, "\"v1\""));
+    responses.add(response(200, "new rates", CACHE_CONTROL, "max-age=60", ETAG, "\"v2\""));
+
+    send(get());
+    now += SECONDS.toMillis(70);
+
+    assertThat(body(send(get())), is("rates"));
+    assertThat(sentRequests.size(), is(2));
+    assertThat(body(send(get())), is("new rates"));
+    assertThat(sentRequests.size(), is(2));
+  }
+
+  @Test
+  public void noStoreIsNotCached() throws Exception {
+    responses.add(response(200, "rates", CACHE_CONTROL, "no-store, max-age=60"));
+    responses.add(response(200, "rates", CACHE_CONTROL, "no-store, max-age=60"));
+
+    send(get());
+    send(get());
+    assertThat(sentRequests.size(), is(2));
+  }
+
+  @Test
+  public void requestsWithCredentialsAreNotCached() throws Exception {
+    responses.add(response(200, "rates", CACHE_CONTROL, "max-age=60"));
+    responses.add(response(200, "rates", CACHE_CONTROL, "max-age=60"));
+
+    send(HttpRequest.builder().uri(URI).method("GET").addHeader(AUTHORIZATION, "Basic dXNlcjpwYXNz").build());
+    send(HttpRequest.builder().uri(URI).method("GET").addHeader(AUTHORIZATION, "Basic dXNlcjpwYXNz").build());
+    assertThat(sentRequests.size(), is(2));
+  }
+
+  @Test
+  public void variantsAreStoredByVaryHeaders() throws Exception {
+    responses.add(response(200, "english", CACHE_CONTROL, "max-age=60", VARY, ACCEPT_LANGUAGE));
+    responses.add(response(200, "spanish", CACHE_CONTROL, "max-age=60", VARY, ACCEPT_LANGUAGE));
+
+    assertThat(body(send(get(ACCEPT_LANGUAGE, "en"))), is("english"));
+    assertThat(body(send(get(ACCEPT_LANGUAGE, "es"))), is("spanish"));
+    assertThat(body(send(get(ACCEPT_LANGUAGE, "en"))), is("english"));
+    assertThat(body(send(get(ACCEPT_LANGUAGE, "es"))), is("spanish"));
+    assertThat(sentRequests.size(), is(2));
+  }
+
+  @Test
+  public void leastRecentlyUsedIsEvicted() throws Exception {
+    cache = new HttpResponseCache(700, 512, Runnable::run, () -> now);
+    responses.add(response(200, new String(new byte[300]), CACHE_CONTROL, "max-age=60"));
+    responses.add(response(200, new String(new byte[300]), CACHE_CONTROL, "max-age=60"));
+    responses.add(response(200, new String(new byte[300]), CACHE_CONTROL, "max-age=60"));
+
+    send(get("/a"));
+    send(get("/b"));
+    send(get("/a"));
+    send(get("/c"));
+    assertThat(sentRequests.size(), is(3));
+
+    responses.add(response(200, "b", CACHE_CONTROL, "max-age=60"));
+    send(get("/a"));
+    send(get("/b"));
+    assertThat(sentRequests.size(), is(4));
+  }
+
+  @Test
+  public void responsesWithoutFreshnessNorValidatorsAreNotStored() throws Exception {
+    responses.add(response(200, "rates"));
+    responses.add(response(200, "rates", CACHE_CONTROL, "max-age=0"));
+
+    assertThat(body(send(get())), is("rates"));
+    assertThat(body(send(get())), is("rates"));
+    assertThat(sentRequests.size(), is(2));
+    assertThat(cache.getSize(), is(0L));
+  }
+
+  @Test
+  public void bodiesBiggerThanMaxEntrySizeAreStreamed() throws Exception {
+    String rates = new String(new byte[600]) + "rates";
+    responses.add(HttpResponse.builder().statusCode(200).addHeader(CACHE_CONTROL, "max-age=60")
+        .entity(new InputStreamHttpEntity(new ByteArrayInputStream(rates.getBytes()))).build());
+    responses.add(response(200, "rates", CACHE_CONTROL, "max-age=60"));
+
+    HttpResponse streamed = send(get());
+    assertThat(streamed.getEntity(), not(instanceOf(BufferedHttpEntity.class)));
+    assertThat(body(streamed), is(rates));
+    assertThat(cache.getSize(), is(0L));
+
+    assertThat(body(send(get())), is("rates"));
+    assertThat(sentRequests.size(), is(2));
+  }
+
+  @Test
+  public void unsafeRequestInvalidatesStoredResponse() throws Exception {
+    responses.add(response(200, "rates", CACHE_CONTROL, "max-age=60"));
+    responses.add(response(204, ""));
+    responses.add(response(200, "new rates", CACHE_CONTROL, "max-age=60"));
+
+    send(get());
+    send(HttpRequest.builder().uri(URI).method("PUT").build());
+    assertThat(body(send(get())), is("new rates"));
+    assertThat(cache.getSize() > 0, is(true));
+  }
+
+  @Test
+  public void failuresAreNotWrapped() {
+    IllegalStateException failure = new IllegalStateException();
+    CompletableFuture<HttpResponse> future = cache.send(get(), request -> {
+      CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+      failed.completeExceptionally(failure);
+      return failed;
+    });
+
+    Throwable[] cause = new Throwable[1];
+    future.whenComplete((response, exception) -> cause[0] = exception);
+    assertThat(cause[0] == failure, is(true));
+    assertThat(cache.getSize(), is(0L));
+  }
+
+  private HttpResponse send(HttpRequest request) throws Exception {
+    return cache.send(request, toSend -> {
+      sentRequests.add(toSend);
+      return completedFuture(responses.remove());
+    }).get();
+  }
+
+  private static HttpRequest get() {
+    return HttpRequest.builder().uri(URI).method("GET").build();
+  }
+
+  private static HttpRequest get(String path) {
+    return HttpRequest.builder().uri(URI + path).method("GET").build();
+  }
+
+  private static HttpRequest get(String headerName, String headerValue) {
+    return HttpRequest.builder().uri(URI).method("GET").addHeader(headerName, headerValue).build();
+  }
+
+  private static HttpResponse response(int statusCode, String body, String... headers) {
+    HttpResponseBuilder builder = HttpResponse.builder().statusCode(statusCode);
+    for (int i = 0; i < headers.length; i += 2) {
+      builder.addHeader(headers[i], headers[i + 1]);
+    }
+    return builder.entity(new ByteArrayHttpEntity(body.getBytes())).build();
+  }
+
+  private static String body(HttpResponse response) {
+    return IOUtils.toString(response.getEntity().getContent());
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mule.extension.http.api.request.loadbalancing.LoadBalancingStrategy.LEAST_OUTSTANDING_REQUESTS;
+import static org.mule.extension.http.api.request.loadbalancing.LoadBalancingStrategy.POWER_OF_TWO_CHOICES;
+import static org.mule.extension.http.api.request.loadbalancing.LoadBalancingStrategy.ROUND_ROBIN;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import org.mule.extension.http.api.request.loadbalancing.LoadBalancingStrategy;
+import org.mule.extension.http.internal.request.client.LoadBalancer.Endpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class LoadBalancerTestCase {
+
+  private static final long REFRESH_INTERVAL = 1000;
+  private static final long EJECTION_TIME = 5000;
+
+  private long now = 1;
+  private List<Endpoint> resolved = asList(new Endpoint("10.0.0.1", 8081), new Endpoint("10.0.0.2", 8081));
+  private final List<Runnable> refreshes = new ArrayList<>();
+
+  @Test
+  public void roundRobin() {
+    LoadBalancer loadBalancer = loadBalancer(ROUND_ROBIN);
+    assertThat(loadBalancer.select().getHost(), is("10.0.0.1"));
+    assertThat(loadBalancer.select().getHost(), is("10.0.0.2"));
+    assertThat(loadBalancer.select().getHost(), is("10.0.0.1"));
+  }
+
+  @Test
+  public void leastOutstandingRequests() {
+    LoadBalancer loadBalancer = loadBalancer(LEAST_OUTSTANDING_REQUESTS);
+    Endpoint busy = loadBalancer.select();
+    for (int i = 0; i < 5; ++i) {
+      Endpoint endpoint = loadBalancer.select();
+      assertThat(endpoint, not(sameInstance(busy)));
+      loadBalancer.onResult(endpoint, 10, false);
+    }
+    assertThat(busy.getOutstanding(), is(1));
+  }
+
+  @Test
+  public void powerOfTwoChoicesPrefersFasterEndpoint() {
+    LoadBalancer loadBalancer = loadBalancer(POWER_OF_TWO_CHOICES);
+    Endpoint slow = resolved.get(0);
+    Endpoint fast = resolved.get(1);
+    loadBalancer.getEndpoints();
+    loadBalancer.onResult(select(loadBalancer, slow), 1000, false);
+    loadBalancer.onResult(select(loadBalancer, fast), 10, false);
+
+    for (int i = 0; i < 5; ++i) {
+      assertThat(loadBalancer.select(), sameInstance(fast));
+    }
+  }
+
+  @Test
+  public void ejectsEndpointAfterConsecutiveFailures() {
+    LoadBalancer loadBalancer = loadBalancer(ROUND_ROBIN);
+    Endpoint failing = resolved.get(0);
+    loadBalancer.getEndpoints();
+    for (int i = 0; i < 3; ++i) {
+      loadBalancer.onResult(select(loadBalancer, failing), 10, true);
+    }
+
+    for (int i = 0; i < 4; ++i) {
+      assertThat(loadBalancer.select().getHost(), is("10.0.0.2"));
+    }
+
+    now += EJECTION_TIME;
+    assertThat(selectHosts(loadBalancer, 2), hasItem("10.0.0.1"));
+  }
+
+  @Test
+  public void successResetsConsecutiveFailures() {
+    LoadBalancer loadBalancer = loadBalancer(ROUND_ROBIN);
+    Endpoint endpoint = resolved.get(0);
+    loadBalancer.getEndpoints();
+    loadBalancer.onResult(select(loadBalancer, endpoint), 10, true);
+    loadBalancer.onResult(select(loadBalancer, endpoint), 10, true);
+    loadBalancer.onResult(select(loadBalancer, endpoint), 10, false);
+    loadBalancer.onResult(select(loadBalancer, endpoint), 10, true);
+
+    assertThat(selectHosts(loadBalancer, 2), hasItem("10.0.0.1"));
+  }
+
+  @Test
+  public void usesEjectedEndpointsWhenAllAreEjected() {
+    LoadBalancer loadBalancer = loadBalancer(ROUND_ROBIN);
+    for (Endpoint endpoint : loadBalancer.getEndpoints()) {
+      for (int i = 0; i < 3; ++i) {
+        loadBalancer.onResult(select(loadBalancer, endpoint), 10, true);
+      }
+    }
+
+    assertThat(loadBalancer.select(), is(notNullValue()));
+  }
+
+  @Test
+  public void refreshesEndpointsKeepingStatistics() {
+    LoadBalancer loadBalancer = loadBalancer(ROUND_ROBIN);
+    Endpoint kept = loadBalancer.getEndpoints().get(1);
+    loadBalancer.onResult(select(loadBalancer, kept), 10, false);
+
+    resolved = asList(new Endpoint("10.0.0.2", 8081), new Endpoint("10.0.0.3", 8081));
+    now += REFRESH_INTERVAL;
+    loadBalancer.getEndpoints();
+    assertThat(refreshes.size(), is(1));
+    refreshes.get(0).run();
+
+    List<Endpoint> endpoints = loadBalancer.getEndpoints();
+    assertThat(endpoints.size(), is(2));
+    assertThat(endpoints.get(0), sameInstance(kept));
+    assertThat(endpoints.get(1).getHost(), is("10.0.0.3"));
+  }
+
+  @Test
+  public void keepsEndpointsWhenRefreshFails() {
+    List<Endpoint> initial = resolved;
+    LoadBalancer loadBalancer = loadBalancer(ROUND_ROBIN);
+    loadBalancer.getEndpoints();
+
+    resolved = null;
+    now += REFRESH_INTERVAL;
+    loadBalancer.getEndpoints();
+    refreshes.get(0).run();
+
+    assertThat(loadBalancer.getEndpoints(), is(initial));
+  }
+
+  @Test
+  public void firstResolutionHappensInBackground() {
+    LoadBalancer loadBalancer = unresolvedLoadBalancer(ROUND_ROBIN);
+    assertThat(loadBalancer.select(), is(nullValue()));
+    assertThat(loadBalancer.select(), is(nullValue()));
+    assertThat(refreshes.size(), is(1));
+
+    refreshes.get(0).run();
+    assertThat(loadBalancer.select().getHost(), is("10.0.0.1"));
+    assertThat(refreshes.size(), is(1));
+  }
+
+  @Test
+  public void noEndpointsWhenResolutionFails() {
+    resolved = null;
+    assertThat(loadBalancer(ROUND_ROBIN).select(), is(nullValue()));
+  }
+
+  private LoadBalancer loadBalancer(LoadBalancingStrategy strategy) {
+    LoadBalancer loadBalancer = unresolvedLoadBalancer(strategy);
+    loadBalancer.resolve();
+    return loadBalancer;
+  }
+
+  private LoadBalancer unresolvedLoadBalancer(LoadBalancingStrategy strategy) {
+    Executor executor = refreshes::add;
+    return new LoadBalancer("service:8081", strategy, () -> {
+      if (resolved == null) {
+        throw new IllegalStateException("Unknown host");
+      }
+      return resolved;
+    }, REFRESH_INTERVAL, "service:8081", 3, EJECTION_TIME, executor, () -> now);
+  }
+
+  private static List<String> selectHosts(LoadBalancer loadBalancer, int count) {
+    List<String> hosts = new ArrayList<>();
+    for (int i = 0; i < count; ++i) {
+      Endpoint endpoint = loadBalancer.select();
+      hosts.add(endpoint.getHost());
+      loadBalancer.onResult(endpoint, 0, false);
+    }
+    return hosts;
+  }
+
+  /**
+   * Selects endpoints until the given one is returned, reporting the others as successful.
+   */
+  private static Endpoint select(LoadBalancer loadBalancer, Endpoint expected) {
+    Endpoint selected = loadBalancer.select();
+    while (selected != expected) {
+      loadBalancer.onResult(selected, 0, false);
+      selected = loadBalancer.select();
+    }
+    return selected;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.http.internal.request.client;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mule.extension.http.api.HttpHeaders.Names.ACCEPT;
+import static org.mule.test.http.AllureConstants.HttpFeature.HTTP_EXTENSION;
+
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.runtime.http.api.domain.entity.ByteArrayHttpEntity;
+import org.mule.runtime.http.api.domain.entity.HttpEntity;
+import org.mule.runtime.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(HTTP_EXTENSION)
+public class RequestCoalescerTestCase {
+
+  private static final String URI = "http://localhost:8081/catalog";
+
+  private final RequestCoalescer coalescer = new RequestCoalescer(asList("accept"), 16);
+  private final List<CompletableFuture<HttpResponse>> sent = new ArrayList<>();
+
+  @Test
+  public void concurrentIdenticalRequestsAreSentOnce() throws Exception {
+    CompletableFuture<HttpResponse> first = send(request("GET", "application/json"));
+    CompletableFuture<HttpResponse> second = send(request("GET", "application/json"));
+    assertThat(sent.size(), is(1));
+    assertThat(coalescer.getInFlightCount(), is(1));
+
+    sent.get(0).complete(response("catalog"));
+
+    HttpResponse firstResponse = first.get();
+    HttpResponse secondResponse = second.get();
+    assertThat(body(firstResponse), is("catalog"));
+    assertThat(body(secondResponse), is("catalog"));
+    assertThat(firstResponse, not(sameInstance(secondResponse)));
+    assertThat(firstResponse.getEntity().getBytes(), sameInstance(secondResponse.getEntity().getBytes()));
+    assertThat(coalescer.getInFlightCount(), is(0));
+  }
+
+  @Test
+  public void responseIsNotBufferedWithoutWaitingRequests() throws Exception {
+    CompletableFuture<HttpResponse> first = send(request("GET", "application/json"));
+    HttpEntity streamed = new InputStreamHttpEntity(new ByteArrayInputStream("catalog".getBytes()));
+    sent.get(0).complete(HttpResponse.builder().statusCode(200).entity(streamed).build());
+
+    assertThat(first.get().getEntity(), sameInstance(streamed));
+    assertThat(coalescer.getInFlightCount(), is(0));
+  }
+
+  @Test
+  public void responsesBiggerThanMaxBufferedSizeAreNotShared() throws Exception {
+    CompletableFuture<HttpResponse> first = send(request("GET", "application/json"));
+    CompletableFuture<HttpResponse> second = send(request("GET", "application/json"));
+    sent.get(0).complete(HttpResponse.builder().statusCode(200)
+        .entity(new InputStreamHttpEntity(new ByteArrayInputStream("the whole catalog".getBytes()))).build());
+
+    assertThat(body(first.get()), is("the whole catalog"));
+    assertThat(sent.size(), is(2));
+    assertThat(second.isDone(), is(false));
+
+    sent.get(1).complete(response("catalog"));
+    assertThat(body(second.get()), is("catalog"));
+  }
+
+  @Test
+  public void requestsWithDifferentKeyHeadersAreNotCoalesced() {
+    send(request("GET", "application/json"));
+    send(request("GET", "application/xml"));
+    assertThat(sent.size(), is(2));
+  }
+
+  @Test
+  public void unsafeRequestsAreNotCoalesced() {
+    send(request("POST", "application/json"));
+    send(request("POST", "application/json"));
+    assertThat(sent.size(), is(2));
+  }
+
+  @Test
+  public void requestAfterCompletionIsSentAgain() throws Exception {
+    CompletableFuture<HttpResponse> first = send(request("GET", "application/json"));
+    sent.get(0).complete(response("catalog"));
+    first.get();
+
+    send(request("GET", "application/json"));
+    assertThat(sent.size(), is(2));
+  }
+
+  @Test
+  public void failureIsPropagatedToAllCallers() throws Exception {
+    CompletableFuture<HttpResponse> first = send(request("GET", "application/json"));
+    CompletableFuture<HttpResponse> second = send(request("GET", "application/json"));
+    IllegalStateException failure = new IllegalStateException();
+    sent.get(0).completeExceptionally(failure);
+
+    assertFailedWith(first, failure);
+    assertFailedWith(second, failure);
+  }
+
+  private CompletableFuture<HttpResponse> send(HttpRequest request) {
+    return coalescer.send(request, toSend -> {
+      CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+      sent.add(future);
+      return future;
+    }, Runnable::run);
+  }
+
+  private static HttpRequest request(String method, String accept) {
+    return HttpRequest.builder().uri(URI).method(method).addHeader(ACCEPT, accept).build();
+  }
+
+  private static HttpResponse response(String body) {
+    return HttpResponse.builder().statusCode(200).entity(new ByteArrayHttpEntity(body.getBytes())).build();
+  }
+
+  private static String body(HttpResponse response) {
+    return IOUtils.toString(response.getEntity().getContent());
+  }
+
+  private static void assertFailedWith(CompletableFuture<HttpResponse> future, Throwable expected) throws Exception {
+    try {
+      future.get();
+      throw new AssertionError("Request did not fail");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), sameInstance(expected));
+    }
+  }
+}
@@ -17,6 +17,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.extension.http.api.HttpHeaders.Names.AUTHORIZATION;
@@ -24,6 +25,7 @@ import static org.mule.extension.http.api.HttpHeaders.Names.AUTHORIZATION;
 import org.mule.apache.xerces.impl.dv.util.Base64;
 import org.mule.extension.http.api.HttpRequestAttributes;
 import org.mule.extension.http.api.listener.HttpBasicAuthenticationFilter;
+import org.mule.extension.http.internal.filter.BasicAuthenticationCache;
 import org.mule.extension.http.internal.filter.BasicUnauthorisedException;
 import org.mule.runtime.api.security.Authentication;
 import org.mule.runtime.api.security.CredentialsBuilder;
@@ -96,6 +98,7 @@ public class HttpListenerAuthenticationHandlerTestCase extends AbstractHttpAttri
       }
     };
     when(attributes.getHeaders()).thenReturn(headers);
+    when(attributes.getRemoteAddress()).thenReturn("/127.0.0.1:40000");
   }
 
   @Test
@@ -163,6 +166,104 @@ public class HttpListenerAuthenticationHandlerTestCase extends AbstractHttpAttri
     httpBasicAuthenticationFilter.authenticate(authenticationHandler);
   }
 
+  @Test
+  public void rejectedCredentialsAreNotCachedByDefault() throws Exception {
+    HttpBasicAuthenticationFilter httpBasicAuthenticationFilter = new HttpBasicAuthenticationFilter();
+    BasicAuthenticationCache cache = new BasicAuthenticationCache();
+
+    setMocks(httpBasicAuthenticationFilter, "attributes", attributes);
+    setMocks(httpBasicAuthenticationFilter, "securityProviders", securityProviders);
+
+    doThrow(UnauthorisedException.class).when(authenticationHandler).setAuthentication(any(), any());
+    for (int i = 0; i < 2; ++i) {
+      try {
+        httpBasicAuthenticationFilter.authenticate(authenticationHandler, cache);
+      } catch (BasicUnauthorisedException e) {
+        // rejected by the security provider
+      }
+    }
+
+    verify(authenticationHandler, times(2)).setAuthentication(eq(securityProviders), any());
+  }
+
+  @Test
+  public void verifiedCredentialsAlwaysSetTheAuthentication() throws Exception {
+    HttpBasicAuthenticationFilter httpBasicAuthenticationFilter = new HttpBasicAuthenticationFilter();
+    BasicAuthenticationCache cache = new BasicAuthenticationCache();
+
+    setMocks(httpBasicAuthenticationFilter, "attributes", attributes);
+    setMocks(httpBasicAuthenticationFilter, "securityProviders", securityProviders);
+    setMocks(httpBasicAuthenticationFilter, "rejectedCredentialsCacheTtl", 60L);
+
+    httpBasicAuthenticationFilter.authenticate(authenticationHandler, cache);
+    httpBasicAuthenticationFilter.authenticate(authenticationHandler, cache);
+
+    verify(authenticationHandler, times(2)).setAuthentication(eq(securityProviders), any());
+  }
+
+  @Test
+  public void rejectedCredentialsAreCached() throws Exception {
+    HttpBasicAuthenticationFilter httpBasicAuthenticationFilter = createCachingFilter();
+    BasicAuthenticationCache cache = new BasicAuthenticationCache();
+
+    doThrow(UnauthorisedException.class).when(authenticationHandler).setAuthentication(any(), any());
+    authenticateRejected(httpBasicAuthenticationFilter, cache);
+    // sent again by the same client, from another connection
+    when(attributes.getRemoteAddress()).thenReturn("/127.0.0.1:40001");
+    expected.expect(BasicUnauthorisedException.class);
+    expected.expectMessage(containsString("Authentication failed for principal user"));
+
+    try {
+      httpBasicAuthenticationFilter.authenticate(authenticationHandler, cache);
+    } finally {
+      verify(authenticationHandler, times(1)).setAuthentication(any(), any());
+    }
+  }
+
+  @Test
+  public void otherPasswordsOfRejectedUsersAreVerified() throws Exception {
+    HttpBasicAuthenticationFilter httpBasicAuthenticationFilter = createCachingFilter();
+    BasicAuthenticationCache cache = new BasicAuthenticationCache();
+
+    doThrow(UnauthorisedException.class).when(authenticationHandler).setAuthentication(any(), any());
+    authenticateRejected(httpBasicAuthenticationFilter, cache);
+    headers.remove(HEADER_AUTHORIZATION);
+    headers.put(HEADER_AUTHORIZATION, "Basic " + new String(Base64.encode("user:guess".getBytes()).getBytes()));
+    authenticateRejected(httpBasicAuthenticationFilter, cache);
+
+    verify(authenticationHandler, times(2)).setAuthentication(eq(securityProviders), any());
+  }
+
+  @Test
+  public void rejectedCredentialsOfOtherClientsAreVerified() throws Exception {
+    HttpBasicAuthenticationFilter httpBasicAuthenticationFilter = createCachingFilter();
+    BasicAuthenticationCache cache = new BasicAuthenticationCache();
+
+    doThrow(UnauthorisedException.class).when(authenticationHandler).setAuthentication(any(), any());
+    authenticateRejected(httpBasicAuthenticationFilter, cache);
+    when(attributes.getRemoteAddress()).thenReturn("/10.0.0.1:40000");
+    authenticateRejected(httpBasicAuthenticationFilter, cache);
+
+    verify(authenticationHandler, times(2)).setAuthentication(eq(securityProviders), any());
+  }
+
+  private HttpBasicAuthenticationFilter createCachingFilter() throws Exception {
+    HttpBasicAuthenticationFilter httpBasicAuthenticationFilter = new HttpBasicAuthenticationFilter();
+    setMocks(httpBasicAuthenticationFilter, "attributes", attributes);
+    setMocks(httpBasicAuthenticationFilter, "securityProviders", securityProviders);
+    setMocks(httpBasicAuthenticationFilter, "rejectedCredentialsCacheTtl", 60L);
+    return httpBasicAuthenticationFilter;
+  }
+
+  private void authenticateRejected(HttpBasicAuthenticationFilter httpBasicAuthenticationFilter, BasicAuthenticationCache cache)
+      throws Exception {
+    try {
+      httpBasicAuthenticationFilter.authenticate(authenticationHandler, cache);
+    } catch (BasicUnauthorisedException e) {
+      // rejected by the security provider
+    }
+  }
+
   private void setMocks(HttpBasicAuthenticationFilter httpBasicAuthenticationFilter, String fieldName, Object fieldMock)
       throws NoSuchFieldException, IllegalAccessException {
     Field attributes = HttpBasicAuthenticationFilter.class.getDeclaredField(fieldName);
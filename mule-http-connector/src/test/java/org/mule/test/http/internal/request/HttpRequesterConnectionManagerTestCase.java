@@ -9,6 +9,7 @@ package org.mule.test.http.internal.request;
 import static java.lang.Thread.sleep;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -66,6 +67,7 @@ public class HttpRequesterConnectionManagerTestCase extends AbstractMuleTestCase
   private HttpRequesterConnectionManager connectionManager = new HttpRequesterConnectionManager(httpService);
 
   private AtomicBoolean clientFactoryIsSlow = new AtomicBoolean(false);
+  private long now;
 
   @Before
   public void setUp() {
@@ -150,6 +152,55 @@ public class HttpRequesterConnectionManagerTestCase extends AbstractMuleTestCase
     verify(delegateHttpClient, Mockito.times(2)).start();
   }
 
+  @Test
+  public void configsWithSameSharingKeyShareClient() {
+    ShareableHttpClient client1 = lookupOrCreateShared(CONFIG_NAME, "key");
+    ShareableHttpClient client2 = lookupOrCreateShared("otherConfig", "key");
+    ShareableHttpClient client3 = lookupOrCreateShared("anotherConfig", "otherKey");
+    assertThat(client2, is(sameInstance(client1)));
+    assertThat(client3, is(not(sameInstance(client1))));
+
+    client1.start();
+    client2.start();
+    verify(delegateHttpClient).start();
+    client1.stop();
+    verify(delegateHttpClient, never()).stop();
+    client2.stop();
+    verify(delegateHttpClient).stop();
+  }
+
+  @Test
+  public void sharedClientIsKeptWhileAConfigUsesIt() {
+    ShareableHttpClient client = lookupOrCreateShared(CONFIG_NAME, "key");
+    lookupOrCreateShared("otherConfig", "key");
+
+    connectionManager.disposeClient(CONFIG_NAME);
+    assertThat(lookupOrCreateShared("anotherConfig", "key"), is(sameInstance(client)));
+
+    connectionManager.disposeClient("otherConfig");
+    connectionManager.disposeClient("anotherConfig");
+    assertThat(lookupOrCreateShared(CONFIG_NAME, "key"), is(not(sameInstance(client))));
+  }
+
+  @Test
+  public void idleClientsAreEvicted() {
+    connectionManager = new HttpRequesterConnectionManager(httpService, 1000, () -> now);
+    ShareableHttpClient client = connectionManager.lookupOrCreate(CONFIG_NAME, () -> getHttpClientConfiguration(CONFIG_NAME));
+    client.start();
+    now += 2000;
+    assertThat(connectionManager.lookupOrCreate(CONFIG_NAME, () -> getHttpClientConfiguration(CONFIG_NAME)),
+               is(sameInstance(client)));
+
+    client.stop();
+    assertThat(client.getUsageCount(), is(0));
+    assertThat(connectionManager.lookupOrCreate(CONFIG_NAME, () -> getHttpClientConfiguration(CONFIG_NAME)),
+               is(sameInstance(client)));
+
+    now += 2000;
+    assertThat(connectionManager.lookupOrCreate(CONFIG_NAME, () -> getHttpClientConfiguration(CONFIG_NAME)),
+               is(not(sameInstance(client))));
+  }
+
   @Test
   @Issue("HTTPC-142")
   public void noExceptionIsRaisedWhenUsingLookupOrCreate() throws Exception {
@@ -202,6 +253,10 @@ public class HttpRequesterConnectionManagerTestCase extends AbstractMuleTestCase
     return connectionManager.lookupOrCreate(configName, configSupplier);
   }
 
+  private ShareableHttpClient lookupOrCreateShared(String configName, String sharingKey) {
+    return connectionManager.lookupOrCreate(configName, sharingKey, () -> getHttpClientConfiguration(configName));
+  }
+
   private HttpClientConfiguration getHttpClientConfiguration(String configName) {
     HttpClientConfiguration configuration = mock(HttpClientConfiguration.class);
     when(configuration.getName()).thenReturn(configName);
@@ -120,6 +120,13 @@ public class StatusCodeValidatorTestCase extends AbstractMuleTestCase {
     validateStatusFor(failureValidator, 406, " 200,204,401..404");
   }
 
+  @Test
+  public void changedValuesAreApplied() throws Exception {
+    validateStatusFor(successValidator, 201, "200..299");
+    expectedException.expectMessage(contains("failed"));
+    validateStatusFor(successValidator, 201, "200");
+  }
+
   private void validateStatusFor(RangeStatusCodeValidator validator, int status, String values) throws Exception {
     when(mockAttributes.getStatusCode()).thenReturn(status);
     validator.setValues(values);